@@ -0,0 +1,93 @@
+import logging
+import os
+import threading
+import uuid
+from typing import Optional
+
+import requests
+
+logger = logging.getLogger(__name__)
+
+
+class AnswerCacheClient:
+    """
+    Client du cache des réponses du coach exposé par le backend Spring
+    (POST /api/chat/answers/lookup, PUT /api/chat/answers).
+
+    Les appels se font avec le compte de service de l'agent (ROLE_ADMIN, provisionné par le backend
+    d'après agent.service-account.*), pour le compte de l'utilisateur désigné par son user_id.
+    Le cache est facultatif : toute erreur (backend injoignable, identifiants refusés) est journalisée
+    et le chat continue sans lui.
+    """
+
+    def __init__(self, base_url: str, email: str, password: str,
+                 timeout: float = 2.0, session: Optional[requests.Session] = None):
+        self.base_url = base_url.rstrip('/')
+        self.email = email
+        self.password = password
+        self.timeout = timeout
+        self.session = session or requests.Session()
+        self._token = None
+        self._lock = threading.Lock()
+
+    @classmethod
+    def from_env(cls) -> Optional["AnswerCacheClient"]:
+        """Client configuré par BACKEND_URL, AGENT_SERVICE_EMAIL et AGENT_SERVICE_PASSWORD, sinon None"""
+        base_url = os.getenv("BACKEND_URL")
+        email = os.getenv("AGENT_SERVICE_EMAIL")
+        password = os.getenv("AGENT_SERVICE_PASSWORD")
+        if not (base_url and email and password):
+            return None
+        return cls(base_url, email, password,
+                   timeout=float(os.getenv("ANSWER_CACHE_TIMEOUT_SECONDS", "2")))
+
+    def lookup(self, user_id: str, question: str, language: Optional[str] = None) -> Optional[str]:
+        """Réponse en cache pour cette question et ce profil, ou None"""
+        if not _is_uuid(user_id):
+            return None
+        response = self._call("POST", "/api/chat/answers/lookup",
+                              {"question": question, "userId": user_id, "language": language})
+        if response is None or response.status_code != 200:
+            return None
+        return response.json().get("answer")
+
+    def store(self, user_id: str, question: str, answer: str, language: Optional[str] = None) -> None:
+        """Dépose la réponse de l'agent pour ce profil"""
+        if not _is_uuid(user_id) or not answer:
+            return
+        self._call("PUT", "/api/chat/answers",
+                   {"question": question, "answer": answer, "userId": user_id, "language": language})
+
+    def _call(self, method: str, path: str, payload: dict) -> Optional[requests.Response]:
+        try:
+            response = self._send(method, path, payload, self._access_token())
+            if response.status_code == 401:
+                # Token expiré : une reconnexion, un nouvel essai
+                response = self._send(method, path, payload, self._access_token(refresh=True))
+            if response.status_code >= 400:
+                logger.warning("Cache des réponses : %s %s -> %s", method, path, response.status_code)
+            return response
+        except (requests.RequestException, ValueError) as e:
+            logger.warning("Cache des réponses indisponible : %s", e)
+            return None
+
+    def _send(self, method: str, path: str, payload: dict, token: str) -> requests.Response:
+        return self.session.request(method, self.base_url + path, json=payload, timeout=self.timeout,
+                                    headers={"Authorization": f"Bearer {token}"})
+
+    def _access_token(self, refresh: bool = False) -> str:
+        with self._lock:
+            if self._token is None or refresh:
+                response = self.session.post(self.base_url + "/login", timeout=self.timeout,
+                                             json={"email": self.email, "password": self.password})
+                response.raise_for_status()
+                self._token = response.json()["accessToken"]
+            return self._token
+
+
+def _is_uuid(value: Optional[str]) -> bool:
+    try:
+        uuid.UUID(str(value))
+        return True
+    except ValueError:
+        return False
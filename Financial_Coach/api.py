@@ -1,6 +1,7 @@
 from flask import Flask, request, jsonify
 from flask_cors import CORS
 from financial_agent import FinancialCoachAgent
+from answer_cache import AnswerCacheClient
 import uuid
 
 app = Flask(__name__)
@@ -9,6 +10,9 @@ CORS(app)  # autorise les appels depuis le frontend
 # Initialiser l'agent (une seule fois au démarrage)
 agent = FinancialCoachAgent()
 
+# Cache des réponses du backend (None si BACKEND_URL / AGENT_SERVICE_* ne sont pas renseignés)
+answer_cache = AnswerCacheClient.from_env()
+
 @app.route('/chat', methods=['POST'])
 def chat():
     """Endpoint pour envoyer un message à l'agent"""
@@ -26,6 +30,16 @@ def chat():
         # Construire un identifiant de thread interne à partir de user + conversation
         thread_key = f"{user_id}:{conversation_id}"
 
+        # Réponse déjà donnée à un profil proche pour la même question (la persona suit la langue côté client)
+        cached = answer_cache.lookup(user_id, user_message, language) if answer_cache else None
+        if cached is not None:
+            return jsonify({
+                'response': cached,
+                'user_id': user_id,
+                'conversation_id': conversation_id,
+                'cached': True,
+            })
+
         # Obtenir la réponse de l'agent en tenant compte éventuellement de la langue/persona
         response = agent.chat(
             user_message,
@@ -34,6 +48,9 @@ def chat():
             persona=persona,
         )
 
+        if answer_cache and not response.startswith("Erreur lors de la communication"):
+            answer_cache.store(user_id, user_message, response, language)
+
         return jsonify({
             'response': response,
             'user_id': user_id,
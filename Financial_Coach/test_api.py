@@ -59,3 +59,34 @@ def test_history_returns_mocked_list(client, mocker):
         language=None,
         persona=None,
     )
+
+
+def test_chat_returns_cached_answer_without_calling_agent(client, mocker):
+    import api
+    mocked_agent = mocker.patch('api.agent')
+    mocked_cache = mocker.patch('api.answer_cache')
+    mocked_cache.lookup.return_value = "Réponse en cache"
+
+    payload = {"message": "test", "user_id": "123", "language": "fr"}
+    resp = client.post('/chat', data=json.dumps(payload), content_type='application/json')
+
+    assert resp.status_code == 200
+    assert resp.get_json()["response"] == "Réponse en cache"
+    mocked_cache.lookup.assert_called_once_with("123", "test", "fr")
+    mocked_agent.chat.assert_not_called()
+    mocked_cache.store.assert_not_called()
+
+
+def test_chat_stores_agent_answer_on_cache_miss(client, mocker):
+    import api
+    mocked_agent = mocker.patch('api.agent')
+    mocked_agent.chat.return_value = "Réponse du coach"
+    mocked_cache = mocker.patch('api.answer_cache')
+    mocked_cache.lookup.return_value = None
+
+    payload = {"message": "test", "user_id": "123", "language": "fr"}
+    resp = client.post('/chat', data=json.dumps(payload), content_type='application/json')
+
+    assert resp.status_code == 200
+    assert resp.get_json()["response"] == "Réponse du coach"
+    mocked_cache.store.assert_called_once_with("123", "test", "Réponse du coach", "fr")
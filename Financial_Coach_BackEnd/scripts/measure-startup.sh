@@ -0,0 +1,80 @@
+#!/usr/bin/env sh
+# Mesure du démarrage : temps jusqu'à la première requête servie et mémoire résidente (RSS).
+#
+# Modes comparés :
+#   jar      java -jar classique
+#   aot      classes extraites + initialisation AOT (jar construit avec -Paot)
+#   aot-cds  idem + archive CDS générée par un démarrage d'entraînement
+#   native   exécutable GraalVM (si NATIVE_BIN existe)
+#
+# Variables : APP_JAR (défaut target/*.jar), NATIVE_BIN, RUNS (défaut 5), EXTRA_CP (jars ajoutés,
+# ex. un pilote H2 pour mesurer sans PostgreSQL), APP_ARGS (arguments Spring supplémentaires).
+set -eu
+
+cd "$(dirname "$0")/.."
+APP_JAR=$(realpath "${APP_JAR:-$(ls target/*.jar | head -n 1)}")
+NATIVE_BIN=${NATIVE_BIN:-target/Financial_Coach_Backend}
+RUNS=${RUNS:-5}
+EXTRA_CP=${EXTRA_CP:-}
+APP_ARGS=${APP_ARGS:-}
+MAIN_CLASS=com.tp.financial_coach_backend.FinancialCoachBackendApplication
+HEALTH_URL=http://localhost:8081/api/auth/health
+WORK=$(pwd)/target/startup
+
+# Classes extraites : CDS n'accepte que des jars dans le classpath, les classes applicatives sont donc rejarrées
+prepare() {
+    rm -rf "$WORK" && mkdir -p "$WORK"
+    (cd "$WORK" && jar xf "$APP_JAR" && jar cf application.jar -C BOOT-INF/classes .)
+    cp="application.jar:$(sed -n 's/^- "\(.*\)"$/\1/p' "$WORK/BOOT-INF/classpath.idx" | paste -sd: -)"
+    [ -n "$EXTRA_CP" ] && cp="$cp:$(realpath "$EXTRA_CP")"
+    echo "-cp $cp" > "$WORK/app.args"
+    # Entraînement : le contexte est rafraîchi puis l'application s'arrête (aucun accès base à ce stade)
+    (cd "$WORK" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh @app.args "$MAIN_CLASS" \
+        --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=none \
+        --spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false $APP_ARGS > training.log 2>&1)
+}
+
+# Lance une commande, attend la première réponse de /health, affiche "ms rss_ko" puis arrête le processus
+measure() {
+    start=$(date +%s%N)
+    "$@" > "$WORK/run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$HEALTH_URL"; do
+        kill -0 "$pid" 2>/dev/null || { echo "échec du démarrage, voir $WORK/run.log" >&2; exit 1; }
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    echo "$(( (end - start) / 1000000 )) $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+report() {
+    mode=$1; shift
+    results=""
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        results="$results$(measure "$@")
+"
+        i=$((i + 1))
+    done
+    ms=$(printf '%s' "$results" | awk '{print $1}' | median)
+    rss=$(printf '%s' "$results" | awk '{print $2}' | median)
+    printf '%-8s  premier appel %6s ms   RSS %6s Mo\n' "$mode" "$ms" "$((rss / 1024))"
+}
+
+prepare
+
+if [ -n "$EXTRA_CP" ]; then
+    report jar java -Dloader.path="$EXTRA_CP" -cp "$APP_JAR" org.springframework.boot.loader.launch.PropertiesLauncher $APP_ARGS
+else
+    report jar java -jar "$APP_JAR" $APP_ARGS
+fi
+(cd "$WORK" && report aot java -Dspring.aot.enabled=true @app.args "$MAIN_CLASS" $APP_ARGS)
+(cd "$WORK" && report aot-cds java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true @app.args "$MAIN_CLASS" $APP_ARGS)
+[ -x "$NATIVE_BIN" ] && report native "$NATIVE_BIN" $APP_ARGS
+exit 0
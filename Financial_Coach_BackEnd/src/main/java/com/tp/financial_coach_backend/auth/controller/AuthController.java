@@ -8,8 +8,10 @@ import com.tp.financial_coach_backend.auth.service.AuthService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -61,16 +63,33 @@ public class AuthController {
     }
 
     /**
-     * Déconnexion (supprime le refresh token)
+     * Déconnexion (révoque le refresh token, sa famille et l'access token présenté)
      * POST /logout
      */
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+    public ResponseEntity<Map<String, String>> logout(
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         log.info("Requête de déconnexion");
-        authService.logout(request.getRefreshToken());
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(request.getRefreshToken(), accessToken);
         return ResponseEntity.ok(Map.of("message", "Déconnexion réussie"));
     }
 
+    /**
+     * Révoquer un access token compromis (admin)
+     * POST /admin/tokens/{jti}/revoke
+     */
+    @PostMapping("/admin/tokens/{jti}/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> revokeToken(@PathVariable String jti) {
+        log.info("Révocation administrative du token {}", jti);
+        authService.revokeAccessToken(jti);
+        return ResponseEntity.ok(Map.of("message", "Token révoqué"));
+    }
+
     /**
      * Health check
      * GET /health
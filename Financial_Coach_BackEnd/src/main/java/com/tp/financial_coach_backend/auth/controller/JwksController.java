@@ -0,0 +1,35 @@
+package com.tp.financial_coach_backend.auth.controller;
+
+import com.tp.financial_coach_backend.auth.security.JwtKeyService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class JwksController {
+
+    private final JwtKeyService keyService;
+
+    // Constructeur manuel
+    public JwksController(JwtKeyService keyService) {
+        this.keyService = keyService;
+    }
+
+    /**
+     * Clés publiques de vérification des tokens, à mettre en cache par les services consommateurs
+     * GET /.well-known/jwks.json
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keyService.publicJwks()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.tp.financial_coach_backend.auth.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.util.UUID;
 
 @Data
 @Builder
+@JsonSerialize(using = AuthResponseSerializer.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuthResponse {
@@ -0,0 +1,77 @@
+package com.tp.financial_coach_backend.auth.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Écrit une {@link AuthResponse} sans introspection : noms de champs et type "Bearer" pré-encodés.
+ * Même format que la sérialisation par défaut (ordre des champs, valeurs nulles écrites).
+ */
+public class AuthResponseSerializer extends StdSerializer<AuthResponse> {
+
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString ACCESS_TOKEN = new SerializedString("accessToken");
+    private static final SerializableString REFRESH_TOKEN = new SerializedString("refreshToken");
+    private static final SerializableString TOKEN_TYPE = new SerializedString("tokenType");
+    private static final SerializableString EXPIRES_IN = new SerializedString("expiresIn");
+    private static final SerializableString ROLES = new SerializedString("roles");
+    private static final SerializableString BEARER = new SerializedString("Bearer");
+
+    public AuthResponseSerializer() {
+        super(AuthResponse.class);
+    }
+
+    @Override
+    public void serialize(AuthResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+
+        gen.writeFieldName(USER_ID);
+        if (value.getUserId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.getUserId().toString());
+        }
+        gen.writeFieldName(EMAIL);
+        gen.writeString(value.getEmail());
+        gen.writeFieldName(ACCESS_TOKEN);
+        gen.writeString(value.getAccessToken());
+        gen.writeFieldName(REFRESH_TOKEN);
+        gen.writeString(value.getRefreshToken());
+
+        gen.writeFieldName(TOKEN_TYPE);
+        String tokenType = value.getTokenType();
+        if ("Bearer".equals(tokenType)) {
+            gen.writeString(BEARER);
+        } else {
+            gen.writeString(tokenType);
+        }
+
+        gen.writeFieldName(EXPIRES_IN);
+        if (value.getExpiresIn() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.getExpiresIn());
+        }
+
+        gen.writeFieldName(ROLES);
+        Set<String> roles = value.getRoles();
+        if (roles == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(roles, roles.size());
+            for (String role : roles) {
+                gen.writeString(role);
+            }
+            gen.writeEndArray();
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,47 @@
+package com.tp.financial_coach_backend.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    // Identifiant publié dans l'en-tête kid des tokens et dans le JWKS
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    // Clé publique X.509 (DER)
+    @Column(name = "public_key", nullable = false, length = 4096)
+    private byte[] publicKey;
+
+    // Clé privée PKCS#8 (DER), chiffrée par JwtKeyCipher (AES-GCM) avant d'être enregistrée
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private byte[] privateKey;
+
+    // À partir de cet instant la clé signe les nouveaux tokens ; publiée dans le JWKS avant
+    @Column(name = "activates_at", nullable = false)
+    private LocalDateTime activatesAt;
+
+    // Renseigné quand une clé plus récente prend le relais : plus aucun token signé ne reste valide après
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
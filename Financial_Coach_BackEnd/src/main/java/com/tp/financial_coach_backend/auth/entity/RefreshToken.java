@@ -1,5 +1,6 @@
 package com.tp.financial_coach_backend.auth.entity;
 
+import com.tp.financial_coach_backend.common.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_previous", columnList = "previous_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,10 +23,10 @@ import java.util.UUID;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 500)
+    @Column(nullable = false, unique = true, length = 1024)
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +36,22 @@ public class RefreshToken {
     @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
 
+    // Famille : tous les tokens issus d'une même connexion par rotations successives
+    @Column(name = "family_id")
+    private UUID familyId;
+
+    // Token échangé contre celui-ci (null pour le premier token d'une famille)
+    @Column(name = "previous_id")
+    private UUID previousId;
+
+    // Renseigné quand le token a été échangé contre son successeur ; le réutiliser révoque la famille
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(nullable = false, columnDefinition = "boolean not null default false")
+    @Builder.Default
+    private Boolean revoked = false;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -39,4 +59,9 @@ public class RefreshToken {
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(this.expiryDate);
     }
+
+    // Les tokens antérieurs aux familles forment chacun leur propre famille
+    public UUID getEffectiveFamilyId() {
+        return familyId != null ? familyId : id;
+    }
 }
@@ -1,22 +1,33 @@
 package com.tp.financial_coach_backend.auth.entity;
 
+import com.tp.financial_coach_backend.common.id.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
+    // Identifiant naturel : findByEmail passe par le cache de second niveau
+    // Toujours en minuscules (normalizeEmail) : unicité et connexion insensibles à la casse
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 255)
     private String email;
 
@@ -41,6 +52,7 @@ public class User {
     private LocalDateTime updatedAt;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-roles")
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -71,7 +83,7 @@ public class User {
         private Boolean emailVerified = false;
 
         public Builder email(String email) {
-            this.email = email;
+            this.email = normalizeEmail(email);
             return this;
         }
 
@@ -96,6 +108,13 @@ public class User {
     }
 
     // Méthodes utilitaires
+    /**
+     * Forme stockée et recherchée d'un email : en minuscules, indépendamment de la locale
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
     public void addRole(Role role) {
         this.roles.add(role);
     }
@@ -118,7 +137,7 @@ public class User {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = normalizeEmail(email);
     }
 
     public String getPassword() {
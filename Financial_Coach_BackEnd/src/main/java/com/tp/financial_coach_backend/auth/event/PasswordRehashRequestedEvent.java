@@ -0,0 +1,15 @@
+package com.tp.financial_coach_backend.auth.event;
+
+import java.util.UUID;
+
+/**
+ * Publié après une connexion réussie dont le hash de mot de passe n'est plus au format cible.
+ * Le mot de passe en clair n'existe que le temps du re-hachage et n'apparaît pas dans toString.
+ */
+public record PasswordRehashRequestedEvent(UUID userId, String currentHash, String rawPassword) {
+
+    @Override
+    public String toString() {
+        return "PasswordRehashRequestedEvent[userId=" + userId + "]";
+    }
+}
@@ -0,0 +1,9 @@
+package com.tp.financial_coach_backend.auth.event;
+
+import java.util.UUID;
+
+/**
+ * Publié par AuthService à l'inscription, dans la transaction de création du compte
+ */
+public record UserRegisteredEvent(UUID userId, String email) {
+}
@@ -1,9 +1,12 @@
 package com.tp.financial_coach_backend.auth.exception;
 
+/**
+ * Erreur d'authentification attendue (refresh token invalide, mots de passe différents) : sans pile d'appels
+ */
 public class AuthException extends RuntimeException {
 
     public AuthException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public AuthException(String message, Throwable cause) {
@@ -0,0 +1,11 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+/**
+ * Paramètres d'un seau à jetons : capacité (rafale maximale) et débit de recharge
+ */
+public record BucketSpec(int capacity, double refillPerMinute) {
+
+    public double refillPerMilli() {
+        return refillPerMinute / 60_000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Seaux à jetons en mémoire, propres à ce nœud.
+ *
+ * Chaque seau est un état immuable (jetons, instant de mise à jour) remplacé par compare-and-set :
+ * aucun verrou sur le chemin de /login. Les seaux inactifs sont retirés périodiquement : le délai
+ * d'éviction dépassant le temps de recharge complet, un seau retiré était de toute façon plein.
+ */
+@Component
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentMap<String, AtomicReference<State>> buckets = new ConcurrentHashMap<>();
+
+    @Value("${auth.rate-limit.idle-eviction-ms:600000}")
+    private long idleEvictionMillis;
+
+    @Override
+    public long tryConsume(String key, BucketSpec spec) {
+        long now = System.currentTimeMillis();
+        AtomicReference<State> bucket = buckets.computeIfAbsent(key,
+                k -> new AtomicReference<>(new State(spec.capacity(), now)));
+        while (true) {
+            State current = bucket.get();
+            double tokens = refilled(current, spec, now);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / spec.refillPerMilli());
+            }
+            if (bucket.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedAt())))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Retire les seaux inactifs depuis plus de {@code auth.rate-limit.idle-eviction-ms}
+     */
+    @Scheduled(fixedDelayString = "${auth.rate-limit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleEvictionMillis;
+        buckets.values().removeIf(bucket -> bucket.get().updatedAt() < threshold);
+    }
+
+    private static double refilled(State state, BucketSpec spec, long now) {
+        long elapsed = Math.max(0, now - state.updatedAt());
+        return Math.min(spec.capacity(), state.tokens() + elapsed * spec.refillPerMilli());
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
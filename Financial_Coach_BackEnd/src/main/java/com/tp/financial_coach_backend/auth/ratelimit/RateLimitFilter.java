@@ -0,0 +1,190 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.auth.exception.ErrorResponse;
+import com.tp.financial_coach_backend.common.web.CachedBodyRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Limitation de débit de /login et /register, appliquée avant toute vérification BCrypt.
+ *
+ * Trois seaux sont consultés : un par adresse IP (rafales venant d'une même source), un par couple
+ * (email ciblé, IP) qui freine les essais répétés sur un compte depuis une source, et un par email, plus
+ * large, qui borne les essais sur un compte répartis entre de nombreuses IP. Le seau par couple est vidé
+ * bien avant le seau par email : un tiers seul ne peut pas bloquer la connexion d'un utilisateur.
+ * Au-delà, la requête reçoit un 429 avec l'en-tête Retry-After ; un corps de plus de 16 Ko reçoit un 413.
+ * Placé avant la chaîne Spring Security pour rejeter au plus tôt.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BucketSpec ipSpec;
+    private final BucketSpec userSpec;
+    private final BucketSpec emailSpec;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    // Constructeur manuel
+    public RateLimitFilter(
+            RateLimitStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${auth.rate-limit.ip.refill-per-minute:20}") double ipRefillPerMinute,
+            @Value("${auth.rate-limit.user.capacity:5}") int userCapacity,
+            @Value("${auth.rate-limit.user.refill-per-minute:2}") double userRefillPerMinute,
+            @Value("${auth.rate-limit.email.capacity:20}") int emailCapacity,
+            @Value("${auth.rate-limit.email.refill-per-minute:5}") double emailRefillPerMinute
+    ) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ipSpec = new BucketSpec(ipCapacity, ipRefillPerMinute);
+        this.userSpec = new BucketSpec(userCapacity, userRefillPerMinute);
+        this.emailSpec = new BucketSpec(emailCapacity, emailRefillPerMinute);
+        Gauge.builder("auth.rate_limit.buckets", store, RateLimitStore::size)
+                .description("Seaux de limitation de débit suivis")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return !"/login".equals(path) && !"/register".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = path(request).substring(1);
+
+        String ip = clientIp(request);
+
+        long waitMillis = store.tryConsume(endpoint + ":ip:" + ip, ipSpec);
+        if (waitMillis > 0) {
+            reject(response, endpoint, "ip", waitMillis);
+            return;
+        }
+
+        CachedBodyRequest wrapped = new CachedBodyRequest(request, MAX_BODY_BYTES);
+        if (wrapped.isTooLarge()) {
+            rejectTooLarge(response, endpoint);
+            return;
+        }
+        String email = extractEmail(wrapped.getBody());
+        if (email != null) {
+            waitMillis = store.tryConsume(endpoint + ":user:" + email + ":" + ip, userSpec);
+            if (waitMillis > 0) {
+                reject(response, endpoint, "user", waitMillis);
+                return;
+            }
+            waitMillis = store.tryConsume(endpoint + ":email:" + email, emailSpec);
+            if (waitMillis > 0) {
+                reject(response, endpoint, "email", waitMillis);
+                return;
+            }
+        }
+
+        meterRegistry.counter("auth.rate_limit.requests", "endpoint", endpoint, "outcome", "allowed").increment();
+        filterChain.doFilter(wrapped, response);
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String scope, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        log.warn("Limite de débit atteinte sur /{} (portée: {}), nouvel essai dans {}s", endpoint, scope, retryAfterSeconds);
+        meterRegistry.counter("auth.rate_limit.requests", "endpoint", endpoint, "outcome", "rejected_" + scope).increment();
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Trop de tentatives, veuillez réessayer dans " + retryAfterSeconds + " secondes")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private void rejectTooLarge(HttpServletResponse response, String endpoint) throws IOException {
+        log.warn("Corps de requête trop volumineux sur /{}", endpoint);
+        meterRegistry.counter("auth.rate_limit.requests", "endpoint", endpoint, "outcome", "rejected_size").increment();
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                .error("Payload Too Large")
+                .message("Corps de requête trop volumineux (" + MAX_BODY_BYTES / 1024 + " Ko maximum)")
+                .build();
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Chemin sans le context-path (/api/auth)
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Corps invalide : la validation du contrôleur renverra l'erreur
+            return null;
+        }
+    }
+}
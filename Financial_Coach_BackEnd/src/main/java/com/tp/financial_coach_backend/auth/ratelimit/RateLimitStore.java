@@ -0,0 +1,22 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+/**
+ * Stockage des seaux à jetons.
+ *
+ * L'implémentation locale garde les seaux en mémoire ; une implémentation partagée (Redis, base)
+ * peut la remplacer, déclarée {@code @Primary}, pour que les limites valent pour tous les nœuds.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consomme un jeton du seau {@code key}.
+     *
+     * @return 0 si le jeton est accordé, sinon le délai en millisecondes avant le prochain jeton
+     */
+    long tryConsume(String key, BucketSpec spec);
+
+    /**
+     * Nombre de seaux actuellement suivis
+     */
+    int size();
+}
@@ -0,0 +1,22 @@
+package com.tp.financial_coach_backend.auth.repository;
+
+import com.tp.financial_coach_backend.auth.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    @Query("select k from JwtSigningKey k where k.expiresAt is null or k.expiresAt > :now order by k.activatesAt")
+    List<JwtSigningKey> findUsable(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from JwtSigningKey k where k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
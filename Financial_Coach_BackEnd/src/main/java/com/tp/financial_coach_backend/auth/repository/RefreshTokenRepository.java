@@ -4,8 +4,11 @@ import com.tp.financial_coach_backend.auth.entity.RefreshToken;
 import com.tp.financial_coach_backend.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,8 +18,32 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     Optional<RefreshToken> findByToken(String token);
 
     @Modifying
-    void deleteByUser(User user);
+    @Query("delete from RefreshToken t where t.user = :user")
+    int deleteByUser(@Param("user") User user);
 
     @Modifying
     void deleteByToken(String token);
+
+    /**
+     * Marque le token comme échangé s'il ne l'a pas déjà été ; 0 ligne modifiée = réutilisation
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.rotatedAt = :now where t.id = :id and t.rotatedAt is null and t.revoked = false")
+    int markRotated(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Successeur encore inutilisé d'un token échangé depuis {@code since} : un échange concurrent le reçoit
+     * au lieu de révoquer la famille
+     */
+    @Query("select s from RefreshToken s where s.previousId = :id and s.revoked = false and s.rotatedAt is null " +
+            "and exists (select t.id from RefreshToken t where t.id = :id and t.rotatedAt >= :since and t.revoked = false)")
+    Optional<RefreshToken> findGraceSuccessor(@Param("id") UUID id, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where (t.familyId = :familyId or t.id = :familyId) and t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiryDate < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
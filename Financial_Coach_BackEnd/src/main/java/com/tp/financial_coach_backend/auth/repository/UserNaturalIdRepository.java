@@ -0,0 +1,14 @@
+package com.tp.financial_coach_backend.auth.repository;
+
+import com.tp.financial_coach_backend.auth.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Recherche d'un utilisateur par son identifiant naturel (email), servie par le cache de second niveau.
+ * L'email est normalisé comme à l'écriture ({@link User#normalizeEmail}) : la recherche ignore la casse.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+}
@@ -1,16 +1,32 @@
 package com.tp.financial_coach_backend.auth.repository;
 
+import com.tp.financial_coach_backend.auth.entity.Role;
 import com.tp.financial_coach_backend.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
 
+    /**
+     * Existence d'un compte pour un email déjà normalisé ({@link User#normalizeEmail})
+     */
     boolean existsByEmail(String email);
+
+    @Query("select count(u) > 0 from User u join u.roles r where u.id = :id and r.name = :role")
+    boolean hasRole(@Param("id") UUID id, @Param("role") Role.RoleName role);
+
+    /**
+     * Remplace le hash uniquement s'il n'a pas changé depuis la connexion
+     */
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :currentHash")
+    int replacePasswordHash(@Param("id") UUID id,
+                            @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
 }
\ No newline at end of file
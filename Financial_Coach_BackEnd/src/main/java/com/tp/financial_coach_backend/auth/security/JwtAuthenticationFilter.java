@@ -0,0 +1,77 @@
+package com.tp.financial_coach_backend.auth.security;
+
+import com.tp.financial_coach_backend.auth.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authentifie les requêtes portant un access token « Bearer ».
+ *
+ * Le principal est l'userId (String) attendu par les contrôleurs ; les autorités viennent de la
+ * claim roles. Un token invalide, expiré ou révoqué laisse la requête non authentifiée.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+
+    // Constructeur manuel
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationService revocationService) {
+        this.jwtService = jwtService;
+        this.revocationService = revocationService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            Claims claims = jwtService.extractAllClaims(header.substring(BEARER_PREFIX.length()));
+            String userId = claims.get("userId", String.class);
+            if (userId != null && !revocationService.isRevoked(claims.getId())) {
+                List<?> roles = claims.get("roles", List.class);
+                List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                        .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                        .toList();
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else if (userId != null) {
+                log.warn("Token révoqué présenté pour l'utilisateur {}", userId);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Access token rejeté: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,93 @@
+package com.tp.financial_coach_backend.auth.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Chiffrement au repos des clés privées de signature (AES-GCM, clé {@code jwt.keys.encryption-key}).
+ *
+ * Format stocké : octet de version, nonce de 12 octets, puis texte chiffré et tag. Le kid sert de données
+ * associées : une clé privée recopiée sur une autre ligne ne se déchiffre pas. Les clés enregistrées en
+ * clair avant le chiffrement (DER PKCS#8, premier octet 0x30) restent lisibles jusqu'à leur réécriture.
+ */
+@Component
+public class JwtKeyCipher {
+
+    private static final byte VERSION = 1;
+    private static final byte DER_SEQUENCE = 0x30;
+    private static final int NONCE_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    // Constructeur manuel
+    public JwtKeyCipher(@Value("${jwt.keys.encryption-key}") String encryptionKey) {
+        byte[] raw;
+        try {
+            raw = Base64.getDecoder().decode(encryptionKey.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.keys.encryption-key doit être encodée en Base64", e);
+        }
+        if (raw.length != 16 && raw.length != 24 && raw.length != 32) {
+            throw new IllegalStateException("jwt.keys.encryption-key doit faire 16, 24 ou 32 octets (AES)");
+        }
+        this.key = new SecretKeySpec(raw, "AES");
+    }
+
+    /**
+     * Chiffre la clé privée PKCS#8 de la clé {@code kid}
+     */
+    public byte[] seal(String kid, byte[] privateKey) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        byte[] sealed = crypt(Cipher.ENCRYPT_MODE, kid, nonce, privateKey, 0, privateKey.length);
+        byte[] stored = new byte[1 + NONCE_BYTES + sealed.length];
+        stored[0] = VERSION;
+        System.arraycopy(nonce, 0, stored, 1, NONCE_BYTES);
+        System.arraycopy(sealed, 0, stored, 1 + NONCE_BYTES, sealed.length);
+        return stored;
+    }
+
+    /**
+     * Clé privée PKCS#8 d'après la valeur stockée, chiffrée ou historique en clair
+     */
+    public byte[] open(String kid, byte[] stored) {
+        if (isPlain(stored)) {
+            return stored;
+        }
+        if (stored.length <= 1 + NONCE_BYTES || stored[0] != VERSION) {
+            throw new IllegalStateException("Format de clé privée inconnu: " + kid);
+        }
+        byte[] nonce = Arrays.copyOfRange(stored, 1, 1 + NONCE_BYTES);
+        return crypt(Cipher.DECRYPT_MODE, kid, nonce, stored, 1 + NONCE_BYTES, stored.length - 1 - NONCE_BYTES);
+    }
+
+    /**
+     * Vrai pour une clé enregistrée en clair avant le chiffrement
+     */
+    public boolean isPlain(byte[] stored) {
+        return stored.length > 0 && stored[0] == DER_SEQUENCE;
+    }
+
+    private byte[] crypt(int mode, String kid, byte[] nonce, byte[] input, int offset, int length) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(input, offset, length);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chiffrement de la clé de signature JWT impossible: " + kid, e);
+        }
+    }
+}
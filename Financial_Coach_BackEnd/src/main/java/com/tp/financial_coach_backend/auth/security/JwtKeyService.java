@@ -0,0 +1,276 @@
+package com.tp.financial_coach_backend.auth.security;
+
+import com.tp.financial_coach_backend.auth.entity.JwtSigningKey;
+import com.tp.financial_coach_backend.auth.repository.JwtSigningKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Jeu de clés RSA de signature des JWT, avec rotation sans interruption.
+ *
+ * Chaque nouvelle clé est enregistrée en base et publiée dans le JWKS {@code jwt.keys.publish-ahead-minutes}
+ * avant de signer quoi que ce soit : les vérificateurs qui ont mis le JWKS en cache la connaissent déjà
+ * quand les premiers tokens arrivent. L'ancienne clé reste publiée le temps de vie d'un access token.
+ * Le jeu courant est un instantané immuable lu sans verrou ; la recherche par kid est une lecture de map.
+ * Un kid inconnu ne fait que relire les clés en base (clé créée par un autre nœud) : seule la tâche
+ * planifiée crée, retire ou supprime des clés. Les clés privées sont chiffrées au repos ({@link JwtKeyCipher}).
+ */
+@Service
+public class JwtKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyService.class);
+
+    public static final String ALGORITHM = "RS256";
+    private static final int KEY_SIZE = 2048;
+    private static final long CLOCK_SKEW_MINUTES = 5;
+    private static final long UNKNOWN_KID_RELOAD_INTERVAL_MS = 10_000;
+
+    private final JwtSigningKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JwtKeyCipher cipher;
+    private final AtomicLong lastUnknownKidReload = new AtomicLong();
+
+    @Value("${jwt.keys.rotation-interval-hours:720}")
+    private long rotationIntervalHours;
+
+    @Value("${jwt.keys.publish-ahead-minutes:60}")
+    private long publishAheadMinutes;
+
+    @Value("${jwt.access-token-expiration}")
+    private long accessTokenExpiration;
+
+    private volatile KeySet keySet;
+
+    // Constructeur manuel
+    public JwtKeyService(JwtSigningKeyRepository keyRepository, PlatformTransactionManager transactionManager,
+                         JwtKeyCipher cipher) {
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cipher = cipher;
+    }
+
+    /**
+     * Clé qui signe les nouveaux tokens
+     */
+    public SigningKey activeKey() {
+        return current().active(LocalDateTime.now());
+    }
+
+    /**
+     * Clé publique associée au kid, ou {@code null} si inconnue ou retirée
+     */
+    public PublicKey verificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = current().byKid().get(kid);
+        if (key == null && claimUnknownKidReload()) {
+            // Clé peut-être créée par un autre nœud depuis le dernier rechargement
+            reload();
+            key = keySet.byKid().get(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    /**
+     * Clés publiques au format JWK (RFC 7517), clés à venir et clés retirées encore valides comprises
+     */
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : current().keys()) {
+            RSAPublicKey publicKey = (RSAPublicKey) key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", key.algorithm());
+            jwk.put("kid", key.kid());
+            jwk.put("n", base64Url(publicKey.getModulus()));
+            jwk.put("e", base64Url(publicKey.getPublicExponent()));
+            jwks.add(jwk);
+        }
+        return jwks;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        current();
+    }
+
+    /**
+     * Prépare la clé suivante quand la rotation approche, retire les anciennes et recharge le jeu
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval-ms:60000}",
+            initialDelayString = "${jwt.keys.refresh-interval-ms:60000}")
+    public synchronized void rotate() {
+        keySet = transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            keyRepository.deleteExpired(now);
+            List<JwtSigningKey> keys = new ArrayList<>(keyRepository.findUsable(now));
+
+            JwtSigningKey active = null;
+            boolean hasPending = false;
+            for (JwtSigningKey key : keys) {
+                if (key.getActivatesAt().isAfter(now)) {
+                    hasPending = true;
+                } else {
+                    active = key;
+                }
+            }
+
+            for (JwtSigningKey key : keys) {
+                if (cipher.isPlain(key.getPrivateKey())) {
+                    // Clé enregistrée avant le chiffrement au repos
+                    key.setPrivateKey(cipher.seal(key.getKid(), key.getPrivateKey()));
+                    keyRepository.save(key);
+                }
+            }
+
+            if (active == null) {
+                active = generate(now);
+                keys.add(active);
+                log.info("Clé de signature JWT initiale créée: {}", active.getKid());
+            } else if (!hasPending && !active.getActivatesAt()
+                    .plusHours(rotationIntervalHours).minusMinutes(publishAheadMinutes).isAfter(now)) {
+                JwtSigningKey next = generate(now.plusMinutes(publishAheadMinutes));
+                keys.add(next);
+                log.info("Prochaine clé de signature JWT publiée: {} (active à partir de {})",
+                        next.getKid(), next.getActivatesAt());
+            }
+
+            // Les clés remplacées restent valides le temps de vie des tokens qu'elles ont signés
+            LocalDateTime retiredUntil = active.getActivatesAt()
+                    .plusNanos(accessTokenExpiration * 1_000_000)
+                    .plusMinutes(CLOCK_SKEW_MINUTES);
+            for (JwtSigningKey key : keys) {
+                if (key.getExpiresAt() == null && key.getActivatesAt().isBefore(active.getActivatesAt())) {
+                    key.setExpiresAt(retiredUntil);
+                    keyRepository.save(key);
+                }
+            }
+
+            keys.sort(Comparator.comparing(JwtSigningKey::getActivatesAt));
+            return KeySet.of(keys.stream().map(this::decode).toList());
+        });
+    }
+
+    /**
+     * Relit les clés utilisables sans rien créer ni retirer (lecture sur le primaire, pas sur le réplica)
+     */
+    synchronized void reload() {
+        List<SigningKey> keys = transactionTemplate.execute(tx ->
+                keyRepository.findUsable(LocalDateTime.now()).stream().map(this::decode).toList());
+        if (!keys.isEmpty()) {
+            keySet = KeySet.of(keys);
+        }
+    }
+
+    // Un seul rechargement par intervalle, quel que soit le nombre de tokens au kid inconnu
+    private boolean claimUnknownKidReload() {
+        long now = System.currentTimeMillis();
+        long last = lastUnknownKidReload.get();
+        return now - last > UNKNOWN_KID_RELOAD_INTERVAL_MS && lastUnknownKidReload.compareAndSet(last, now);
+    }
+
+    private KeySet current() {
+        KeySet current = keySet;
+        if (current == null) {
+            rotate();
+            current = keySet;
+        }
+        return current;
+    }
+
+    private JwtSigningKey generate(LocalDateTime activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(KEY_SIZE);
+            KeyPair pair = generator.generateKeyPair();
+            String kid = UUID.randomUUID().toString();
+            return keyRepository.save(JwtSigningKey.builder()
+                    .kid(kid)
+                    .algorithm(ALGORITHM)
+                    .publicKey(pair.getPublic().getEncoded())
+                    .privateKey(cipher.seal(kid, pair.getPrivate().getEncoded()))
+                    .activatesAt(activatesAt)
+                    .build());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Impossible de générer une clé de signature JWT", e);
+        }
+    }
+
+    private SigningKey decode(JwtSigningKey key) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("RSA");
+            return new SigningKey(
+                    key.getKid(),
+                    key.getAlgorithm(),
+                    factory.generatePublic(new X509EncodedKeySpec(key.getPublicKey())),
+                    factory.generatePrivate(new PKCS8EncodedKeySpec(cipher.open(key.getKid(), key.getPrivateKey()))),
+                    key.getActivatesAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Clé de signature JWT illisible: " + key.getKid(), e);
+        }
+    }
+
+    // Entier non signé, big-endian, sans octet de signe (RFC 7518 §6.3.1)
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        byte[] unsigned = new byte[bytes.length - offset];
+        System.arraycopy(bytes, offset, unsigned, 0, unsigned.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    public record SigningKey(String kid, String algorithm, PublicKey publicKey, PrivateKey privateKey,
+                             LocalDateTime activatesAt) {
+    }
+
+    /**
+     * Instantané immuable du jeu de clés, trié par date d'activation
+     */
+    record KeySet(List<SigningKey> keys, Map<String, SigningKey> byKid) {
+
+        static KeySet of(List<SigningKey> keys) {
+            Map<String, SigningKey> byKid = new LinkedHashMap<>();
+            keys.forEach(key -> byKid.put(key.kid(), key));
+            return new KeySet(List.copyOf(keys), Map.copyOf(byKid));
+        }
+
+        SigningKey active(LocalDateTime now) {
+            SigningKey active = keys.get(0);
+            for (SigningKey key : keys) {
+                if (!key.activatesAt().isAfter(now)) {
+                    active = key;
+                }
+            }
+            return active;
+        }
+    }
+}
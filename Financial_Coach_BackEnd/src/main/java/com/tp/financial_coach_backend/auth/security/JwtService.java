@@ -1,10 +1,13 @@
 package com.tp.financial_coach_backend.auth.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -23,8 +26,7 @@ import java.util.stream.Collectors;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtKeyService keyService;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -32,6 +34,11 @@ public class JwtService {
     @Value("${jwt.refresh-token-expiration}")
     private Long refreshTokenExpiration;
 
+    // Constructeur manuel
+    public JwtService(JwtKeyService keyService) {
+        this.keyService = keyService;
+    }
+
     /**
      * Génère un access token pour l'utilisateur
      */
@@ -60,12 +67,15 @@ public class JwtService {
             String subject,
             Long expiration
     ) {
+        JwtKeyService.SigningKey signingKey = keyService.activeKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(extraClaims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.privateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
@@ -83,6 +93,13 @@ public class JwtService {
         return extractClaim(token, claims -> claims.get("userId", String.class));
     }
 
+    /**
+     * Extrait l'identifiant unique (jti) du token
+     */
+    public String extractJti(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     /**
      * Extrait une claim spécifique
      */
@@ -92,11 +109,11 @@ public class JwtService {
     }
 
     /**
-     * Extrait toutes les claims
+     * Extrait toutes les claims (signature et expiration vérifiées)
      */
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
+                .setSigningKeyResolver(signingKeyResolver)
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
@@ -120,17 +137,26 @@ public class JwtService {
     /**
      * Extrait la date d'expiration
      */
-    private Date extractExpiration(String token) {
+    public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
 
     /**
-     * Obtient la clé de signature
+     * Choisit la clé publique de vérification d'après l'en-tête kid du token
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final SigningKeyResolver signingKeyResolver = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            if (!JwtKeyService.ALGORITHM.equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Algorithme de signature non accepté: " + header.getAlgorithm());
+            }
+            Key key = keyService.verificationKey(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Clé de signature inconnue: " + header.getKeyId());
+            }
+            return key;
+        }
+    };
 
     /**
      * Obtient la durée d'expiration de l'access token en secondes
@@ -7,23 +7,36 @@ import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
 import com.tp.financial_coach_backend.auth.entity.RefreshToken;
 import com.tp.financial_coach_backend.auth.entity.Role;
 import com.tp.financial_coach_backend.auth.entity.User;
+import com.tp.financial_coach_backend.auth.event.PasswordRehashRequestedEvent;
+import com.tp.financial_coach_backend.auth.event.UserRegisteredEvent;
 import com.tp.financial_coach_backend.auth.exception.AuthException;
 import com.tp.financial_coach_backend.auth.repository.RefreshTokenRepository;
 import com.tp.financial_coach_backend.auth.repository.RoleRepository;
 import com.tp.financial_coach_backend.auth.repository.UserRepository;
 import com.tp.financial_coach_backend.auth.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.query.QueryBudget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,6 +51,12 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Délai pendant lequel un token tout juste échangé renvoie encore son successeur (requêtes concurrentes)
+    @Value("${jwt.refresh-token-grace-ms:10000}")
+    private long refreshGraceMillis;
 
     // Constructeur manuel
     public AuthService(
@@ -47,7 +66,9 @@ public class AuthService {
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
             AuthenticationManager authenticationManager,
-            UserDetailsService userDetailsService
+            UserDetailsService userDetailsService,
+            TokenRevocationService revocationService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
@@ -56,19 +77,23 @@ public class AuthService {
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Inscription d'un nouvel utilisateur
      */
+    @QueryBudget(8)
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Tentative d'inscription pour l'email: {}", request.getEmail());
+        String email = User.normalizeEmail(request.getEmail());
 
-        // Vérifier si l'email existe déjà
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Email déjà existant: {}", request.getEmail());
-            throw new AuthException("Cet email est déjà utilisé");
+        // Vérifier si l'email existe déjà (emails stockés en minuscules)
+        if (userRepository.existsByEmail(email)) {
+            log.warn("Email déjà existant: {}", email);
+            throw ErrorCode.EMAIL_ALREADY_USED.exception();
         }
 
         // Vérifier que les mots de passe correspondent
@@ -87,7 +112,7 @@ public class AuthService {
 
         // Créer l'utilisateur
         User user = User.builder()
-                .email(request.getEmail())
+                .email(email)
                 .password(passwordEncoder.encode(request.getPassword()))
                 .enabled(true)
                 .emailVerified(false)
@@ -97,6 +122,7 @@ public class AuthService {
         user = userRepository.save(user);
 
         log.info("Utilisateur créé avec succès: {} (ID: {})", user.getEmail(), user.getId());
+        eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getEmail()));
 
         // Générer les tokens
         return generateAuthResponse(user);
@@ -105,6 +131,7 @@ public class AuthService {
     /**
      * Connexion d'un utilisateur
      */
+    @QueryBudget(4)
     @Transactional
     public AuthResponse login(LoginRequest request) {
         log.info("Tentative de connexion pour l'email: {}", request.getEmail());
@@ -117,19 +144,26 @@ public class AuthService {
                             request.getPassword()
                     )
             );
-        } catch (Exception e) {
-            log.error("Échec de l'authentification pour: {}", request.getEmail());
-            throw new AuthException("Email ou mot de passe incorrect");
+        } catch (AuthenticationException e) {
+            // Cas attendu : exception préallouée, les erreurs imprévues remontent telles quelles
+            log.warn("Échec de l'authentification pour: {}", request.getEmail());
+            throw ErrorCode.INVALID_CREDENTIALS.exception();
         }
 
         // Récupérer l'utilisateur
         User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AuthException("Utilisateur non trouvé"));
+                .orElseThrow(ErrorCode.INVALID_CREDENTIALS::exception);
 
         // Mettre à jour la date de dernière connexion
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
 
+        // Hash dans un format dépassé : re-hachage en tâche de fond, après validation de la transaction
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            eventPublisher.publishEvent(
+                    new PasswordRehashRequestedEvent(user.getId(), user.getPassword(), request.getPassword()));
+        }
+
         log.info("Connexion réussie pour: {} (ID: {})", user.getEmail(), user.getId());
 
         // Générer les tokens
@@ -137,9 +171,12 @@ public class AuthService {
     }
 
     /**
-     * Rafraîchir l'access token
+     * Rafraîchir l'access token (rotation : le refresh token présenté est remplacé par un nouveau).
+     * Un token échangé il y a moins de {@code jwt.refresh-token-grace-ms} (deux onglets, retry réseau)
+     * reçoit le même successeur au lieu de révoquer la famille.
      */
-    @Transactional
+    @QueryBudget(5)
+    @Transactional(noRollbackFor = AuthException.class)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         log.info("Tentative de rafraîchissement du token");
 
@@ -147,6 +184,11 @@ public class AuthService {
         RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
                 .orElseThrow(() -> new AuthException("Refresh token invalide"));
 
+        if (refreshToken.getRevoked()) {
+            log.warn("Refresh token révoqué présenté (famille {})", refreshToken.getEffectiveFamilyId());
+            throw new AuthException("Refresh token invalide");
+        }
+
         // Vérifier l'expiration
         if (refreshToken.isExpired()) {
             refreshTokenRepository.delete(refreshToken);
@@ -154,49 +196,85 @@ public class AuthService {
             throw new AuthException("Refresh token expiré");
         }
 
+        // Échange conditionnel en une seule requête : s'il a déjà été échangé, c'est une réutilisation
+        if (refreshTokenRepository.markRotated(refreshToken.getId(), LocalDateTime.now()) == 0) {
+            Optional<RefreshToken> successor = refreshTokenRepository.findGraceSuccessor(
+                    refreshToken.getId(), LocalDateTime.now().minusNanos(refreshGraceMillis * 1_000_000));
+            if (successor.isPresent()) {
+                log.info("Échange concurrent d'un refresh token (famille {}) : successeur renvoyé",
+                        refreshToken.getEffectiveFamilyId());
+                return buildAuthResponse(refreshToken.getUser(), successor.get().getToken());
+            }
+            int revoked = refreshTokenRepository.revokeFamily(refreshToken.getEffectiveFamilyId());
+            log.warn("Réutilisation d'un refresh token déjà échangé pour l'utilisateur ID: {} - famille {} révoquée ({} tokens)",
+                    refreshToken.getUser().getId(), refreshToken.getEffectiveFamilyId(), revoked);
+            throw new AuthException("Refresh token invalide");
+        }
+
         // Récupérer l'utilisateur
         User user = refreshToken.getUser();
         log.info("Rafraîchissement du token pour: {} (ID: {})", user.getEmail(), user.getId());
 
-        // Générer un nouveau access token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String newAccessToken = jwtService.generateAccessToken(userDetails, user.getId());
-
-        Set<String> roles = user.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.toSet());
-
-        return AuthResponse.builder()
-                .userId(user.getId())
-                .email(user.getEmail())
-                .accessToken(newAccessToken)
-                .refreshToken(request.getRefreshToken())
-                .tokenType("Bearer")
-                .expiresIn(jwtService.getAccessTokenExpirationInSeconds())
-                .roles(roles)
-                .build();
+        return generateAuthResponse(user, refreshToken.getEffectiveFamilyId(), refreshToken.getId());
     }
 
     /**
-     * Déconnexion (supprime le refresh token)
+     * Déconnexion (révoque la famille du refresh token et l'access token présenté)
      */
+    @QueryBudget(6)
     @Transactional
-    public void logout(String refreshToken) {
+    public void logout(String refreshToken, String accessToken) {
         log.info("Déconnexion demandée");
         refreshTokenRepository.findByToken(refreshToken).ifPresent(token -> {
-            refreshTokenRepository.delete(token);
-            log.info("Refresh token supprimé pour l'utilisateur ID: {}", token.getUser().getId());
+            refreshTokenRepository.revokeFamily(token.getEffectiveFamilyId());
+            log.info("Famille de refresh tokens révoquée pour l'utilisateur ID: {}", token.getUser().getId());
         });
+
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtService.extractAllClaims(accessToken);
+                String userId = claims.get("userId", String.class);
+                revocationService.revoke(claims.getId(), userId == null ? null : UUID.fromString(userId),
+                        claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token déjà expiré ou invalide : rien à révoquer
+                log.debug("Access token non révoqué à la déconnexion: {}", e.getMessage());
+            }
+        }
     }
 
     /**
-     * Génère la réponse d'authentification complète
+     * Révocation administrative d'un access token par son jti (valable jusqu'à l'expiration maximale)
+     */
+    @Transactional
+    public void revokeAccessToken(String jti) {
+        Date maxExpiry = new Date(System.currentTimeMillis() + jwtService.getAccessTokenExpirationInSeconds() * 1000);
+        revocationService.revoke(jti, null, maxExpiry);
+    }
+
+    /**
+     * Purge les refresh tokens expirés (révoqués ou non)
+     */
+    @Scheduled(cron = "${jwt.refresh-token-purge-cron:0 0 4 * * *}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("{} refresh tokens expirés purgés", purged);
+    }
+
+    /**
+     * Génère la réponse d'authentification complète (nouvelle famille de refresh tokens)
      */
     private AuthResponse generateAuthResponse(User user) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+        return generateAuthResponse(user, null, null);
+    }
 
-        // Générer access token
-        String accessToken = jwtService.generateAccessToken(userDetails, user.getId());
+    /**
+     * Génère la réponse d'authentification ; le refresh token rejoint {@code familyId} (ou en ouvre une)
+     * et succède à {@code previousId} (null pour une connexion)
+     */
+    private AuthResponse generateAuthResponse(User user, UUID familyId, UUID previousId) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
 
         // Générer refresh token
         String refreshTokenString = jwtService.generateRefreshToken(userDetails);
@@ -205,10 +283,26 @@ public class AuthService {
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(refreshTokenString)
                 .user(user)
+                .familyId(familyId != null ? familyId : UUID.randomUUID())
+                .previousId(previousId)
                 .expiryDate(LocalDateTime.now().plusSeconds(jwtService.getRefreshTokenExpirationInSeconds()))
                 .build();
         refreshTokenRepository.save(refreshToken);
 
+        return buildAuthResponse(user, userDetails, refreshTokenString);
+    }
+
+    /**
+     * Nouvel access token accompagné d'un refresh token existant (successeur déjà émis)
+     */
+    private AuthResponse buildAuthResponse(User user, String refreshTokenString) {
+        return buildAuthResponse(user, userDetailsService.loadUserByUsername(user.getEmail()), refreshTokenString);
+    }
+
+    private AuthResponse buildAuthResponse(User user, UserDetails userDetails, String refreshTokenString) {
+        // Générer access token
+        String accessToken = jwtService.generateAccessToken(userDetails, user.getId());
+
         // Extraire les rôles
         Set<String> roles = user.getRoles().stream()
                 .map(role -> role.getName().name())
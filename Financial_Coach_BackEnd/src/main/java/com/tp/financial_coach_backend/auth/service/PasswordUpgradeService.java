@@ -0,0 +1,77 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.event.PasswordRehashRequestedEvent;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-hachage progressif des mots de passe au format cible ({@code auth.password.encoder}).
+ *
+ * Déclenché après la validation de la connexion, sur un petit pool dédié : la réponse de /login
+ * n'attend jamais le nouveau hash. File bornée ; en cas de saturation la demande est abandonnée
+ * et sera refaite à la prochaine connexion.
+ */
+@Service
+public class PasswordUpgradeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(256),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-upgrade");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    // Constructeur manuel
+    public PasswordUpgradeService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener
+    public void onRehashRequested(PasswordRehashRequestedEvent event) {
+        executor.execute(() -> upgrade(event));
+    }
+
+    private void upgrade(PasswordRehashRequestedEvent event) {
+        try {
+            String newHash = passwordEncoder.encode(event.rawPassword());
+            // Mise à jour conditionnelle : un changement de mot de passe concurrent n'est pas écrasé
+            Integer updated = transactionTemplate.execute(tx ->
+                    userRepository.replacePasswordHash(event.userId(), event.currentHash(), newHash));
+            if (updated != null && updated > 0) {
+                log.info("Hash du mot de passe mis à niveau pour l'utilisateur ID: {}", event.userId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Échec de la mise à niveau du hash pour l'utilisateur ID: {}", event.userId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,101 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.entity.Role;
+import com.tp.financial_coach_backend.auth.entity.User;
+import com.tp.financial_coach_backend.auth.repository.RoleRepository;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compte de service du chat (Financial_Coach/api.py) : consulte et alimente le cache des réponses
+ * du coach pour le compte des utilisateurs.
+ *
+ * Créé au démarrage d'après {@code agent.service-account.email} / {@code password}, avec ROLE_ADMIN ;
+ * un compte existant reçoit le rôle et, si besoin, le mot de passe configuré (rotation par l'environnement).
+ */
+@Component
+public class ServiceAccountInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceAccountInitializer.class);
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate writeTransaction;
+
+    @Value("${agent.service-account.email:}")
+    private String email;
+
+    @Value("${agent.service-account.password:}")
+    private String password;
+
+    // Constructeur manuel
+    public ServiceAccountInitializer(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureServiceAccount() {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        if (password == null || password.isBlank()) {
+            log.warn("agent.service-account.password vide : compte de service {} non provisionné", email);
+            return;
+        }
+        try {
+            writeTransaction.executeWithoutResult(tx -> provision());
+        } catch (DataIntegrityViolationException e) {
+            // Provisionné au même moment par un autre nœud
+            log.info("Compte de service {} déjà provisionné par un autre nœud", email);
+        }
+    }
+
+    private void provision() {
+        Role admin = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.ROLE_ADMIN).build()));
+        User account = userRepository.findByEmail(email).orElse(null);
+        if (account == null) {
+            account = User.builder()
+                    .email(email)
+                    .password(passwordEncoder.encode(password))
+                    .enabled(true)
+                    .emailVerified(true)
+                    .build();
+            account.addRole(admin);
+            userRepository.save(account);
+            log.info("Compte de service {} créé", account.getEmail());
+            return;
+        }
+        boolean changed = false;
+        if (account.getRoles().stream().noneMatch(role -> role.getName() == Role.RoleName.ROLE_ADMIN)) {
+            account.addRole(admin);
+            changed = true;
+        }
+        if (!passwordEncoder.matches(password, account.getPassword())) {
+            account.setPassword(passwordEncoder.encode(password));
+            changed = true;
+        }
+        if (changed) {
+            userRepository.save(account);
+            log.info("Compte de service {} mis à jour", account.getEmail());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.entity.RevokedToken;
+import com.tp.financial_coach_backend.auth.repository.RevokedTokenRepository;
+import com.tp.financial_coach_backend.auth.security.JtiBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Révocation des access tokens par leur identifiant (claim jti).
+ *
+ * Chaque requête authentifiée interroge d'abord un filtre de Bloom en mémoire : un « absent »
+ * (le cas de presque toutes les requêtes) ne coûte aucun accès en base. Seul un « présent » est
+ * confirmé dans la table revoked_tokens. Les entrées expirent avec le token qu'elles visent :
+ * elles sont purgées et le filtre est reconstruit périodiquement, ce qui propage aussi
+ * les révocations faites sur les autres nœuds.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final long RECENT_RETENTION_MS = 60_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // Révocations locales récentes (jti -> instant), rejouées dans chaque nouveau filtre
+    private final Map<String, Long> recentlyRevoked = new ConcurrentHashMap<>();
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile JtiBloomFilter filter;
+
+    // Constructeur manuel
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.filter = new JtiBloomFilter(100_000, 0.001);
+    }
+
+    /**
+     * Révoque un token jusqu'à sa date d'expiration
+     */
+    @Transactional
+    public void revoke(String jti, UUID userId, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.before(new Date())) {
+            return;
+        }
+        recentlyRevoked.put(jti, System.currentTimeMillis());
+        filter.add(jti);
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                    .build());
+        }
+        log.info("Token {} révoqué (utilisateur: {})", jti, userId);
+    }
+
+    /**
+     * Vrai si le token a été révoqué ; la base n'est consultée que si le filtre répond « présent ».
+     * Pas de transaction ici : appelée à chaque requête authentifiée, elle n'emprunterait sinon une
+     * connexion que pour interroger le filtre (existsById a sa propre transaction).
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Purge les révocations expirées et reconstruit le filtre à partir des entrées actives
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:60000}",
+            initialDelayString = "${jwt.revocation.refresh-interval-ms:60000}")
+    @Transactional
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+
+        JtiBloomFilter rebuilt = new JtiBloomFilter(Math.max(expectedEntries, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::add);
+        recentlyRevoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Révocations arrivées pendant la reconstruction, sur l'ancien filtre
+        recentlyRevoked.keySet().forEach(rebuilt::add);
+        recentlyRevoked.values().removeIf(revokedAt -> revokedAt < startedAt - RECENT_RETENTION_MS);
+
+        log.debug("Filtre de révocation reconstruit: {} tokens actifs, {} entrées expirées purgées",
+                active.size(), purged);
+    }
+}
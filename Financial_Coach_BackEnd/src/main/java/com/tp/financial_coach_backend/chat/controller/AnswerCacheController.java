@@ -0,0 +1,87 @@
+package com.tp.financial_coach_backend.chat.controller;
+
+import com.tp.financial_coach_backend.chat.dto.AnswerCacheRequest;
+import com.tp.financial_coach_backend.chat.dto.CachedAnswerResponse;
+import com.tp.financial_coach_backend.chat.service.CoachAnswerCacheService;
+import com.tp.financial_coach_backend.chat.service.ResponseCache;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnswerCacheController {
+
+    private final CoachAnswerCacheService answerCacheService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    private boolean isServiceAccount() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    /**
+     * POST /api/chat/answers/lookup - Réponse en cache pour une question (204 si absente).
+     * Le compte de service (ROLE_ADMIN) interroge pour l'utilisateur désigné par {@code userId}.
+     */
+    @PostMapping("/api/chat/answers/lookup")
+    public ResponseEntity<CachedAnswerResponse> lookup(@Valid @RequestBody AnswerCacheRequest request) {
+        UUID userId = request.getUserId() != null && isServiceAccount() ? request.getUserId() : getCurrentUserId();
+        return answerCacheService.lookup(userId, request.getQuestion(), request.getLanguage())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /**
+     * PUT /api/chat/answers - Enregistrer la réponse de l'agent à la question d'un utilisateur.
+     * Réservé au compte de service de l'agent (ROLE_ADMIN, {@code agent.service-account}) : une entrée
+     * est servie à tous les profils proches.
+     */
+    @PutMapping("/api/chat/answers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> store(@Valid @RequestBody AnswerCacheRequest request) {
+        if (request.getAnswer() == null || request.getAnswer().isBlank() || request.getUserId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        answerCacheService.store(request.getUserId(), request.getQuestion(), request.getAnswer(), request.getLanguage());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/admin/chat/answers - Statistiques du cache
+     */
+    @GetMapping("/api/admin/chat/answers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseCache.Stats> stats() {
+        return ResponseEntity.ok(answerCacheService.stats());
+    }
+
+    /**
+     * DELETE /api/admin/chat/answers?language=&question= - Invalider tout ou partie du cache, sur tous les
+     * nœuds (diffusion par l'outbox) ; {@code removed} compte les entrées retirées sur le nœud qui répond
+     */
+    @DeleteMapping("/api/admin/chat/answers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> invalidate(
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String question) {
+        int removed = answerCacheService.invalidate(language, question);
+        return ResponseEntity.ok(Map.of("removed", removed));
+    }
+}
@@ -0,0 +1,76 @@
+package com.tp.financial_coach_backend.chat.controller;
+
+import com.tp.financial_coach_backend.chat.dto.ChatMessageRequest;
+import com.tp.financial_coach_backend.chat.dto.ChatMessageResponse;
+import com.tp.financial_coach_backend.chat.dto.ConversationResponse;
+import com.tp.financial_coach_backend.chat.dto.MessagePageResponse;
+import com.tp.financial_coach_backend.chat.service.ConversationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/conversations")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ConversationController {
+
+    private final ConversationService conversationService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/conversations - Conversations de l'utilisateur, les plus récentes d'abord
+     */
+    @GetMapping
+    public ResponseEntity<List<ConversationResponse>> listConversations(
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(conversationService.listConversations(getCurrentUserId(), limit));
+    }
+
+    /**
+     * POST /api/conversations/{conversationId}/messages - Ajouter un message (crée la conversation si besoin)
+     */
+    @PostMapping("/{conversationId}/messages")
+    public ResponseEntity<ChatMessageResponse> appendMessage(
+            @PathVariable String conversationId,
+            @Valid @RequestBody ChatMessageRequest request) {
+        ChatMessageResponse message = conversationService.appendMessage(getCurrentUserId(), conversationId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(message);
+    }
+
+    /**
+     * GET /api/conversations/{conversationId}/messages?before=&limit= - Page de messages (fin du fil par défaut)
+     */
+    @GetMapping("/{conversationId}/messages")
+    public ResponseEntity<MessagePageResponse> getMessages(
+            @PathVariable String conversationId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit) {
+        return conversationService.getMessages(getCurrentUserId(), conversationId, before, limit)
+                .toResponseEntity(HttpStatus.OK);
+    }
+
+    /**
+     * DELETE /api/conversations/{conversationId} - Effacer une conversation et son historique
+     */
+    @DeleteMapping("/{conversationId}")
+    public ResponseEntity<Void> deleteConversation(@PathVariable String conversationId) {
+        return conversationService.deleteConversation(getCurrentUserId(), conversationId)
+                .toResponseEntity(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerCacheRequest {
+
+    @NotBlank(message = "La question est requise")
+    @Size(max = 10000, message = "La question ne doit pas dépasser 10000 caractères")
+    private String question;
+
+    // Renseignée uniquement pour enregistrer la réponse de l'agent
+    @Size(max = 10000, message = "La réponse ne doit pas dépasser 10000 caractères")
+    private String answer;
+
+    // Compte de service : utilisateur dont le profil détermine l'empreinte (ignoré pour un autre appelant)
+    private UUID userId;
+
+    // Langue de la conversation ; à défaut, langue préférée du profil
+    @Size(max = 10, message = "La langue ne doit pas dépasser 10 caractères")
+    private String language;
+}
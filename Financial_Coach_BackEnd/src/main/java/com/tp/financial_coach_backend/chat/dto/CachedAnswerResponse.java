@@ -0,0 +1,19 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedAnswerResponse {
+
+    private String answer;
+    private String fingerprint;
+    private LocalDateTime cachedAt;
+}
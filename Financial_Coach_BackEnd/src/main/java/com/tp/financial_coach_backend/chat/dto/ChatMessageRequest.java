@@ -0,0 +1,24 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageRequest {
+
+    @NotNull(message = "Le rôle est requis")
+    private ChatMessage.Role role;
+
+    @NotBlank(message = "Le contenu est requis")
+    @Size(max = 10000, message = "Le message ne doit pas dépasser 10000 caractères")
+    private String content;
+}
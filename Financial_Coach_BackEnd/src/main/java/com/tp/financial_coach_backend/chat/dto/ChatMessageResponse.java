@@ -0,0 +1,20 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageResponse {
+
+    private Long seq;
+    private String role;
+    private String content;
+    private LocalDateTime createdAt;
+}
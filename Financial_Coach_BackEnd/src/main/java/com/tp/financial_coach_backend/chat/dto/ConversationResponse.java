@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationResponse {
+
+    private String conversationId;
+    private String title;
+    private Long messageCount;
+    private LocalDateTime lastMessageAt;
+    private LocalDateTime createdAt;
+}
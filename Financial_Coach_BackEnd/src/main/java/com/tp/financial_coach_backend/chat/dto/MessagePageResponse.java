@@ -0,0 +1,23 @@
+package com.tp.financial_coach_backend.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessagePageResponse {
+
+    private String conversationId;
+
+    // Messages du plus ancien au plus récent
+    private List<ChatMessageResponse> messages;
+
+    // Curseur à passer en "before" pour la page précédente (null s'il n'y en a plus)
+    private Long nextCursor;
+}
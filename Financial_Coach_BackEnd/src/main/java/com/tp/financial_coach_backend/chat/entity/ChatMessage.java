@@ -0,0 +1,56 @@
+package com.tp.financial_coach_backend.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Message d'une conversation. Les messages ne sont jamais modifiés : uniquement ajoutés en fin de fil,
+ * numérotés par {@code seq} au sein de leur conversation.
+ */
+@Entity
+@Table(name = "chat_messages", uniqueConstraints = @UniqueConstraint(
+        name = "uk_chat_messages_conversation_seq", columnNames = {"conversation_id", "seq"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage {
+
+    // Séquence allouée par blocs pour permettre les insertions JDBC en lot
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+    @SequenceGenerator(name = "chat_messages_seq", sequenceName = "chat_messages_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "conversation_id", nullable = false, updatable = false)
+    private UUID conversationId;
+
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 20, updatable = false)
+    private Role role;
+
+    @Column(name = "content", nullable = false, length = 10000, updatable = false)
+    private String content;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Numéro de changement de l'utilisateur (synchronisation différentielle), attribué à l'écriture en base
+    @Column(name = "change_seq", updatable = false)
+    private Long changeSeq;
+
+    public enum Role {
+        USER,
+        ASSISTANT,
+        SYSTEM
+    }
+}
@@ -0,0 +1,54 @@
+package com.tp.financial_coach_backend.chat.entity;
+
+import com.tp.financial_coach_backend.auth.entity.User;
+import com.tp.financial_coach_backend.common.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "conversations", uniqueConstraints = @UniqueConstraint(
+        name = "uk_conversations_user_external", columnNames = {"user_id", "external_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Conversation {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Identifiant choisi par le client (conversation_id côté agent)
+    @Column(name = "external_id", nullable = false, length = 100)
+    private String externalId;
+
+    @Column(name = "title", length = 255)
+    private String title;
+
+    // Dernier numéro de message écrit en base
+    @Column(name = "last_seq", nullable = false)
+    @Builder.Default
+    private Long lastSeq = 0L;
+
+    @Column(name = "message_count", nullable = false)
+    @Builder.Default
+    private Long messageCount = 0L;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.tp.financial_coach_backend.chat.repository;
+
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    // Fenêtre de fin de fil : les N derniers messages
+    List<ChatMessage> findByConversationIdOrderBySeqDesc(UUID conversationId, Pageable pageable);
+
+    // Page précédant un curseur
+    List<ChatMessage> findByConversationIdAndSeqLessThanOrderBySeqDesc(UUID conversationId, Long seq, Pageable pageable);
+
+    // Dernier numéro écrit, toutes instances confondues (index uk_chat_messages_conversation_seq)
+    @Query("select coalesce(max(m.seq), 0) from ChatMessage m where m.conversationId = :conversationId")
+    long findMaxSeq(@Param("conversationId") UUID conversationId);
+
+    @Modifying
+    @Query("delete from ChatMessage m where m.conversationId = :conversationId")
+    int deleteByConversationId(@Param("conversationId") UUID conversationId);
+}
@@ -0,0 +1,33 @@
+package com.tp.financial_coach_backend.chat.repository;
+
+import com.tp.financial_coach_backend.chat.entity.Conversation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, UUID> {
+
+    Optional<Conversation> findByUserIdAndExternalId(UUID userId, String externalId);
+
+    List<Conversation> findByUserIdOrderByLastMessageAtDesc(UUID userId, Pageable pageable);
+
+    /**
+     * Enregistre un lot de messages écrits, sans relire la conversation
+     */
+    @Modifying
+    @Query("update Conversation c set c.lastSeq = :lastSeq, c.messageCount = c.messageCount + :count, " +
+            "c.lastMessageAt = :lastMessageAt where c.id = :id and c.lastSeq < :lastSeq")
+    int recordAppended(@Param("id") UUID id,
+                       @Param("lastSeq") long lastSeq,
+                       @Param("count") long count,
+                       @Param("lastMessageAt") LocalDateTime lastMessageAt);
+}
@@ -0,0 +1,78 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.outbox.dto.OutboxEventResponse;
+import com.tp.financial_coach_backend.outbox.dto.OutboxPageResponse;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejoue sur ce nœud les invalidations du cache des réponses faites via n'importe quel nœud.
+ *
+ * Même lecture que le flux SSE : curseur en mémoire positionné à la fin du flux livré de l'outbox au
+ * démarrage (le cache d'un nœud qui démarre est vide), puis lecture toutes les
+ * {@code chat.cache.invalidation-poll-ms}. Le nœud d'origine rejoue aussi la sienne, sans effet.
+ */
+@Component
+public class AnswerCacheInvalidationFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerCacheInvalidationFeed.class);
+
+    private final OutboxService outboxService;
+    private final CoachAnswerCacheService answerCacheService;
+    private final ObjectMapper objectMapper;
+
+    private long cursor = -1;
+
+    // Constructeur manuel
+    public AnswerCacheInvalidationFeed(OutboxService outboxService, CoachAnswerCacheService answerCacheService,
+                                       ObjectMapper objectMapper) {
+        this.outboxService = outboxService;
+        this.answerCacheService = answerCacheService;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (cursor < 0) {
+            cursor = outboxService.lastDeliveredSeq();
+        }
+    }
+
+    /**
+     * Applique les invalidations livrées depuis le dernier passage
+     */
+    @Scheduled(fixedDelayString = "${chat.cache.invalidation-poll-ms:5000}")
+    public synchronized void poll() {
+        if (cursor < 0) {
+            start();
+            return;
+        }
+        OutboxPageResponse page;
+        do {
+            page = outboxService.poll(cursor, OutboxService.MAX_PAGE_SIZE);
+            for (OutboxEventResponse event : page.getEvents()) {
+                if (CoachAnswerCacheService.INVALIDATED.equals(event.getEventType())) {
+                    apply(event);
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (page.getEvents().size() == OutboxService.MAX_PAGE_SIZE);
+    }
+
+    private void apply(OutboxEventResponse event) {
+        try {
+            CoachAnswerCacheService.Invalidation invalidation =
+                    objectMapper.readValue(event.getPayload(), CoachAnswerCacheService.Invalidation.class);
+            answerCacheService.invalidateLocally(invalidation.language(), invalidation.question());
+        } catch (JsonProcessingException e) {
+            log.warn("Invalidation du cache des réponses illisible: événement {}", event.getEventId(), e);
+        }
+    }
+}
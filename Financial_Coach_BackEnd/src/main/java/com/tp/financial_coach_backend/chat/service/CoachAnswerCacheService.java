@@ -0,0 +1,190 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.tp.financial_coach_backend.chat.dto.CachedAnswerResponse;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import com.tp.financial_coach_backend.profile.dto.ProfileTraits;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache des réponses du coach pour les questions récurrentes.
+ *
+ * La clé combine le texte normalisé de la question et une empreinte grossière du profil
+ * (langue, tolérance au risque, tranche de revenu) : deux utilisateurs proches posant la même
+ * question partagent la même réponse. Le service de chat (Financial_Coach/api.py, compte de service
+ * {@code agent.service-account}) consulte le cache avant d'appeler l'agent, puis y dépose la réponse
+ * obtenue pour l'utilisateur concerné. La langue de la conversation, si elle est fournie, remplace celle
+ * du profil dans l'empreinte. L'empreinte est relue du profil à chaque requête (projection sur user_id) :
+ * elle suit une modification du profil quelle que soit l'instance qui l'a reçue.
+ *
+ * Le cache est propre à chaque nœud : une invalidation est appliquée localement puis diffusée par
+ * l'outbox ({@link #INVALIDATED}), que {@link AnswerCacheInvalidationFeed} rejoue sur les autres nœuds.
+ */
+@Service
+public class CoachAnswerCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoachAnswerCacheService.class);
+
+    public static final String INVALIDATED = "chat.answer-cache.invalidated";
+
+    // Agrégat unique des invalidations (le cache n'appartient à aucun utilisateur)
+    private static final UUID CACHE_AGGREGATE = new UUID(0L, 0L);
+
+    static final int MAX_QUESTION_LENGTH = 300;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final String UNKNOWN = "unknown";
+
+    // Bornes des tranches de revenu mensuel, en centimes
+    private static final long[] INCOME_BANDS = {150_000, 300_000, 500_000, 800_000};
+
+    private final ResponseCache cache;
+    private final UserProfileRepository profileRepository;
+    private final OutboxService outboxService;
+
+    // Constructeur manuel
+    public CoachAnswerCacheService(ResponseCache cache, UserProfileRepository profileRepository,
+                                   OutboxService outboxService) {
+        this.cache = cache;
+        this.profileRepository = profileRepository;
+        this.outboxService = outboxService;
+    }
+
+    /**
+     * Réponse en cache pour cette question, compte tenu du profil de l'utilisateur
+     */
+    @Transactional(readOnly = true)
+    public Optional<CachedAnswerResponse> lookup(UUID userId, String question, String language) {
+        String normalized = normalize(question);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        String fingerprint = fingerprint(userId, language);
+        ResponseCache.Entry entry = cache.get(key(fingerprint, normalized));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(CachedAnswerResponse.builder()
+                .answer(entry.answer())
+                .fingerprint(fingerprint)
+                .cachedAt(entry.cachedAt())
+                .build());
+    }
+
+    /**
+     * Enregistre la réponse de l'agent à la question de {@code userId} ; ignorée pour les questions trop longues pour être génériques
+     */
+    @Transactional(readOnly = true)
+    public boolean store(UUID userId, String question, String answer, String language) {
+        String normalized = normalize(question);
+        if (normalized == null) {
+            return false;
+        }
+        cache.put(key(fingerprint(userId, language), normalized), answer);
+        return true;
+    }
+
+    /**
+     * Invalidation (admin) : tout le cache, une langue et/ou une question donnée. Appliquée ici, puis
+     * sur les autres nœuds via l'outbox ; renvoie le nombre d'entrées retirées sur ce nœud.
+     */
+    @Transactional
+    public int invalidate(String language, String question) {
+        int removed = invalidateLocally(language, question);
+        outboxService.record("ANSWER_CACHE", CACHE_AGGREGATE, INVALIDATED, new Invalidation(language, question));
+        return removed;
+    }
+
+    /**
+     * Invalidation sur ce nœud seulement (rejeu d'une invalidation diffusée)
+     */
+    public int invalidateLocally(String language, String question) {
+        String languagePrefix = language == null ? null : bucket(language) + "|";
+        String normalized = question == null ? null : normalize(question);
+        if (question != null && normalized == null) {
+            return 0;
+        }
+        int removed = cache.invalidate(key -> {
+            int sep = key.indexOf(KEY_SEPARATOR);
+            return (languagePrefix == null || key.startsWith(languagePrefix))
+                    && (normalized == null || key.substring(sep + 1).equals(normalized));
+        });
+        log.info("Cache des réponses invalidé: {} entrées retirées (langue: {}, question: {})",
+                removed, language, normalized);
+        return removed;
+    }
+
+    public ResponseCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private String fingerprint(UUID userId, String language) {
+        boolean conversationLanguage = language != null && !language.isBlank();
+        return profileRepository.findTraitsByUserId(userId)
+                .map(t -> fingerprint(conversationLanguage ? language : t.getPreferredLanguage(),
+                        t.getRiskTolerance(), t.getMonthlyIncome()))
+                .orElseGet(() -> fingerprint(language, null, null));
+    }
+
+    static String fingerprint(String language, String riskTolerance, Money monthlyIncome) {
+        String incomeBand = UNKNOWN;
+        if (monthlyIncome != null) {
+            int band = 0;
+            while (band < INCOME_BANDS.length && monthlyIncome.getCents() >= INCOME_BANDS[band]) {
+                band++;
+            }
+            incomeBand = "i" + band;
+        }
+        return bucket(language) + "|" + bucket(riskTolerance) + "|" + incomeBand;
+    }
+
+    /**
+     * Minuscules, sans accents ni ponctuation, espaces réduits ; {@code null} si la question n'est pas cachable
+     */
+    static String normalize(String question) {
+        if (question == null || question.length() > MAX_QUESTION_LENGTH) {
+            return null;
+        }
+        String text = Normalizer.normalize(question, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    private static String bucket(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String fingerprint, String normalizedQuestion) {
+        return fingerprint + KEY_SEPARATOR + normalizedQuestion;
+    }
+
+    /**
+     * Invalidation diffusée aux autres nœuds (payload de l'événement {@link #INVALIDATED})
+     */
+    public record Invalidation(String language, String question) {
+    }
+}
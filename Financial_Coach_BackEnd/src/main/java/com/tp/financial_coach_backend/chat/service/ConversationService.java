@@ -0,0 +1,163 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.tp.financial_coach_backend.chat.dto.ChatMessageRequest;
+import com.tp.financial_coach_backend.chat.dto.ChatMessageResponse;
+import com.tp.financial_coach_backend.chat.dto.ConversationResponse;
+import com.tp.financial_coach_backend.chat.dto.MessagePageResponse;
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import com.tp.financial_coach_backend.chat.entity.Conversation;
+import com.tp.financial_coach_backend.chat.repository.ChatMessageRepository;
+import com.tp.financial_coach_backend.chat.repository.ConversationRepository;
+import com.tp.financial_coach_backend.chat.service.ConversationWriteBuffer.ThreadState;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.sync.entity.SyncTombstone;
+import com.tp.financial_coach_backend.sync.service.ChangeLog;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class ConversationService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final ConversationWriteBuffer writeBuffer;
+    private final ConversationRepository conversationRepository;
+    private final ChatMessageRepository messageRepository;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate writeTransaction;
+
+    // Constructeur manuel
+    public ConversationService(
+            ConversationWriteBuffer writeBuffer,
+            ConversationRepository conversationRepository,
+            ChatMessageRepository messageRepository,
+            ChangeLog changeLog,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.writeBuffer = writeBuffer;
+        this.conversationRepository = conversationRepository;
+        this.messageRepository = messageRepository;
+        this.changeLog = changeLog;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ajoute un message ; l'écriture en base est différée de quelques instants
+     */
+    public ChatMessageResponse appendMessage(UUID userId, String conversationId, ChatMessageRequest request) {
+        ChatMessage message = writeBuffer.append(userId, conversationId, request.getRole(), request.getContent());
+        return mapToResponse(message);
+    }
+
+    /**
+     * Page de messages précédant le curseur {@code before} (fin du fil si null), du plus ancien au plus récent
+     */
+    @Transactional(readOnly = true)
+    public Result<MessagePageResponse> getMessages(UUID userId, String conversationId, Long before, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<ChatMessage> page;
+        ThreadState state = writeBuffer.cached(userId, conversationId);
+        if (state != null) {
+            Optional<List<ChatMessage>> window = writeBuffer.readWindow(state, before, size);
+            page = window.isPresent() ? window.get() : readThrough(state, before, size);
+        } else {
+            Optional<Conversation> conversation = conversationRepository.findByUserIdAndExternalId(userId, conversationId);
+            if (conversation.isEmpty()) {
+                return Result.error(ErrorCode.CONVERSATION_NOT_FOUND);
+            }
+            page = readFromDatabase(conversation.get().getId(), before, size);
+        }
+
+        Long nextCursor = null;
+        if (page.size() == size) {
+            long oldest = page.get(page.size() - 1).getSeq();
+            nextCursor = oldest > 1 ? oldest : null;
+        }
+
+        List<ChatMessageResponse> messages = new ArrayList<>(page.size());
+        for (int i = page.size() - 1; i >= 0; i--) {
+            messages.add(mapToResponse(page.get(i)));
+        }
+        return Result.ok(MessagePageResponse.builder()
+                .conversationId(conversationId)
+                .messages(messages)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Conversations de l'utilisateur, les plus récemment actives d'abord
+     */
+    @Transactional(readOnly = true)
+    public List<ConversationResponse> listConversations(UUID userId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return conversationRepository.findByUserIdOrderByLastMessageAtDesc(userId, PageRequest.of(0, size)).stream()
+                .map(c -> ConversationResponse.builder()
+                        .conversationId(c.getExternalId())
+                        .title(c.getTitle())
+                        .messageCount(c.getMessageCount())
+                        .lastMessageAt(c.getLastMessageAt())
+                        .createdAt(c.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Efface une conversation et son historique. L'attente d'un lot en cours d'écriture se fait avant
+     * d'ouvrir la transaction, pour ne pas retenir de connexion pendant ce temps.
+     */
+    public Result<Void> deleteConversation(UUID userId, String conversationId) {
+        writeBuffer.discard(userId, conversationId);
+        return writeTransaction.execute(tx -> {
+            Optional<Conversation> conversation = conversationRepository.findByUserIdAndExternalId(userId, conversationId);
+            if (conversation.isEmpty()) {
+                return Result.<Void>error(ErrorCode.CONVERSATION_NOT_FOUND);
+            }
+            messageRepository.deleteByConversationId(conversation.get().getId());
+            conversationRepository.delete(conversation.get());
+            // Les clients hors ligne effacent la conversation à leur prochaine synchronisation
+            changeLog.recordDeletion(userId, SyncTombstone.CONVERSATION, conversationId);
+            return Result.<Void>ok(null);
+        });
+    }
+
+    /**
+     * Complète les messages encore en mémoire par une lecture en base des plus anciens
+     */
+    private List<ChatMessage> readThrough(ThreadState state, Long before, int size) {
+        List<ChatMessage> page = new ArrayList<>(writeBuffer.pendingBefore(state, before));
+        if (page.size() >= size) {
+            return page.subList(0, size);
+        }
+        Long dbBefore = page.isEmpty() ? before : page.get(page.size() - 1).getSeq();
+        page.addAll(readFromDatabase(state.getConversationId(), dbBefore, size - page.size()));
+        return page;
+    }
+
+    private List<ChatMessage> readFromDatabase(UUID conversationId, Long before, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        return before == null
+                ? messageRepository.findByConversationIdOrderBySeqDesc(conversationId, pageRequest)
+                : messageRepository.findByConversationIdAndSeqLessThanOrderBySeqDesc(conversationId, before, pageRequest);
+    }
+
+    private ChatMessageResponse mapToResponse(ChatMessage message) {
+        return ChatMessageResponse.builder()
+                .seq(message.getSeq())
+                .role(message.getRole().name())
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,454 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import com.tp.financial_coach_backend.chat.entity.Conversation;
+import com.tp.financial_coach_backend.chat.repository.ChatMessageRepository;
+import com.tp.financial_coach_backend.chat.repository.ConversationRepository;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.sync.service.ChangeLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tampon d'écriture différée des conversations actives.
+ *
+ * Un ajout de message attribue son numéro en mémoire et rend la main immédiatement ; les messages
+ * sont ensuite insérés par lots (une transaction par passe, insertions JDBC groupées).
+ * Chaque conversation active garde aussi ses derniers messages en mémoire pour servir la fin du fil
+ * sans requête. Les numéros sont attribués en mémoire : si une autre instance a écrit entre-temps dans la
+ * même conversation, l'écriture bute sur la contrainte (conversation_id, seq) ; les messages en attente sont
+ * alors renumérotés à la suite du dernier numéro en base et la fenêtre récente est relue.
+ *
+ * Une écriture en échec remet ses messages en file ; au-delà de {@code chat.buffer.max-pending} messages
+ * en attente pour une conversation, les nouveaux ajouts sont refusés jusqu'à ce que la base rattrape.
+ */
+@Component
+public class ConversationWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationWriteBuffer.class);
+
+    private final Map<String, ThreadState> threads = new ConcurrentHashMap<>();
+
+    private final ConversationRepository conversationRepository;
+    private final ChatMessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${chat.buffer.recent-window:50}")
+    private int recentWindow;
+
+    @Value("${chat.buffer.idle-eviction-ms:600000}")
+    private long idleEvictionMillis;
+
+    @Value("${chat.buffer.max-pending:1000}")
+    private int maxPending;
+
+    // Constructeur manuel
+    public ConversationWriteBuffer(
+            ConversationRepository conversationRepository,
+            ChatMessageRepository messageRepository,
+            UserRepository userRepository,
+            ChangeLog changeLog,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.conversationRepository = conversationRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ajoute un message en fin de conversation (créée si besoin) sans attendre l'écriture en base.
+     * Lève CONVERSATION_BACKLOG_FULL si trop de messages de la conversation attendent encore leur écriture.
+     */
+    public ChatMessage append(UUID userId, String externalId, ChatMessage.Role role, String content) {
+        String key = key(userId, externalId);
+        while (true) {
+            ThreadState state = threads.get(key);
+            if (state == null) {
+                // Chargement hors de computeIfAbsent : la transaction ne bloque pas les autres clés de la map.
+                // En cas de course, l'état perdant (encore vide) est simplement abandonné.
+                ThreadState opened = open(key, userId, externalId, content);
+                state = threads.putIfAbsent(key, opened);
+                if (state == null) {
+                    state = opened;
+                }
+            }
+            synchronized (state) {
+                if (state.evicted) {
+                    continue;
+                }
+                if (state.unflushed.size() + state.flushing.size() >= maxPending) {
+                    throw ErrorCode.CONVERSATION_BACKLOG_FULL.exception();
+                }
+                ChatMessage message = ChatMessage.builder()
+                        .conversationId(state.conversationId)
+                        .seq(++state.lastSeq)
+                        .role(role)
+                        .content(content)
+                        .createdAt(LocalDateTime.now())
+                        .build();
+                state.unflushed.add(message);
+                state.recent.addLast(message);
+                if (state.recent.size() > recentWindow) {
+                    state.recent.removeFirst();
+                }
+                state.lastAccess = System.currentTimeMillis();
+                return message;
+            }
+        }
+    }
+
+    /**
+     * État en mémoire d'une conversation active, ou {@code null} si elle n'est pas chargée
+     */
+    public ThreadState cached(UUID userId, String externalId) {
+        return threads.get(key(userId, externalId));
+    }
+
+    /**
+     * Messages de seq &lt; {@code before} (les plus récents d'abord) si la fenêtre en mémoire suffit
+     */
+    public Optional<List<ChatMessage>> readWindow(ThreadState state, Long before, int limit) {
+        synchronized (state) {
+            state.lastAccess = System.currentTimeMillis();
+            long upper = before == null ? state.lastSeq : Math.min(before - 1, state.lastSeq);
+            if (upper <= 0) {
+                return Optional.of(List.of());
+            }
+            if (state.recent.isEmpty()) {
+                return Optional.empty();
+            }
+            long first = state.recent.peekFirst().getSeq();
+            if (upper < first || (upper - first + 1 < limit && first != 1)) {
+                return Optional.empty();
+            }
+            List<ChatMessage> page = new ArrayList<>(Math.min(limit, state.recent.size()));
+            Iterator<ChatMessage> it = state.recent.descendingIterator();
+            while (it.hasNext() && page.size() < limit) {
+                ChatMessage message = it.next();
+                if (message.getSeq() <= upper) {
+                    page.add(message);
+                }
+            }
+            return Optional.of(page);
+        }
+    }
+
+    /**
+     * Messages pas encore validés en base, de seq &lt; {@code before}, les plus récents d'abord
+     */
+    public List<ChatMessage> pendingBefore(ThreadState state, Long before) {
+        synchronized (state) {
+            List<ChatMessage> pending = new ArrayList<>(state.flushing.size() + state.unflushed.size());
+            pending.addAll(state.flushing);
+            pending.addAll(state.unflushed);
+            if (before != null) {
+                pending.removeIf(m -> m.getSeq() >= before);
+            }
+            Collections.reverse(pending);
+            return pending;
+        }
+    }
+
+    /**
+     * Oublie une conversation (suppression) ; ses messages non écrits sont abandonnés. Un lot en cours
+     * d'écriture est attendu, pour que la suppression qui suit efface aussi ses messages.
+     */
+    public void discard(UUID userId, String externalId) {
+        ThreadState state = threads.remove(key(userId, externalId));
+        if (state != null) {
+            synchronized (state) {
+                state.evicted = true;
+                state.unflushed.clear();
+                while (!state.flushing.isEmpty()) {
+                    try {
+                        state.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Écrit les messages en attente de toutes les conversations, puis libère les conversations inactives.
+     * Si le lot échoue, chaque conversation est réessayée dans sa propre transaction : une conversation en
+     * erreur ne bloque pas les autres.
+     */
+    @Scheduled(fixedDelayString = "${chat.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        List<ThreadState> flushed = new ArrayList<>();
+        for (ThreadState state : threads.values()) {
+            synchronized (state) {
+                if (!state.unflushed.isEmpty() && state.flushing.isEmpty()) {
+                    state.flushing = state.unflushed;
+                    state.unflushed = new ArrayList<>();
+                    flushed.add(state);
+                }
+            }
+        }
+
+        if (!flushed.isEmpty()) {
+            try {
+                write(flushed);
+                flushed.forEach(this::written);
+            } catch (RuntimeException e) {
+                if (flushed.size() == 1) {
+                    failed(flushed.get(0), e);
+                } else {
+                    log.warn("Échec de l'écriture groupée de {} conversations, nouvel essai conversation par conversation",
+                            flushed.size(), e);
+                    for (ThreadState state : flushed) {
+                        resetIds(state);
+                        try {
+                            write(List.of(state));
+                            written(state);
+                        } catch (RuntimeException single) {
+                            failed(state, single);
+                        }
+                    }
+                }
+            }
+        }
+
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Insère les messages en cours d'écriture des conversations et met à jour leurs compteurs, en une transaction
+     */
+    private void write(List<ThreadState> states) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            assignChangeSeqs(states);
+            List<ChatMessage> batch = new ArrayList<>();
+            states.forEach(state -> batch.addAll(state.flushing));
+            messageRepository.saveAll(batch);
+            for (ThreadState state : states) {
+                ChatMessage last = state.flushing.get(state.flushing.size() - 1);
+                conversationRepository.recordAppended(state.conversationId, last.getSeq(),
+                        state.flushing.size(), last.getCreatedAt());
+            }
+            log.debug("{} messages de conversation écrits ({} conversations)", batch.size(), states.size());
+        });
+    }
+
+    private void written(ThreadState state) {
+        synchronized (state) {
+            state.flushing = new ArrayList<>();
+            state.notifyAll();
+        }
+    }
+
+    /**
+     * Écriture en échec : les messages repassent en tête de file, sauf si la conversation a été supprimée
+     * entre-temps (ils sont alors abandonnés)
+     */
+    private void failed(ThreadState state, RuntimeException cause) {
+        boolean deleted;
+        try {
+            deleted = !conversationRepository.existsById(state.conversationId);
+        } catch (DataAccessException e) {
+            deleted = false;
+        }
+        Tail tail = null;
+        if (!deleted && cause instanceof DataIntegrityViolationException) {
+            try {
+                tail = tail(state.conversationId);
+            } catch (DataAccessException e) {
+                log.warn("Relecture de la conversation {} impossible après un conflit de numéros",
+                        state.conversationId, e);
+            }
+        }
+        synchronized (state) {
+            if (deleted || state.evicted) {
+                log.warn("Conversation {} supprimée pendant l'écriture : {} messages abandonnés",
+                        state.conversationId, state.flushing.size() + state.unflushed.size());
+                state.evicted = true;
+                threads.remove(state.key, state);
+                state.unflushed.clear();
+            } else if (tail != null) {
+                log.warn("Conversation {} écrite par une autre instance : {} messages renumérotés après le seq {}",
+                        state.conversationId, state.flushing.size() + state.unflushed.size(), tail.lastSeq());
+                resetIds(state);
+                state.flushing.addAll(state.unflushed);
+                state.unflushed = state.flushing;
+                renumber(state, tail);
+            } else {
+                log.error("Échec de l'écriture de {} messages de la conversation {}, nouvel essai à la prochaine passe",
+                        state.flushing.size(), state.conversationId, cause);
+                resetIds(state);
+                state.flushing.addAll(state.unflushed);
+                state.unflushed = state.flushing;
+            }
+            state.flushing = new ArrayList<>();
+            state.notifyAll();
+        }
+    }
+
+    /**
+     * Numérote les messages en attente à la suite de la base et reconstruit la fenêtre récente
+     * (messages en base, dont ceux de l'autre instance, puis messages en attente)
+     */
+    private void renumber(ThreadState state, Tail tail) {
+        long seq = tail.lastSeq();
+        for (ChatMessage message : state.unflushed) {
+            message.setSeq(++seq);
+        }
+        state.lastSeq = seq;
+        state.recent.clear();
+        for (int i = tail.messages().size() - 1; i >= 0; i--) {
+            state.recent.addLast(tail.messages().get(i));
+        }
+        state.recent.addAll(state.unflushed);
+        while (state.recent.size() > recentWindow) {
+            state.recent.removeFirst();
+        }
+    }
+
+    /**
+     * Dernier numéro en base et fenêtre de fin de fil (les plus récents d'abord)
+     */
+    private Tail tail(UUID conversationId) {
+        return transactionTemplate.execute(tx -> new Tail(
+                messageRepository.findMaxSeq(conversationId),
+                messageRepository.findByConversationIdOrderBySeqDesc(conversationId, PageRequest.of(0, recentWindow))));
+    }
+
+    private record Tail(long lastSeq, List<ChatMessage> messages) {
+    }
+
+    // Identifiants et numéros de changement d'une transaction annulée : réattribués au prochain essai
+    private static void resetIds(ThreadState state) {
+        for (ChatMessage message : state.flushing) {
+            message.setId(null);
+            message.setChangeSeq(null);
+        }
+    }
+
+    /**
+     * Numéros de changement (synchronisation) des messages du lot, réservés par utilisateur dans l'ordre
+     * des identifiants : deux instances verrouillent ainsi les compteurs dans le même ordre
+     */
+    private void assignChangeSeqs(List<ThreadState> flushed) {
+        Map<UUID, List<ChatMessage>> byUser = new TreeMap<>();
+        for (ThreadState state : flushed) {
+            byUser.computeIfAbsent(state.userId, id -> new ArrayList<>()).addAll(state.flushing);
+        }
+        byUser.forEach((userId, messages) -> {
+            long next = changeLog.allocate(userId, messages.size());
+            for (ChatMessage message : messages) {
+                message.setChangeSeq(next++);
+            }
+        });
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        threads.entrySet().removeIf(entry -> {
+            ThreadState state = entry.getValue();
+            synchronized (state) {
+                if (state.unflushed.isEmpty() && state.flushing.isEmpty() && now - state.lastAccess > idleEvictionMillis) {
+                    state.evicted = true;
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Charge (ou crée) la conversation et préchauffe sa fenêtre de messages récents
+     */
+    private ThreadState open(String key, UUID userId, String externalId, String firstMessage) {
+        try {
+            return load(key, userId, externalId, firstMessage);
+        } catch (DataIntegrityViolationException e) {
+            // Création concurrente de la même conversation (autre requête ou autre instance) : on relit la sienne
+            return load(key, userId, externalId, firstMessage);
+        }
+    }
+
+    private ThreadState load(String key, UUID userId, String externalId, String firstMessage) {
+        return transactionTemplate.execute(tx -> {
+            Conversation conversation = conversationRepository.findByUserIdAndExternalId(userId, externalId)
+                    .orElseGet(() -> conversationRepository.save(Conversation.builder()
+                            .user(userRepository.getReferenceById(userId))
+                            .externalId(externalId)
+                            .title(firstMessage.length() > 80 ? firstMessage.substring(0, 80) : firstMessage)
+                            .build()));
+
+            ThreadState state = new ThreadState(key, userId, conversation.getId(), conversation.getLastSeq());
+            if (conversation.getLastSeq() > 0) {
+                List<ChatMessage> tail = messageRepository.findByConversationIdOrderBySeqDesc(
+                        conversation.getId(), PageRequest.of(0, recentWindow));
+                for (int i = tail.size() - 1; i >= 0; i--) {
+                    state.recent.addLast(tail.get(i));
+                }
+            }
+            return state;
+        });
+    }
+
+    private static String key(UUID userId, String externalId) {
+        return userId + ":" + externalId;
+    }
+
+    /**
+     * État d'une conversation active ; tous les champs sont protégés par le moniteur de l'instance
+     */
+    public static final class ThreadState {
+
+        private final String key;
+        private final UUID userId;
+        private final UUID conversationId;
+        private long lastSeq;
+        private final ArrayDeque<ChatMessage> recent = new ArrayDeque<>();
+        private List<ChatMessage> unflushed = new ArrayList<>();
+        private List<ChatMessage> flushing = new ArrayList<>();
+        private long lastAccess = System.currentTimeMillis();
+        private boolean evicted;
+
+        ThreadState(String key, UUID userId, UUID conversationId, long lastSeq) {
+            this.key = key;
+            this.userId = userId;
+            this.conversationId = conversationId;
+            this.lastSeq = lastSeq;
+        }
+
+        public UUID getConversationId() {
+            return conversationId;
+        }
+    }
+}
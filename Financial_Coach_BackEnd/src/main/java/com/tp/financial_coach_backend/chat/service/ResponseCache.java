@@ -0,0 +1,84 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Cache borné des réponses du coach : éviction LRU au-delà de {@code chat.cache.max-entries}
+ * et expiration après {@code chat.cache.ttl-seconds}. Les entrées expirées sont retirées à la lecture
+ * ou chassées par l'ordre LRU.
+ */
+@Component
+public class ResponseCache {
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private long hits;
+    private long misses;
+
+    // Constructeur manuel
+    public ResponseCache(
+            @Value("${chat.cache.max-entries:10000}") int maxEntries,
+            @Value("${chat.cache.ttl-seconds:86400}") long ttlSeconds
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String key, String answer) {
+        entries.put(key, new Entry(answer, LocalDateTime.now(), System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Retire les entrées dont la clé satisfait le filtre ; renvoie le nombre d'entrées retirées
+     */
+    public synchronized int invalidate(Predicate<String> keyFilter) {
+        int removed = 0;
+        Iterator<String> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (keyFilter.test(it.next())) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits, misses);
+    }
+
+    public record Entry(String answer, LocalDateTime cachedAt, long expiresAt) {
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses) {
+    }
+}
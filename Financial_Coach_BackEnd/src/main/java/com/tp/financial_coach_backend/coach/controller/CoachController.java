@@ -0,0 +1,56 @@
+package com.tp.financial_coach_backend.coach.controller;
+
+import com.tp.financial_coach_backend.coach.dto.CoachClientPageResponse;
+import com.tp.financial_coach_backend.coach.service.CoachDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/coach")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CoachController {
+
+    private final CoachDashboardService dashboardService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/coach/clients?country=&riskTolerance=&onboarded=&cursor=&limit= - Clients du coach connecté,
+     * par taux d'épargne décroissant (400 si le curseur est invalide)
+     */
+    @GetMapping("/clients")
+    @PreAuthorize("hasRole('COACH')")
+    public ResponseEntity<CoachClientPageResponse> listClients(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String riskTolerance,
+            @RequestParam(required = false) Boolean onboarded,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return dashboardService.listClients(getCurrentUserId(), country, riskTolerance, onboarded, cursor, limit)
+                .toResponseEntity(HttpStatus.OK);
+    }
+
+    /**
+     * PUT /api/coach/{coachId}/clients/{userId} - Confier un client à un coach (admin)
+     */
+    @PutMapping("/{coachId}/clients/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> assignClient(@PathVariable UUID coachId, @PathVariable UUID userId) {
+        return dashboardService.assignClient(coachId, userId).toResponseEntity(HttpStatus.NO_CONTENT);
+    }
+}
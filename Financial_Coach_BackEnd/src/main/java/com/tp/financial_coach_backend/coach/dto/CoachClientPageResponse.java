@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.coach.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachClientPageResponse {
+
+    // Taux d'épargne décroissant, clients sans taux connu en dernier
+    private List<CoachClientSummary> clients;
+
+    // Curseur à passer en "cursor" pour la page suivante (null s'il n'y en a plus)
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.tp.financial_coach_backend.coach.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne du tableau de bord coach, lue directement par projection (sans charger le profil ni ses collections)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachClientSummary {
+
+    private UUID userId;
+    private String fullName;
+    private String country;
+    private String riskTolerance;
+    private Boolean hasCompletedOnboarding;
+
+    // Pourcentage du revenu épargné (null si le revenu n'est pas renseigné)
+    private Double savingsRate;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.tp.financial_coach_backend.coach.repository;
+
+import com.tp.financial_coach_backend.coach.dto.CoachClientSummary;
+import com.tp.financial_coach_backend.profile.entity.UserProfile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Requêtes du tableau de bord coach sur user_profiles (index idx_user_profiles_coach_savings).
+ * Pagination par curseur (savings_rate, user_id) : chaque page reprend après la dernière ligne lue, sans OFFSET.
+ */
+@Repository
+public interface CoachClientRepository extends org.springframework.data.repository.Repository<UserProfile, Long> {
+
+    String SUMMARY = "select new com.tp.financial_coach_backend.coach.dto.CoachClientSummary(" +
+            "p.user.id, p.fullName, p.country, p.riskTolerance, p.hasCompletedOnboarding, p.savingsRate, p.updatedAt) " +
+            "from UserProfile p where p.coachId = :coachId " +
+            "and (:country is null or p.country = :country) " +
+            "and (:riskTolerance is null or p.riskTolerance = :riskTolerance) " +
+            "and (:onboarded is null or p.hasCompletedOnboarding = :onboarded) ";
+
+    /**
+     * Clients dont le taux d'épargne est connu, après le curseur (taux décroissant puis userId)
+     */
+    @Query(SUMMARY + "and (p.savingsRate < :rate or (p.savingsRate = :rate and p.user.id > :userId)) " +
+            "order by p.savingsRate desc, p.user.id")
+    List<CoachClientSummary> findRankedAfter(@Param("coachId") UUID coachId,
+                                             @Param("country") String country,
+                                             @Param("riskTolerance") String riskTolerance,
+                                             @Param("onboarded") Boolean onboarded,
+                                             @Param("rate") double rate,
+                                             @Param("userId") UUID userId,
+                                             Limit limit);
+
+    /**
+     * Clients sans taux d'épargne (revenu non renseigné), après le curseur userId
+     */
+    @Query(SUMMARY + "and p.savingsRate is null and p.user.id > :userId order by p.user.id")
+    List<CoachClientSummary> findUnrankedAfter(@Param("coachId") UUID coachId,
+                                               @Param("country") String country,
+                                               @Param("riskTolerance") String riskTolerance,
+                                               @Param("onboarded") Boolean onboarded,
+                                               @Param("userId") UUID userId,
+                                               Limit limit);
+
+    @Modifying
+    @Query("update UserProfile p set p.coachId = :coachId where p.user.id = :userId")
+    int assignCoach(@Param("userId") UUID userId, @Param("coachId") UUID coachId);
+}
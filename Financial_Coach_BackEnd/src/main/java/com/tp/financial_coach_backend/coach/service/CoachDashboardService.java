@@ -0,0 +1,117 @@
+package com.tp.financial_coach_backend.coach.service;
+
+import com.tp.financial_coach_backend.auth.entity.Role;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.coach.dto.CoachClientPageResponse;
+import com.tp.financial_coach_backend.coach.dto.CoachClientSummary;
+import com.tp.financial_coach_backend.coach.repository.CoachClientRepository;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.query.QueryBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CoachDashboardService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    // Borne basse des userId : point de départ des clients sans taux d'épargne
+    private static final UUID MIN_USER_ID = new UUID(0L, 0L);
+
+    private final CoachClientRepository clientRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Page de clients du coach après {@code cursor} (début de liste si null) : d'abord les taux d'épargne
+     * connus, du plus élevé au plus bas, puis les clients sans taux. Au plus deux requêtes indexées.
+     */
+    @QueryBudget(2)
+    @Transactional(readOnly = true)
+    public Result<CoachClientPageResponse> listClients(UUID coachId, String country, String riskTolerance,
+                                                       Boolean onboarded, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Cursor after;
+        if (cursor == null) {
+            after = new Cursor(Double.POSITIVE_INFINITY, MIN_USER_ID);
+        } else {
+            after = Cursor.decode(cursor);
+            if (after == null) {
+                return Result.error(ErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        List<CoachClientSummary> clients = new ArrayList<>(size);
+        if (after.rate() != null) {
+            clients.addAll(clientRepository.findRankedAfter(coachId, country, riskTolerance, onboarded,
+                    after.rate(), after.userId(), Limit.of(size)));
+        }
+        if (clients.size() < size) {
+            UUID from = after.rate() == null ? after.userId() : MIN_USER_ID;
+            clients.addAll(clientRepository.findUnrankedAfter(coachId, country, riskTolerance, onboarded,
+                    from, Limit.of(size - clients.size())));
+        }
+
+        String nextCursor = null;
+        if (clients.size() == size) {
+            CoachClientSummary last = clients.get(size - 1);
+            nextCursor = new Cursor(last.getSavingsRate(), last.getUserId()).encode();
+        }
+        return Result.ok(CoachClientPageResponse.builder()
+                .clients(clients)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Confie le client {@code userId} au coach {@code coachId} (compte ROLE_COACH)
+     */
+    @Transactional
+    public Result<Void> assignClient(UUID coachId, UUID userId) {
+        if (!userRepository.hasRole(coachId, Role.RoleName.ROLE_COACH)) {
+            return Result.error(ErrorCode.COACH_NOT_FOUND);
+        }
+        if (clientRepository.assignCoach(userId, coachId) == 0) {
+            return Result.error(ErrorCode.PROFILE_NOT_FOUND);
+        }
+        return Result.ok(null);
+    }
+
+    /**
+     * Position dans la liste : dernier (taux, userId) lu, taux null une fois passé aux clients sans taux.
+     * Transmis au client en base64url opaque ("taux:userId" ou "-:userId").
+     */
+    record Cursor(Double rate, UUID userId) {
+
+        String encode() {
+            String raw = (rate == null ? "-" : Double.toString(rate)) + ":" + userId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.indexOf(':');
+                if (sep < 0) {
+                    return null;
+                }
+                String rate = raw.substring(0, sep);
+                UUID userId = UUID.fromString(raw.substring(sep + 1));
+                return new Cursor("-".equals(rate) ? null : Double.valueOf(rate), userId);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tp.financial_coach_backend.coaching.controller;
+
+import com.tp.financial_coach_backend.coaching.entity.CoachingContext;
+import com.tp.financial_coach_backend.coaching.service.CoachingContextService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/coaching")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CoachingContextController {
+
+    private final CoachingContextService contextService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/coaching/context - Contexte de coaching pré-calculé, avec ETag.
+     * Renvoie 304 sans corps si If-None-Match (ETag faible ou liste d'ETags comprise) désigne la version courante.
+     */
+    @GetMapping("/context")
+    public ResponseEntity<byte[]> getContext(WebRequest request) {
+        UUID userId = getCurrentUserId();
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = contextService.findEtag(userId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                // Statut 304 et en-tête ETag déjà positionnés par checkNotModified
+                return null;
+            }
+        }
+        CoachingContext context = contextService.getContext(userId);
+        return ResponseEntity.ok()
+                .eTag(context.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(context.getPayload());
+    }
+}
@@ -0,0 +1,52 @@
+package com.tp.financial_coach_backend.coaching.dto;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoachingContextResponse {
+
+    private String userId;
+    private Long version;
+
+    // Profil
+    private String fullName;
+    private Integer age;
+    private String occupation;
+    private String country;
+    private String preferredLanguage;
+    private String currency;
+    private String riskTolerance;
+
+    // Chiffres clés
+    private Money monthlyIncome;
+    private Money monthlySavings;
+    private Double savingsRate;
+    private Money totalBudget;
+    private List<CategoryShare> topCategories;
+    private List<String> financialGoals;
+    private Boolean hasCompletedOnboarding;
+
+    // Résumé prêt à insérer dans le prompt de l'agent
+    private String summary;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CategoryShare {
+        private String category;
+        private Money amount;
+        private Double shareOfIncome; // en %, null si revenu inconnu
+    }
+}
@@ -0,0 +1,43 @@
+package com.tp.financial_coach_backend.coaching.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Contexte de coaching pré-calculé d'un utilisateur, stocké déjà sérialisé en JSON.
+ */
+@Entity
+@Table(name = "coaching_contexts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoachingContext {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    // Empreinte du contenu, renvoyée comme ETag
+    @Column(name = "etag", nullable = false, length = 64)
+    private String etag;
+
+    // Incrémenté à chaque changement effectif du contenu
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // JSON UTF-8 prêt à être renvoyé tel quel
+    @Column(name = "payload", nullable = false, length = 65536)
+    private byte[] payload;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.tp.financial_coach_backend.coaching.repository;
+
+import com.tp.financial_coach_backend.coaching.entity.CoachingContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CoachingContextRepository extends JpaRepository<CoachingContext, UUID> {
+
+    @Query("select c.etag from CoachingContext c where c.userId = :userId")
+    Optional<String> findEtagByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,236 @@
+package com.tp.financial_coach_backend.coaching.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.coaching.dto.CoachingContextResponse;
+import com.tp.financial_coach_backend.coaching.dto.CoachingContextResponse.CategoryShare;
+import com.tp.financial_coach_backend.coaching.entity.CoachingContext;
+import com.tp.financial_coach_backend.coaching.repository.CoachingContextRepository;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Construit et stocke le contexte de coaching envoyé à l'agent conversationnel.
+ *
+ * Le contexte est reconstruit dans la transaction qui modifie le profil, et seulement si son contenu
+ * change : la lecture se réduit ensuite à une recherche par clé primaire d'un JSON déjà sérialisé,
+ * et une requête conditionnelle (If-None-Match) ne lit que l'ETag.
+ */
+@Service
+public class CoachingContextService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoachingContextService.class);
+
+    private static final int TOP_CATEGORIES = 5;
+
+    private final CoachingContextRepository contextRepository;
+    private final UserProfileService profileService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTransaction;
+
+    // Constructeur manuel
+    public CoachingContextService(
+            CoachingContextRepository contextRepository,
+            UserProfileService profileService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.contextRepository = contextRepository;
+        this.profileService = profileService;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Version courante du contexte, sans charger son contenu
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findEtag(UUID userId) {
+        return contextRepository.findEtagByUserId(userId);
+    }
+
+    /**
+     * Contexte sérialisé de l'utilisateur, construit à la demande s'il n'existe pas encore
+     */
+    public CoachingContext getContext(UUID userId) {
+        try {
+            return loadOrBuild(userId);
+        } catch (DataIntegrityViolationException e) {
+            // Première lecture concurrente (autre requête ou autre instance) : on relit le contexte qu'elle a inséré
+            return loadOrBuild(userId);
+        }
+    }
+
+    private CoachingContext loadOrBuild(UUID userId) {
+        return writeTransaction.execute(tx -> contextRepository.findById(userId)
+                .orElseGet(() -> rebuild(userId, profileService.getProfileByUserId(userId))));
+    }
+
+    /**
+     * Met à jour le contexte dans la même transaction que l'écriture du profil
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.type() == ProfileChangedEvent.ChangeType.DELETED) {
+            contextRepository.findById(event.userId()).ifPresent(contextRepository::delete);
+            return;
+        }
+        rebuild(event.userId(), event.profile());
+    }
+
+    private CoachingContext rebuild(UUID userId, UserProfileResponse profile) {
+        CoachingContextResponse context = buildContext(profile);
+        String etag = "\"" + fingerprint(serialize(context)) + "\"";
+
+        CoachingContext entity = contextRepository.findById(userId)
+                .orElseGet(() -> CoachingContext.builder().userId(userId).version(0L).build());
+        if (etag.equals(entity.getEtag())) {
+            return entity;
+        }
+
+        long version = entity.getVersion() + 1;
+        context.setVersion(version);
+        context.setGeneratedAt(LocalDateTime.now());
+        entity.setVersion(version);
+        entity.setEtag(etag);
+        entity.setPayload(serialize(context));
+        log.debug("Contexte de coaching reconstruit pour l'utilisateur {} (version {})", userId, version);
+        return contextRepository.save(entity);
+    }
+
+    private CoachingContextResponse buildContext(UserProfileResponse profile) {
+        Map<String, Money> categories = profile.getBudgetCategories() != null ? profile.getBudgetCategories() : Map.of();
+        Money income = profile.getMonthlyIncome();
+
+        List<CategoryShare> topCategories = categories.entrySet().stream()
+                .filter(e -> e.getValue() != null)
+                .sorted(Map.Entry.<String, Money>comparingByValue(Comparator.comparingLong(Money::getCents)).reversed())
+                .limit(TOP_CATEGORIES)
+                .map(e -> CategoryShare.builder()
+                        .category(e.getKey())
+                        .amount(e.getValue())
+                        .shareOfIncome(income != null ? round1(e.getValue().percentOf(income)) : null)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<Money> amounts = new ArrayList<>(categories.values());
+        CoachingContextResponse context = CoachingContextResponse.builder()
+                .userId(profile.getUserId())
+                .fullName(profile.getFullName())
+                .age(profile.getAge())
+                .occupation(profile.getOccupation())
+                .country(profile.getCountry())
+                .preferredLanguage(profile.getPreferredLanguage())
+                .currency(profile.getCurrency())
+                .riskTolerance(profile.getRiskTolerance())
+                .monthlyIncome(income)
+                .monthlySavings(profile.getMonthlySavings())
+                .savingsRate(round1(profile.getSavingsRate()))
+                .totalBudget(amounts.isEmpty() ? null : Money.sum(amounts, Money.currencyOf(profile.getCurrency())))
+                .topCategories(topCategories)
+                .financialGoals(profile.getFinancialGoals() != null ? new ArrayList<>(profile.getFinancialGoals()) : List.of())
+                .hasCompletedOnboarding(profile.getHasCompletedOnboarding())
+                .build();
+        context.setSummary(summarize(context));
+        return context;
+    }
+
+    /**
+     * Résumé compact en une ligne, destiné au prompt système de l'agent, dans la langue du profil
+     */
+    private String summarize(CoachingContextResponse context) {
+        SummaryLabels labels = SummaryLabels.forLanguage(context.getPreferredLanguage());
+        String currency = context.getCurrency() != null ? " " + context.getCurrency() : "";
+        StringBuilder sb = new StringBuilder(256);
+        if (context.getMonthlyIncome() != null) {
+            sb.append(labels.income()).append(": ").append(context.getMonthlyIncome().toPlainString()).append(currency).append(" | ");
+        }
+        if (context.getMonthlySavings() != null) {
+            sb.append(labels.savings()).append(": ").append(context.getMonthlySavings().toPlainString()).append(currency);
+            if (context.getSavingsRate() != null) {
+                sb.append(" (").append(context.getSavingsRate()).append("%)");
+            }
+            sb.append(" | ");
+        }
+        if (context.getRiskTolerance() != null) {
+            sb.append(labels.riskTolerance()).append(": ").append(context.getRiskTolerance()).append(" | ");
+        }
+        if (!context.getTopCategories().isEmpty()) {
+            sb.append(labels.topExpenses()).append(": ").append(context.getTopCategories().stream()
+                    .map(c -> c.getCategory() + " " + c.getAmount().toPlainString())
+                    .collect(Collectors.joining(", "))).append(" | ");
+        }
+        if (!context.getFinancialGoals().isEmpty()) {
+            sb.append(labels.goals()).append(": ").append(String.join(", ", context.getFinancialGoals())).append(" | ");
+        }
+        return sb.length() > 3 ? sb.substring(0, sb.length() - 3) : "";
+    }
+
+    private byte[] serialize(CoachingContextResponse context) {
+        try {
+            return objectMapper.writeValueAsBytes(context);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du contexte de coaching impossible", e);
+        }
+    }
+
+    private static String fingerprint(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Double round1(Double value) {
+        return value != null ? Math.round(value * 10) / 10.0 : null;
+    }
+
+    /**
+     * Libellés du résumé pour les langues de l'application (fr, en, ar) ; français par défaut, comme l'agent
+     */
+    record SummaryLabels(String income, String savings, String riskTolerance, String topExpenses, String goals) {
+
+        private static final SummaryLabels FRENCH = new SummaryLabels(
+                "Revenu mensuel", "Épargne mensuelle", "Tolérance au risque", "Principales dépenses", "Objectifs");
+
+        private static final Map<String, SummaryLabels> BY_LANGUAGE = Map.of(
+                "fr", FRENCH,
+                "en", new SummaryLabels(
+                        "Monthly income", "Monthly savings", "Risk tolerance", "Top expenses", "Goals"),
+                "ar", new SummaryLabels(
+                        "الدخل الشهري", "الادخار الشهري", "تحمل المخاطر", "أهم النفقات", "الأهداف"));
+
+        static SummaryLabels forLanguage(String language) {
+            if (language == null || language.length() < 2) {
+                return FRENCH;
+            }
+            return BY_LANGUAGE.getOrDefault(language.substring(0, 2).toLowerCase(Locale.ROOT), FRENCH);
+        }
+    }
+}
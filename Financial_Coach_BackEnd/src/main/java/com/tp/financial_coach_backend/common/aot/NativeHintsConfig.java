@@ -0,0 +1,71 @@
+package com.tp.financial_coach_backend.common.aot;
+
+import com.tp.financial_coach_backend.auth.event.UserRegisteredEvent;
+import com.tp.financial_coach_backend.auth.exception.ErrorResponse;
+import com.tp.financial_coach_backend.coaching.dto.CoachingContextResponse;
+import com.tp.financial_coach_backend.common.id.TimeOrderedUuidGenerator;
+import com.tp.financial_coach_backend.common.money.MoneyAttributeConverter;
+import com.tp.financial_coach_backend.insight.event.SpendingAnomalyEvent;
+import com.tp.financial_coach_backend.live.service.LiveUpdateRegistry;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Indications pour l'image native (profil Maven native) : ce que Spring AOT ne peut pas déduire seul.
+ *
+ * Objets sérialisés hors des contrôleurs (SSE, outbox, cache du contexte de coaching, erreurs des filtres),
+ * classes JJWT chargées par nom, générateur d'id et convertisseur Hibernate, ressources lues au démarrage.
+ * Sans effet sur la JVM classique.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({
+        UserProfileResponse.class,
+        LiveUpdateRegistry.ProfileChange.class,
+        SpendingAnomalyEvent.class,
+        UserRegisteredEvent.class,
+        CoachingContextResponse.class,
+        ErrorResponse.class
+})
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // JJWT instancie ses implémentations et son sérialiseur Jackson par nom de classe
+            for (String type : new String[] {
+                    "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                    "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                    "io.jsonwebtoken.impl.DefaultJwtParser",
+                    "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                    "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                    "io.jsonwebtoken.jackson.io.JacksonDeserializer"}) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Hibernate crée le générateur d'id et le convertisseur par réflexion
+            hints.reflection().registerType(TimeOrderedUuidGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(MoneyAttributeConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Cache de second niveau : fournisseur JCache chargé par nom, configuration HOCON
+            hints.reflection().registerType(
+                    TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("hibernate-cache.conf");
+            hints.resources().registerPattern("reference.conf");
+
+            // Migrations Flyway (seul db/migration/* est couvert par Spring Boot)
+            hints.resources().registerPattern("db/migration/common/*");
+            hints.resources().registerPattern("db/migration/postgresql/*");
+        }
+    }
+}
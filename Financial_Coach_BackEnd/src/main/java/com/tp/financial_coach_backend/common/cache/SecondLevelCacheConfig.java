@@ -0,0 +1,39 @@
+package com.tp.financial_coach_backend.common.cache;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Gestionnaire JCache du cache de second niveau, construit à partir de hibernate-cache.conf.
+ *
+ * Hibernate résout l'URI de configuration en URL de ressource ; Caffeine ne sait lire que les URI
+ * {@code file:} ou {@code classpath:}, si bien que depuis un jar les régions n'étaient pas trouvées.
+ * Le gestionnaire est donc créé ici avec une URI {@code classpath:} et transmis tel quel à Hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${spring.jpa.properties.hibernate.javax.cache.provider}")
+    private String provider;
+
+    @Value("${spring.jpa.properties.hibernate.javax.cache.uri}")
+    private String configResource;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(provider, getClass().getClassLoader())
+                .getCacheManager(URI.create("classpath:" + configResource), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
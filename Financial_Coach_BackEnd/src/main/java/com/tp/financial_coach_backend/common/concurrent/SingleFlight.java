@@ -0,0 +1,78 @@
+package com.tp.financial_coach_backend.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Regroupe les appels concurrents de même clé : le premier exécute le chargement, les suivants attendent
+ * et partagent son résultat (ou son exception). Rien n'est conservé une fois le chargement terminé.
+ *
+ * Métriques : single_flight.calls{name, result=leader|coalesced}.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("single_flight.calls")
+                .description("Appels regroupés par clé")
+                .tag("name", name)
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("single_flight.calls")
+                .description("Appels regroupés par clé")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        leaderCounter.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Les appels suivants pour cette clé n'attendront pas le chargement en cours (donnée modifiée entre-temps)
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
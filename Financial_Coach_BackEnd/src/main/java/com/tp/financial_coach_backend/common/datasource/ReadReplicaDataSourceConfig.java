@@ -0,0 +1,76 @@
+package com.tp.financial_coach_backend.common.datasource;
+
+import com.tp.financial_coach_backend.common.datasource.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Deux pools Hikari (primaire et réplica) derrière une DataSource de routage.
+ *
+ * Le réplica n'est créé que si {@code app.datasource.replica.jdbc-url} est renseignée au démarrage ;
+ * sinon la DataSource est directement le pool primaire. La décision est prise à l'exécution et non par
+ * une condition sur la configuration, que Spring AOT figerait au build de l'image (Dockerfile.aot).
+ * Chaque pool a son propre dimensionnement ({@code spring.datasource.hikari.*} et
+ * {@code app.datasource.replica.*}) et ses métriques hikaricp.* étiquetées par nom de pool.
+ */
+@Configuration
+public class ReadReplicaDataSourceConfig {
+
+    private static final String REPLICA_PREFIX = "app.datasource.replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool du réplica, ou aucun bean (null) sans URL de réplica
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(Environment environment) {
+        if (!StringUtils.hasText(environment.getProperty(REPLICA_PREFIX + ".jdbc-url"))) {
+            return null;
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind(REPLICA_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") @Nullable DataSource replicaDataSource,
+            @Value("${app.datasource.read-your-writes-ms:5000}") long readYourWritesMillis
+    ) {
+        if (replicaDataSource == null) {
+            return primaryDataSource;
+        }
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                new ReadYourWritesTracker(readYourWritesMillis));
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
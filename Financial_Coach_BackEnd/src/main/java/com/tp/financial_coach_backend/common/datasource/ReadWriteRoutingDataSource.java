@@ -0,0 +1,49 @@
+package com.tp.financial_coach_backend.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aiguille chaque connexion vers la primaire ou le réplica selon la transaction en cours :
+ * les transactions {@code readOnly} vont au réplica, sauf pour un utilisateur qui vient d'écrire.
+ *
+ * Doit être enveloppée dans un {@code LazyConnectionDataSourceProxy} : la connexion n'est alors
+ * obtenue qu'à la première requête SQL, une fois le caractère lecture seule de la transaction connu.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                tracker.recordWrite(userId);
+            }
+            return Route.PRIMARY;
+        }
+        return userId != null && tracker.wroteRecently(userId) ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !(authentication.getPrincipal() instanceof String principal)) {
+            return null;
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tp.financial_coach_backend.common.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mémorise les utilisateurs ayant écrit récemment : pendant {@code windowMillis} leurs lectures
+ * restent sur la base primaire, pour qu'ils relisent leurs propres écritures malgré le retard du réplica.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(String userId) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowMillis);
+        }
+    }
+
+    public boolean wroteRecently(String userId) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= windowMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tp.financial_coach_backend.common.error;
+
+/**
+ * Exception métier sans pile d'appels ni exceptions supprimées, préallouée par {@link ErrorCode}.
+ * Réservée aux cas attendus (profil absent, identifiants invalides) ; les erreurs imprévues restent
+ * des exceptions ordinaires.
+ */
+public final class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    DomainException(ErrorCode code) {
+        super(code.message(), null, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tp.financial_coach_backend.common.error;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Erreurs métier attendues : statut HTTP, message fixe et exception préallouée
+ */
+public enum ErrorCode {
+
+    PROFILE_NOT_FOUND(HttpStatus.NOT_FOUND, "Profil non trouvé"),
+    PROFILE_ALREADY_EXISTS(HttpStatus.CONFLICT, "Un profil existe déjà pour cet utilisateur"),
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND, "Utilisateur non trouvé"),
+    EMAIL_ALREADY_USED(HttpStatus.CONFLICT, "Cet email est déjà utilisé"),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Email ou mot de passe incorrect"),
+    COACH_NOT_FOUND(HttpStatus.NOT_FOUND, "Coach non trouvé"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Curseur de pagination invalide"),
+    CONVERSATION_NOT_FOUND(HttpStatus.NOT_FOUND, "Conversation non trouvée"),
+    CONVERSATION_BACKLOG_FULL(HttpStatus.SERVICE_UNAVAILABLE, "Écriture de la conversation en retard, réessayez dans quelques instants");
+
+    private final HttpStatus status;
+    private final String message;
+    private final DomainException exception;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new DomainException(this);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Instance partagée, sans pile d'appels : la lever ne coûte qu'un saut
+     */
+    public DomainException exception() {
+        return exception;
+    }
+}
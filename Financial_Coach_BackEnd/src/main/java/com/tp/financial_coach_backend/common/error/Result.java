@@ -0,0 +1,57 @@
+package com.tp.financial_coach_backend.common.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+
+/**
+ * Résultat d'une opération métier : une valeur, ou un {@link ErrorCode} renvoyé sans lever d'exception
+ */
+public sealed interface Result<T> permits Result.Ok, Result.Err {
+
+    static <T> Result<T> ok(T value) {
+        return new Ok<>(value);
+    }
+
+    static <T> Result<T> error(ErrorCode code) {
+        return new Err<>(code);
+    }
+
+    default boolean isOk() {
+        return this instanceof Ok;
+    }
+
+    /**
+     * Valeur, ou l'exception préallouée du code d'erreur (appelants qui ne traitent pas l'échec)
+     */
+    default T orElseThrow() {
+        if (this instanceof Ok<T> ok) {
+            return ok.value();
+        }
+        throw ((Err<T>) this).code().exception();
+    }
+
+    default <U> Result<U> map(Function<? super T, ? extends U> mapper) {
+        if (this instanceof Ok<T> ok) {
+            return new Ok<>(mapper.apply(ok.value()));
+        }
+        return new Err<>(((Err<T>) this).code());
+    }
+
+    /**
+     * Réponse HTTP : {@code successStatus} avec la valeur, ou le statut du code d'erreur sans corps
+     */
+    default ResponseEntity<T> toResponseEntity(HttpStatus successStatus) {
+        if (this instanceof Ok<T> ok) {
+            return ResponseEntity.status(successStatus).body(ok.value());
+        }
+        return ResponseEntity.status(((Err<T>) this).code().status()).build();
+    }
+
+    record Ok<T>(T value) implements Result<T> {
+    }
+
+    record Err<T>(ErrorCode code) implements Result<T> {
+    }
+}
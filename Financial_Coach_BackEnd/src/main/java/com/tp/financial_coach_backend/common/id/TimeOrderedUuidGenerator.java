@@ -0,0 +1,36 @@
+package com.tp.financial_coach_backend.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Générateur Hibernate associé à {@link TimeOrderedUuid}
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    public TimeOrderedUuidGenerator(TimeOrderedUuid config, Member idMember, CustomIdGeneratorCreationContext context) {
+        Class<?> type = idMember instanceof Field field ? field.getType() : ((Method) idMember).getReturnType();
+        if (!UUID.class.equals(type)) {
+            throw new IllegalArgumentException("@TimeOrderedUuid s'applique à un identifiant de type UUID: " + idMember);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return UuidV7.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
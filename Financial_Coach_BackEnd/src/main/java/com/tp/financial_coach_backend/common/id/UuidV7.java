@@ -0,0 +1,48 @@
+package com.tp.financial_coach_backend.common.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562) : horodatage Unix en millisecondes sur 48 bits, puis aléatoire.
+ *
+ * Les 12 bits rand_a servent de compteur dans la milliseconde (méthode 1 de la RFC) : les identifiants
+ * produits par une même JVM sont strictement croissants, même si l'horloge recule. Les insertions
+ * tombent ainsi en fin d'index B-tree au lieu de pages aléatoires.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final UuidV7 SHARED = new UuidV7();
+
+    // (millisecondes << 12) | compteur du dernier identifiant émis
+    private final AtomicLong last = new AtomicLong();
+
+    UuidV7() {
+    }
+
+    public static UUID next() {
+        return SHARED.next(System.currentTimeMillis());
+    }
+
+    UUID next(long nowMillis) {
+        long candidate = nowMillis << 12;
+        long state = last.updateAndGet(previous -> Math.max(candidate, previous + 1));
+
+        long msb = ((state >>> 12) << 16) | 0x7000L | (state & 0xFFFL);
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Horodatage (ms depuis l'epoch) porté par un UUID v7
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID de version " + uuid.version() + ", version 7 attendue: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,229 @@
+package com.tp.financial_coach_backend.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.auth.exception.ErrorResponse;
+import com.tp.financial_coach_backend.common.idempotency.IdempotencyStore.Claim;
+import com.tp.financial_coach_backend.common.idempotency.IdempotencyStore.StoredResponse;
+import com.tp.financial_coach_backend.common.web.CachedBodyRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Clés d'idempotence (en-tête {@code Idempotency-Key}) sur POST /register et POST /api/profile.
+ *
+ * La première requête d'une clé est exécutée et sa réponse mémorisée ; un retry avec la même clé et le
+ * même corps reçoit cette réponse rejouée (en-tête {@code Idempotent-Replayed}) sans repasser par
+ * AuthService ni UserProfileService. Un doublon arrivé pendant l'exécution attend la première réponse.
+ * Les erreurs serveur (5xx) ne sont pas mémorisées ; un corps de plus de 16 Ko reçoit un 413, et un 409
+ * est renvoyé si le stockage est plein de clés en cours.
+ * Placé après la chaîne Spring Security (ordre -100) : les clés de /api/profile sont propres à
+ * l'utilisateur authentifié.
+ */
+@Component
+@Order(0)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final Set<String> PATHS = Set.of("/register", "/api/profile");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    // Constructeur manuel
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("idempotency.keys", store, IdempotencyStore::size)
+                .description("Clés d'idempotence mémorisées")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        String endpoint = "/register".equals(path) ? "register" : "profile";
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, endpoint, "invalid", HttpStatus.BAD_REQUEST,
+                    "En-tête " + HEADER + " invalide (1 à " + MAX_KEY_LENGTH + " caractères)");
+            return;
+        }
+
+        String scope = endpoint;
+        if ("profile".equals(endpoint)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof String userId)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            scope = endpoint + ":" + userId;
+        }
+        String storeKey = scope + ":" + key;
+
+        CachedBodyRequest wrapped = new CachedBodyRequest(request, MAX_BODY_BYTES);
+        if (wrapped.isTooLarge()) {
+            // Un corps tronqué donnerait la même empreinte à deux requêtes différentes
+            reject(response, endpoint, "too_large", HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Corps de requête trop volumineux (" + MAX_BODY_BYTES / 1024 + " Ko maximum)");
+            return;
+        }
+        byte[] fingerprint = fingerprint(path, wrapped.getBody());
+
+        while (true) {
+            Claim claim = store.claim(storeKey, fingerprint);
+            if (claim == null) {
+                reject(response, endpoint, "full", HttpStatus.CONFLICT,
+                        "Trop de requêtes avec clé d'idempotence en cours, veuillez réessayer");
+                return;
+            }
+            if (!claim.entry().matches(fingerprint)) {
+                reject(response, endpoint, "mismatch", HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Cette clé d'idempotence a déjà été utilisée pour une requête différente");
+                return;
+            }
+            if (claim.owner()) {
+                execute(wrapped, response, filterChain, storeKey, claim.entry());
+                record(endpoint, "executed");
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = claim.entry().response().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                reject(response, endpoint, "in_progress", HttpStatus.CONFLICT,
+                        "Une requête avec cette clé d'idempotence est encore en cours");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(response, endpoint, "in_progress", HttpStatus.CONFLICT,
+                        "Une requête avec cette clé d'idempotence est encore en cours");
+                return;
+            }
+            if (stored == null) {
+                // Première exécution en erreur serveur : clé libérée, cette requête prend le relais
+                continue;
+            }
+            log.debug("Réponse rejouée pour la clé d'idempotence {} ({})", key, endpoint);
+            replay(response, stored);
+            record(endpoint, "replayed");
+            return;
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, captured);
+            if (captured.getStatus() < 500) {
+                store.complete(entry, new StoredResponse(captured.getStatus(), captured.getContentType(),
+                        captured.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(storeKey, entry);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String outcome, HttpStatus status, String message)
+            throws IOException {
+        log.warn("Clé d'idempotence refusée sur {} ({})", endpoint, outcome);
+        record(endpoint, outcome);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private void record(String endpoint, String outcome) {
+        meterRegistry.counter("idempotency.requests", "endpoint", endpoint, "outcome", outcome).increment();
+    }
+
+    // Empreinte chemin + corps : une clé réutilisée avec un autre contenu est refusée
+    private static byte[] fingerprint(String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(body);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    // Chemin sans le context-path (/api/auth)
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,124 @@
+package com.tp.financial_coach_backend.common.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Réponses mémorisées par clé d'idempotence, bornées à {@code app.idempotency.max-entries} (éviction LRU)
+ * et expirées après {@code app.idempotency.ttl-seconds}.
+ *
+ * Une clé est réservée dès le début de la première requête : les doublons concurrents attendent sa réponse
+ * au lieu de réexécuter le traitement. L'éviction ne retire que des clés terminées : une clé en cours
+ * évincée laisserait un retry concurrent réexécuter le traitement. Si toutes les clés sont en cours,
+ * la nouvelle réservation est refusée. Le stockage est propre à ce nœud ; les retries d'un client
+ * doivent donc revenir sur la même instance (affinité) pour être dédoublonnés.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Constructeur manuel
+    public IdempotencyStore(
+            @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Réserve la clé si elle est libre (ou expirée) ; sinon renvoie l'entrée existante, terminée ou en cours.
+     * Renvoie null si le stockage est plein de clés en cours.
+     */
+    public synchronized Claim claim(String key, byte[] fingerprint) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry != null) {
+            return new Claim(entry, false);
+        }
+        if (entries.size() >= maxEntries && !evictLeastRecentlyCompleted()) {
+            return null;
+        }
+        Entry created = new Entry(fingerprint, new CompletableFuture<>(), System.currentTimeMillis() + ttlMillis);
+        entries.put(key, created);
+        return new Claim(created, true);
+    }
+
+    /**
+     * Mémorise la réponse et la transmet aux requêtes en attente
+     */
+    public void complete(Entry entry, StoredResponse response) {
+        entry.response.complete(response);
+    }
+
+    /**
+     * Libère la clé sans réponse (erreur serveur) : le prochain essai réexécutera le traitement
+     */
+    public void release(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.response.complete(null);
+    }
+
+    // Ordre d'accès : la première clé terminée rencontrée est la moins récemment utilisée
+    private boolean evictLeastRecentlyCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public record Claim(Entry entry, boolean owner) {
+    }
+
+    /**
+     * Réservation d'une clé : empreinte de la requête d'origine et réponse (null si la clé a été libérée)
+     */
+    public static final class Entry {
+
+        private final byte[] fingerprint;
+        private final CompletableFuture<StoredResponse> response;
+        private final long expiresAt;
+
+        Entry(byte[] fingerprint, CompletableFuture<StoredResponse> response, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean matches(byte[] otherFingerprint) {
+            return Arrays.equals(fingerprint, otherFingerprint);
+        }
+
+        public CompletableFuture<StoredResponse> response() {
+            return response;
+        }
+    }
+
+    /**
+     * Réponse rejouée à l'identique : statut, type de contenu et corps
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
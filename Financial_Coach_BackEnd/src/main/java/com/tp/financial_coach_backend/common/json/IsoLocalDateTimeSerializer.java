@@ -0,0 +1,67 @@
+package com.tp.financial_coach_backend.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Écrit un {@link LocalDateTime} au format ISO (2024-03-01T09:30:15.123456) directement dans un tampon
+ * de caractères réutilisé par thread, sans passer par DateTimeFormatter. Même sortie que le sérialiseur
+ * de jackson-datatype-jsr310 ; ce dernier reste utilisé en mode timestamp et hors des années 0 à 9999.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    public IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, gen, provider);
+            return;
+        }
+
+        char[] buf = BUFFER.get();
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, value.getMonthValue(), 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, value.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        writeDigits(buf, 11, value.getHour(), 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, value.getMinute(), 2);
+        buf[16] = ':';
+        writeDigits(buf, 17, value.getSecond(), 2);
+        int length = 19;
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            // Fraction sans zéros de fin, comme ISO_LOCAL_TIME
+            buf[19] = '.';
+            writeDigits(buf, 20, nano, 9);
+            length = 29;
+            while (buf[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buf, 0, length);
+    }
+
+    private static void writeDigits(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
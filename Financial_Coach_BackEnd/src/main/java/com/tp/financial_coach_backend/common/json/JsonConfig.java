@@ -0,0 +1,25 @@
+package com.tp.financial_coach_backend.common.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sérialiseurs ajoutés à l'ObjectMapper de Spring Boot (tout bean {@link Module} est enregistré,
+ * après le module JavaTime qu'il remplace donc pour LocalDateTime).
+ *
+ * Les deux réponses les plus fréquentes (AuthResponse, UserProfileResponse) ont en plus un
+ * sérialiseur écrit à la main, annoté sur la classe.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module isoDateTimeModule() {
+        return new SimpleModule("IsoDateTimeModule")
+                .addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer());
+    }
+}
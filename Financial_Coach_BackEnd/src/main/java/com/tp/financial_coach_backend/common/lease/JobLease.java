@@ -0,0 +1,29 @@
+package com.tp.financial_coach_backend.common.lease;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bail d'une tâche planifiée : l'instance qui le prend l'exécute, les autres passent leur tour
+ * jusqu'à {@code lockedUntil}. Une ligne par tâche, créée par migration.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
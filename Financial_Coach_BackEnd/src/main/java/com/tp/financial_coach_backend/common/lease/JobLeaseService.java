@@ -0,0 +1,44 @@
+package com.tp.financial_coach_backend.common.lease;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Exécution d'une tâche planifiée par une seule instance.
+ *
+ * Le bail est pris dans une courte transaction qui verrouille sa ligne (comme le curseur d'OutboxRelay) :
+ * les instances déclenchées en même temps s'y succèdent, et seule la première le trouve expiré.
+ * Il n'est pas rendu à la fin de la tâche : une instance en retard sur la même échéance ne la relance pas.
+ */
+@Service
+public class JobLeaseService {
+
+    private final JobLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Constructeur manuel
+    public JobLeaseService(JobLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Prend le bail pour la durée donnée s'il est expiré ; false si une autre instance le détient
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            JobLease lease = leaseRepository.lockByName(name)
+                    .orElseThrow(() -> new IllegalStateException("Bail de tâche absent : " + name));
+            LocalDateTime now = LocalDateTime.now();
+            if (lease.getLockedUntil().isAfter(now)) {
+                return false;
+            }
+            lease.setLockedUntil(now.plus(duration));
+            return true;
+        }));
+    }
+}
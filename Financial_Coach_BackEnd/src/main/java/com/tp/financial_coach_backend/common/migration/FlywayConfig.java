@@ -0,0 +1,90 @@
+package com.tp.financial_coach_backend.common.migration;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Migration au démarrage avec marquage vérifié des bases historiques.
+ *
+ * Une base sans historique Flyway mais déjà peuplée (issue de ddl-auto=update) n'est marquée en V1 que
+ * si son schéma est bien celui de V1 : les migrations V1_x s'appliquent ensuite, conversion des montants
+ * en centimes comprise. Toute autre base non vide sans historique fait échouer le démarrage.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    // Tables du schéma de référence V1
+    static final List<String> BASELINE_TABLES = List.of(
+            "users", "roles", "user_roles", "refresh_tokens",
+            "user_profiles", "user_financial_goals", "user_budget_categories");
+
+    // Colonne supprimée par V1_2 : sa présence distingue le schéma de référence du modèle actuel
+    private static final String BASELINE_COLUMN = "monthly_income";
+
+    @Bean
+    public FlywayMigrationStrategy verifiedBaselineMigrationStrategy() {
+        return flyway -> {
+            if (needsBaseline(flyway)) {
+                log.info("Base existante sans historique Flyway, schéma conforme à V1 : marquage en V1");
+                flyway.baseline();
+            }
+            flyway.migrate();
+        };
+    }
+
+    /**
+     * Vrai pour une base sans historique conforme au schéma V1 ; faux pour une base vide ou déjà suivie
+     */
+    static boolean needsBaseline(Flyway flyway) {
+        String historyTable = flyway.getConfiguration().getTable().toLowerCase(Locale.ROOT);
+        try (Connection connection = flyway.getConfiguration().getDataSource().getConnection()) {
+            Set<String> tables = tables(connection);
+            if (tables.contains(historyTable) || tables.isEmpty()) {
+                return false;
+            }
+            Set<String> expected = new HashSet<>(BASELINE_TABLES);
+            if (tables.equals(expected) && hasColumn(connection, "user_profiles", BASELINE_COLUMN)) {
+                return true;
+            }
+            throw new IllegalStateException("Base existante sans historique Flyway dont le schéma ne correspond pas "
+                    + "au schéma de référence V1 (tables attendues " + expected + ", trouvées " + tables
+                    + ") : la migrer ou la marquer manuellement avant le démarrage");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Lecture du schéma impossible avant migration", e);
+        }
+    }
+
+    private static Set<String> tables(Connection connection) throws SQLException {
+        Set<String> tables = new HashSet<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%",
+                new String[]{"TABLE"})) {
+            while (rs.next()) {
+                tables.add(rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return tables;
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(),
+                table, column)) {
+            return rs.next();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.tp.financial_coach_backend.common.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Montant monétaire en virgule fixe : un nombre entier de centimes (1/100 d'unité) et une devise.
+ *
+ * Toutes les opérations se font en arithmétique entière exacte ({@code long}), sans passer par
+ * {@link Double} ni {@link BigDecimal}. Les débordements lèvent une {@link ArithmeticException}.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+
+    /** Nombre de décimales stockées, identique pour toutes les devises */
+    public static final int SCALE = 2;
+
+    /** Devise utilisée quand aucune n'est précisée (même défaut que les profils) */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+
+    private static final long CENTS_PER_UNIT = 100L;
+
+    // Chiffres de la partie entière au-delà desquels un montant ne tient pas en centimes dans un long
+    private static final int MAX_INTEGER_DIGITS = 18;
+
+    private static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    private final long cents;
+    private final Currency currency;
+
+    private Money(long cents, Currency currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+
+    // Fabriques
+
+    public static Money ofCents(long cents) {
+        return ofCents(cents, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofCents(long cents, Currency currency) {
+        Objects.requireNonNull(currency, "currency");
+        if (cents == 0L && currency == DEFAULT_CURRENCY) {
+            return ZERO;
+        }
+        return new Money(cents, currency);
+    }
+
+    /**
+     * Montant arrondi au centime. L'ordre de grandeur est vérifié avant {@code setScale} : un exposant
+     * extrême ("1e999999999") produirait sinon une valeur d'un milliard de chiffres.
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int integerDigits = amount.precision() - amount.scale();
+        if (integerDigits > MAX_INTEGER_DIGITS) {
+            throw new ArithmeticException("Montant hors limites");
+        }
+        if (integerDigits < -SCALE) {
+            // Moins d'un millième : arrondi à zéro sans calculer la division
+            return zero(currency);
+        }
+        long cents = amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        return ofCents(cents, currency);
+    }
+
+    /**
+     * Devise d'un code ISO 4217 stocké (ex. colonne "currency" du profil) ; {@link #DEFAULT_CURRENCY}
+     * si le code est absent ou inconnu, comme pour les profils créés sans devise
+     */
+    public static Currency currencyOf(String code) {
+        if (code == null || code.isBlank()) {
+            return DEFAULT_CURRENCY;
+        }
+        try {
+            return Currency.getInstance(code.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_CURRENCY;
+        }
+    }
+
+    public static Money zero() {
+        return ZERO;
+    }
+
+    public static Money zero(Currency currency) {
+        return ofCents(0L, currency);
+    }
+
+    /**
+     * Analyse un montant décimal ("1234", "-12.5", "0.005") sans allocation intermédiaire.
+     * Les décimales au-delà de {@link #SCALE} sont arrondies au centime le plus proche (HALF_UP).
+     * Les notations exponentielles sont déléguées à {@link BigDecimal}, ordre de grandeur borné ({@link #of}).
+     */
+    public static Money parse(CharSequence text, Currency currency) {
+        int length = text.length();
+        if (length == 0) {
+            throw new NumberFormatException("Montant vide");
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+
+        long units = 0L;
+        long fraction = 0L;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                int digit = c - '0';
+                if (!seenDot) {
+                    units = Math.addExact(Math.multiplyExact(units, 10L), digit);
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10L + digit;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    roundUp = digit >= 5;
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else if (c == 'e' || c == 'E') {
+                return of(new BigDecimal(text.toString()), currency);
+            } else {
+                throw new NumberFormatException("Montant invalide: " + text);
+            }
+        }
+        if (!seenDigit) {
+            throw new NumberFormatException("Montant invalide: " + text);
+        }
+
+        for (int d = Math.min(fractionDigits, SCALE); d < SCALE; d++) {
+            fraction *= 10L;
+        }
+        long cents = Math.addExact(Math.multiplyExact(units, CENTS_PER_UNIT), fraction);
+        if (roundUp) {
+            cents = Math.incrementExact(cents);
+        }
+        return ofCents(negative ? -cents : cents, currency);
+    }
+
+    public static Money parse(CharSequence text) {
+        return parse(text, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Somme exacte d'une collection de montants (nuls ignorés), dans la devise donnée.
+     */
+    public static Money sum(Iterable<Money> amounts, Currency currency) {
+        long total = 0L;
+        for (Money amount : amounts) {
+            if (amount != null) {
+                amount.checkCurrency(currency);
+                total = Math.addExact(total, amount.cents);
+            }
+        }
+        return ofCents(total, currency);
+    }
+
+    // Arithmétique
+
+    public Money plus(Money other) {
+        checkCurrency(other.currency);
+        return ofCents(Math.addExact(cents, other.cents), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other.currency);
+        return ofCents(Math.subtractExact(cents, other.cents), currency);
+    }
+
+    public Money times(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor), currency);
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents), currency);
+    }
+
+    /**
+     * Rapport this / other, ou {@code null} si le diviseur n'est pas strictement positif
+     */
+    public Double ratioTo(Money other) {
+        checkCurrency(other.currency);
+        if (other.cents <= 0L) {
+            return null;
+        }
+        return (double) cents / (double) other.cents;
+    }
+
+    /**
+     * Pourcentage que représente ce montant dans {@code total} (ex. taux d'épargne)
+     */
+    public Double percentOf(Money total) {
+        Double ratio = ratioTo(total);
+        return ratio != null ? ratio * 100 : null;
+    }
+
+    public Money withCurrency(Currency other) {
+        return other.equals(currency) ? this : ofCents(cents, other);
+    }
+
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    public boolean isPositive() {
+        return cents > 0L;
+    }
+
+    public boolean isNegative() {
+        return cents < 0L;
+    }
+
+    // Accesseurs et conversions
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public double toDouble() {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    /**
+     * Représentation décimale sans exposant ni devise, ex. "-12.05"
+     */
+    public String toPlainString() {
+        if (cents == Long.MIN_VALUE) {
+            // Math.abs(Long.MIN_VALUE) est négatif : on passe par BigDecimal pour ce cas limite
+            return toBigDecimal().toPlainString();
+        }
+        long abs = Math.abs(cents);
+        long units = abs / CENTS_PER_UNIT;
+        int fraction = (int) (abs % CENTS_PER_UNIT);
+        StringBuilder sb = new StringBuilder(24);
+        if (cents < 0L) {
+            sb.append('-');
+        }
+        sb.append(units).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    private void checkCurrency(Currency other) {
+        if (!currency.equals(other)) {
+            throw new IllegalArgumentException("Devises incompatibles: " + currency + " / " + other);
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other.currency);
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money other)) return false;
+        return cents == other.cents && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(cents) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
@@ -0,0 +1,26 @@
+package com.tp.financial_coach_backend.common.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stocke un {@link Money} dans une colonne BIGINT, en centimes.
+ *
+ * La devise n'est pas dupliquée dans chaque colonne de montant : elle est portée par
+ * la colonne "currency" de l'entité propriétaire. Tous les montants étant stockés avec la
+ * même échelle ({@link Money#SCALE}), ils sont relus dans la devise par défaut, puis rattachés
+ * à la devise du propriétaire par ses accesseurs ({@link Money#withCurrency}, voir UserProfile).
+ */
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money attribute) {
+        return attribute != null ? attribute.getCents() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long dbData) {
+        return dbData != null ? Money.ofCents(dbData) : null;
+    }
+}
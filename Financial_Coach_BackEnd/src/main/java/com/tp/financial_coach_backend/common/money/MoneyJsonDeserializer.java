@@ -0,0 +1,38 @@
+package com.tp.financial_coach_backend.common.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Lit un {@link Money} depuis un nombre JSON (entier ou décimal) ou une chaîne numérique.
+ * Le texte du nombre est analysé directement, sans passer par un double intermédiaire.
+ * Le JSON ne porte pas la devise : le montant lu est provisoirement en devise par défaut et prend
+ * celle du profil une fois rattaché à celui-ci.
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        try {
+            if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                return Money.ofCents(Math.multiplyExact(p.getLongValue(), 100L));
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                    || token == JsonToken.VALUE_STRING) {
+                return Money.parse(p.getText().trim());
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), "Montant invalide");
+        }
+        return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+    }
+}
@@ -0,0 +1,24 @@
+package com.tp.financial_coach_backend.common.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Écrit un {@link Money} comme un nombre JSON décimal (ex. 1250.50).
+ * La devise n'est pas répétée : elle est portée par le champ "currency" du profil,
+ * ce qui garde le format compatible avec les clients existants.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+    public MoneyJsonSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(value.toPlainString());
+    }
+}
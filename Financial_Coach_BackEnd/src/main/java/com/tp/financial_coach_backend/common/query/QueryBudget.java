@@ -0,0 +1,19 @@
+package com.tp.financial_coach_backend.common.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal de requêtes SQL attendu pour un appel de la méthode (transaction, flush et écouteurs
+ * synchrones compris), mesuré sur des entrées typiques : quelques objectifs et catégories de budget.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,65 @@
+package com.tp.financial_coach_backend.common.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mesure les requêtes SQL des méthodes {@link QueryBudget} et signale les dépassements.
+ *
+ * Ordre 0 : exécuté autour de l'intercepteur transactionnel pour compter aussi le flush du commit.
+ * En production un dépassement est journalisé et compté (db.query_budget.exceeded) ; avec
+ * {@code app.query-budget.fail-on-exceed=true} (tests) il lève {@link QueryBudgetExceededException}.
+ */
+@Aspect
+@Component
+@Order(0)
+public class QueryBudgetAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.query-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    // Constructeur manuel
+    public QueryBudgetAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(budget)")
+    public Object measure(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        long before = QueryCountInspector.current();
+        Object result = joinPoint.proceed();
+        long used = QueryCountInspector.current() - before;
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        DistributionSummary.builder("db.queries")
+                .description("Requêtes SQL par appel de méthode budgétée")
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(used);
+
+        if (used > budget.value()) {
+            Counter.builder("db.query_budget.exceeded")
+                    .description("Appels ayant dépassé leur budget de requêtes")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Budget de requêtes dépassé pour {} : {} requêtes (budget {})", method, used, budget.value());
+            if (failOnExceed) {
+                throw new QueryBudgetExceededException(method, used, budget.value());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.tp.financial_coach_backend.common.query;
+
+/**
+ * Levée quand une méthode annotée {@link QueryBudget} dépasse son budget et que le mode strict est actif
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String method, long used, int budget) {
+        super("Budget de requêtes dépassé pour " + method + " : " + used + " requêtes (budget " + budget + ")");
+    }
+}
@@ -0,0 +1,26 @@
+package com.tp.financial_coach_backend.common.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant.
+ *
+ * Le compteur n'est jamais remis à zéro : les mesures se font par différence (voir {@link QueryBudgetAspect}).
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Nombre de requêtes émises jusqu'ici par le thread courant
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,80 @@
+package com.tp.financial_coach_backend.common.web;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requête dont le corps (borné) est lu une fois par un filtre puis rejoué pour le contrôleur.
+ * Un corps plus long que la limite n'est jamais tronqué : {@link #isTooLarge()} le signale et le filtre
+ * répond 413 sans transmettre la requête.
+ */
+public class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final boolean tooLarge;
+
+    public CachedBodyRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBytes) {
+            this.body = new byte[0];
+            this.tooLarge = true;
+        } else {
+            // Un octet de plus que la limite suffit à détecter un corps trop long (envoi par blocs)
+            byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+            this.tooLarge = read.length > maxBytes;
+            this.body = tooLarge ? new byte[0] : read;
+        }
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public boolean isTooLarge() {
+        return tooLarge;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+}
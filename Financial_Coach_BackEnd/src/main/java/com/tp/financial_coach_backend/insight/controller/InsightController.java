@@ -0,0 +1,38 @@
+package com.tp.financial_coach_backend.insight.controller;
+
+import com.tp.financial_coach_backend.insight.dto.PeerComparisonResponse;
+import com.tp.financial_coach_backend.insight.service.PeerComparisonService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/insights")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class InsightController {
+
+    private final PeerComparisonService peerComparisonService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/insights/peers - Position de l'utilisateur parmi les profils de même pays et tranche d'âge
+     */
+    @GetMapping("/peers")
+    public ResponseEntity<PeerComparisonResponse> comparePeers() {
+        return peerComparisonService.compare(getCurrentUserId()).toResponseEntity(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,35 @@
+package com.tp.financial_coach_backend.insight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeerComparisonResponse {
+
+    // Segment de comparaison
+    private String country;
+    private String ageBand;
+
+    // Position de l'utilisateur dans son segment
+    private MetricRank monthlySavings;
+    private MetricRank savingsRate;
+    private Map<String, MetricRank> budgetCategories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MetricRank {
+        private Double value;
+        private Double percentile; // 0 - 100
+        private Long sampleSize;
+        private String scope;      // "country_age" ou "country" si le segment est trop petit
+    }
+}
@@ -0,0 +1,41 @@
+package com.tp.financial_coach_backend.insight.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "peer_sketches", uniqueConstraints = @UniqueConstraint(
+        name = "uk_peer_sketches_segment_metric", columnNames = {"segment_key", "metric"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeerSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "segment_key", nullable = false, length = 150)
+    private String segmentKey;
+
+    @Column(name = "metric", nullable = false, length = 150)
+    private String metric;
+
+    // t-digest sérialisé (format compact de MergingDigest)
+    @Column(name = "data", nullable = false, length = 65536)
+    private byte[] data;
+
+    @Column(name = "sample_size", nullable = false)
+    private Long sampleSize;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.tp.financial_coach_backend.insight.event;
+
+import com.tp.financial_coach_backend.common.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Insight publié quand le montant d'une catégorie de budget s'écarte fortement de sa moyenne habituelle.
+ *
+ * @param previousAmount montant lors de la mise à jour précédente
+ * @param expectedAmount moyenne mobile exponentielle avant cette mise à jour
+ * @param zScore         écart à la moyenne, en écarts-types
+ */
+public record SpendingAnomalyEvent(
+        UUID userId,
+        String category,
+        Money previousAmount,
+        Money newAmount,
+        Money expectedAmount,
+        double zScore,
+        LocalDateTime detectedAt
+) {
+}
@@ -0,0 +1,26 @@
+package com.tp.financial_coach_backend.insight.repository;
+
+import com.tp.financial_coach_backend.insight.entity.PeerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PeerSketchRepository extends JpaRepository<PeerSketch, Long> {
+
+    Optional<PeerSketch> findBySegmentKeyAndMetric(String segmentKey, String metric);
+
+    // Date de la dernière sauvegarde, pour recharger les sketches reconstruits par une autre instance
+    @Query("select max(s.updatedAt) from PeerSketch s")
+    Optional<LocalDateTime> findLastUpdate();
+
+    // Sketches non réécrits par la dernière reconstruction (segments sans profil)
+    @Modifying
+    @Query("delete from PeerSketch s where s.updatedAt < :before")
+    int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,310 @@
+package com.tp.financial_coach_backend.insight.service;
+
+import com.tdunning.math.stats.MergingDigest;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.lease.JobLeaseService;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.insight.dto.PeerComparisonResponse;
+import com.tp.financial_coach_backend.insight.dto.PeerComparisonResponse.MetricRank;
+import com.tp.financial_coach_backend.insight.entity.PeerSketch;
+import com.tp.financial_coach_backend.insight.repository.PeerSketchRepository;
+import com.tp.financial_coach_backend.insight.service.PeerSketchRegistry.PeerRank;
+import com.tp.financial_coach_backend.insight.service.PeerSketchRegistry.SketchKey;
+import com.tp.financial_coach_backend.profile.dto.BudgetCategoryAmount;
+import com.tp.financial_coach_backend.profile.dto.PeerSample;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compare un utilisateur à ses pairs (même pays, même tranche d'âge).
+ *
+ * Les percentiles sont lus dans des sketches t-digest tenus en mémoire par {@link PeerSketchRegistry}.
+ * Un t-digest ne sait pas retirer une observation : alimenter les sketches à chaque écriture compterait
+ * plusieurs fois les profils modifiés. Ils sont donc uniquement reconstruits depuis user_profiles
+ * (une observation par profil), chaque nuit et au premier démarrage, puis sauvegardés dans peer_sketches.
+ * Une seule instance reconstruit (bail {@link #REBUILD_LEASE}) ; les autres rechargent peer_sketches
+ * lorsque sa date de sauvegarde change.
+ */
+@Service
+public class PeerComparisonService {
+
+    private static final Logger log = LoggerFactory.getLogger(PeerComparisonService.class);
+
+    static final String METRIC_SAVINGS = "monthlySavings";
+    static final String METRIC_SAVINGS_RATE = "savingsRate";
+    static final String METRIC_BUDGET_PREFIX = "budget:";
+
+    private static final String SCOPE_COUNTRY_AGE = "country_age";
+    private static final String SCOPE_COUNTRY = "country";
+    private static final String UNKNOWN = "unknown";
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    static final String REBUILD_LEASE = "peer-sketch-rebuild";
+
+    private final PeerSketchRegistry registry;
+    private final PeerSketchRepository sketchRepository;
+    private final UserProfileRepository profileRepository;
+    private final UserProfileService profileService;
+    private final JobLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${insight.peers.min-segment-size:30}")
+    private long minSegmentSize;
+
+    @Value("${insight.peers.rebuild-lease-minutes:60}")
+    private long rebuildLeaseMinutes;
+
+    // Date de sauvegarde des sketches tenus en mémoire (null tant qu'aucun n'a été chargé)
+    private volatile LocalDateTime loadedVersion;
+
+    // Constructeur manuel
+    public PeerComparisonService(
+            PeerSketchRegistry registry,
+            PeerSketchRepository sketchRepository,
+            UserProfileRepository profileRepository,
+            UserProfileService profileService,
+            JobLeaseService leaseService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.registry = registry;
+        this.sketchRepository = sketchRepository;
+        this.profileRepository = profileRepository;
+        this.profileService = profileService;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Position de l'utilisateur parmi ses pairs, ou PROFILE_NOT_FOUND s'il n'a pas encore de profil
+     */
+    public Result<PeerComparisonResponse> compare(UUID userId) {
+        return profileService.findProfile(userId).map(this::compare);
+    }
+
+    private PeerComparisonResponse compare(UserProfileResponse profile) {
+        String country = normalizeCountry(profile.getCountry());
+        String ageBand = ageBand(profile.getAge());
+
+        Map<String, MetricRank> categories = new LinkedHashMap<>();
+        if (profile.getBudgetCategories() != null) {
+            profile.getBudgetCategories().forEach((category, amount) ->
+                    categories.put(category, rank(country, ageBand, budgetMetric(category), toDouble(amount))));
+        }
+
+        return PeerComparisonResponse.builder()
+                .country(country)
+                .ageBand(ageBand)
+                .monthlySavings(rank(country, ageBand, METRIC_SAVINGS, toDouble(profile.getMonthlySavings())))
+                .savingsRate(rank(country, ageBand, METRIC_SAVINGS_RATE, profile.getSavingsRate()))
+                .budgetCategories(categories)
+                .build();
+    }
+
+    /**
+     * Recharge les sketches persistés au démarrage, ou les reconstruit s'il n'y en a aucun
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (sketchRepository.findLastUpdate().isPresent()) {
+            reloadIfChanged();
+        } else {
+            rebuildIfLeaseAcquired();
+        }
+    }
+
+    /**
+     * Reconstruction nocturne, par l'instance qui prend le bail ; les autres rechargent son résultat
+     */
+    @Scheduled(cron = "${insight.peers.rebuild-cron:0 30 3 * * *}")
+    public void rebuildIfLeaseAcquired() {
+        if (!leaseService.tryAcquire(REBUILD_LEASE, Duration.ofMinutes(rebuildLeaseMinutes))) {
+            log.debug("Sketches de comparaison reconstruits par une autre instance");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * Recharge peer_sketches si une reconstruction l'a réécrit depuis le dernier chargement
+     */
+    @Scheduled(fixedDelayString = "${insight.peers.reload-interval-ms:600000}",
+            initialDelayString = "${insight.peers.reload-interval-ms:600000}")
+    public void reloadIfChanged() {
+        LocalDateTime lastUpdate = sketchRepository.findLastUpdate().orElse(null);
+        if (lastUpdate == null || lastUpdate.equals(loadedVersion)) {
+            return;
+        }
+        List<PeerSketch> persisted = sketchRepository.findAll();
+        Map<SketchKey, MergingDigest> digests = new HashMap<>();
+        persisted.forEach(s -> digests.put(new SketchKey(s.getSegmentKey(), s.getMetric()),
+                MergingDigest.fromBytes(ByteBuffer.wrap(s.getData()))));
+        registry.replaceAll(digests);
+        loadedVersion = lastUpdate;
+        log.info("{} sketches de comparaison chargés", persisted.size());
+    }
+
+    /**
+     * Reconstruction complète depuis user_profiles : une observation par profil, dans son état actuel.
+     * Les profils sont lus par pages de projections (id > dernier id lu), catégories de budget comprises,
+     * sans charger les entités ni leurs collections.
+     */
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<SketchKey, MergingDigest> digests = new HashMap<>();
+        SketchSink sink = (key, value) -> digests
+                .computeIfAbsent(key, k -> new MergingDigest(PeerSketchRegistry.COMPRESSION))
+                .add(value);
+        PageRequest limit = PageRequest.ofSize(REBUILD_PAGE_SIZE);
+        long afterId = 0;
+        List<PeerSample> page;
+        do {
+            page = profileRepository.findPeerSamplesAfter(afterId, limit);
+            if (page.isEmpty()) {
+                break;
+            }
+            long lastId = page.get(page.size() - 1).getId();
+            Map<Long, Map<String, Money>> categories = new HashMap<>();
+            for (BudgetCategoryAmount row : profileRepository.findBudgetCategoriesBetween(afterId, lastId)) {
+                categories.computeIfAbsent(row.getProfileId(), id -> new HashMap<>())
+                        .put(row.getCategory(), row.getAmount());
+            }
+            for (PeerSample sample : page) {
+                recordAll(sample.getCountry(), sample.getAge(), sample.getMonthlySavings(),
+                        sample.getSavingsRate(), categories.get(sample.getId()), sink);
+            }
+            afterId = lastId;
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        registry.replaceAll(digests);
+        persist(startedAt);
+        loadedVersion = sketchRepository.findLastUpdate().orElse(null);
+        log.info("Sketches de comparaison reconstruits: {} sketches", digests.size());
+    }
+
+    /**
+     * Sauvegarde les sketches reconstruits et supprime ceux des segments disparus depuis la passe précédente
+     */
+    private void persist(LocalDateTime startedAt) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                registry.forEachSerialized((key, serialized) -> {
+                    PeerSketch entity = sketchRepository.findBySegmentKeyAndMetric(key.segment(), key.metric())
+                            .orElseGet(() -> PeerSketch.builder()
+                                    .segmentKey(key.segment())
+                                    .metric(key.metric())
+                                    .build());
+                    entity.setData(serialized.data());
+                    entity.setSampleSize(serialized.sampleSize());
+                    entity.setUpdatedAt(LocalDateTime.now());
+                    sketchRepository.save(entity);
+                });
+                sketchRepository.deleteUpdatedBefore(startedAt);
+            });
+        } catch (DataAccessException e) {
+            // Une autre reconstruction (appel direct de rebuild) a sauvegardé en même temps
+            log.warn("Sauvegarde des sketches de comparaison abandonnée: {}", e.getMessage());
+        }
+    }
+
+    private void recordAll(String rawCountry, Integer age, Money savings, Double savingsRate,
+                           Map<String, Money> budgetCategories, SketchSink sink) {
+        String country = normalizeCountry(rawCountry);
+        String[] segments = {segmentKey(country, ageBand(age)), segmentKey(country, "*")};
+
+        for (String segment : segments) {
+            if (savings != null) {
+                sink.accept(new SketchKey(segment, METRIC_SAVINGS), savings.toDouble());
+            }
+            if (savingsRate != null) {
+                sink.accept(new SketchKey(segment, METRIC_SAVINGS_RATE), savingsRate);
+            }
+            if (budgetCategories != null) {
+                budgetCategories.forEach((category, amount) -> {
+                    if (amount != null) {
+                        sink.accept(new SketchKey(segment, budgetMetric(category)), amount.toDouble());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Rang dans le segment pays + âge, ou dans le pays entier si l'échantillon est trop petit
+     */
+    private MetricRank rank(String country, String ageBand, String metric, Double value) {
+        if (value == null) {
+            return null;
+        }
+        PeerRank rank = registry.rank(segmentKey(country, ageBand), metric, value);
+        String scope = SCOPE_COUNTRY_AGE;
+        if (rank == null || rank.sampleSize() < minSegmentSize) {
+            PeerRank countryRank = registry.rank(segmentKey(country, "*"), metric, value);
+            if (countryRank != null && (rank == null || countryRank.sampleSize() > rank.sampleSize())) {
+                rank = countryRank;
+                scope = SCOPE_COUNTRY;
+            }
+        }
+        return MetricRank.builder()
+                .value(value)
+                .percentile(rank != null ? rank.percentile() : null)
+                .sampleSize(rank != null ? rank.sampleSize() : 0L)
+                .scope(scope)
+                .build();
+    }
+
+    static String ageBand(Integer age) {
+        if (age == null || age <= 0) return UNKNOWN;
+        if (age < 25) return "18-24";
+        if (age < 35) return "25-34";
+        if (age < 45) return "35-44";
+        if (age < 55) return "45-54";
+        if (age < 65) return "55-64";
+        return "65+";
+    }
+
+    static String normalizeCountry(String country) {
+        if (country == null || country.isBlank()) {
+            return UNKNOWN;
+        }
+        return country.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String segmentKey(String country, String ageBand) {
+        return country + "|" + ageBand;
+    }
+
+    private static String budgetMetric(String category) {
+        return METRIC_BUDGET_PREFIX + category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Double toDouble(Money amount) {
+        return amount != null ? amount.toDouble() : null;
+    }
+
+    @FunctionalInterface
+    private interface SketchSink {
+        void accept(SketchKey key, double value);
+    }
+}
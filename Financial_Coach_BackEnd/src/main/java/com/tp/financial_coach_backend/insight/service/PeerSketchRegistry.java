@@ -0,0 +1,88 @@
+package com.tp.financial_coach_backend.insight.service;
+
+import com.tdunning.math.stats.MergingDigest;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Sketches de quantiles (t-digest) conservés en mémoire, un par couple (segment, métrique).
+ *
+ * Chaque sketch est protégé par son propre verrou : une requête de percentile ne bloque
+ * que le sketch interrogé, pendant le temps d'un parcours d'une centaine de centroïdes.
+ */
+@Component
+public class PeerSketchRegistry {
+
+    /** Compromis précision / taille : ~100 centroïdes, quelques Ko sérialisés par sketch */
+    static final double COMPRESSION = 100;
+
+    private final AtomicReference<Map<SketchKey, Sketch>> sketches =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+
+    /**
+     * Rang centile de {@code value} dans le segment, ou {@code null} si le sketch est vide
+     */
+    public PeerRank rank(String segment, String metric, double value) {
+        Sketch sketch = sketches.get().get(new SketchKey(segment, metric));
+        return sketch != null ? sketch.rank(value) : null;
+    }
+
+    /**
+     * Remplace atomiquement l'ensemble des sketches (reconstruction complète, chargement au démarrage)
+     */
+    public void replaceAll(Map<SketchKey, MergingDigest> digests) {
+        Map<SketchKey, Sketch> fresh = new ConcurrentHashMap<>();
+        digests.forEach((key, digest) -> fresh.put(key, new Sketch(digest)));
+        sketches.set(fresh);
+    }
+
+    /**
+     * Sérialise chaque sketch et le passe à {@code writer} (sauvegarde après reconstruction)
+     */
+    public void forEachSerialized(BiConsumer<SketchKey, Serialized> writer) {
+        sketches.get().forEach((key, sketch) -> writer.accept(key, sketch.serialize()));
+    }
+
+    public int size() {
+        return sketches.get().size();
+    }
+
+    public record SketchKey(String segment, String metric) {
+    }
+
+    public record PeerRank(double percentile, long sampleSize) {
+    }
+
+    public record Serialized(byte[] data, long sampleSize) {
+    }
+
+    private static final class Sketch {
+
+        private final MergingDigest digest;
+
+        Sketch(MergingDigest digest) {
+            this.digest = digest;
+        }
+
+        synchronized PeerRank rank(double value) {
+            long size = digest.size();
+            if (size == 0) {
+                return null;
+            }
+            double cdf = Math.max(0.0, Math.min(1.0, digest.cdf(value)));
+            return new PeerRank(cdf * 100, size);
+        }
+
+        synchronized Serialized serialize() {
+            digest.compress();
+            ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+            digest.asSmallBytes(buffer);
+            return new Serialized(buffer.array(), digest.size());
+        }
+    }
+}
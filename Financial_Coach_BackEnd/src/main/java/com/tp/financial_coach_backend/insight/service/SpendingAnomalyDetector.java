@@ -0,0 +1,100 @@
+package com.tp.financial_coach_backend.insight.service;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.insight.event.SpendingAnomalyEvent;
+import com.tp.financial_coach_backend.insight.service.SpendingStatsTable.Anomaly;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Détecte les sauts brusques des montants de budget entre deux mises à jour de profil.
+ *
+ * Les statistiques sont tenues uniquement en mémoire ({@link SpendingStatsTable}) : aucune
+ * lecture en base par événement, et une empreinte bornée quel que soit le nombre d'utilisateurs.
+ */
+@Component
+public class SpendingAnomalyDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendingAnomalyDetector.class);
+
+    private final SpendingStatsTable table;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SpendingAnomalyDetector(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${insight.anomaly.capacity:1048576}") int capacity,
+            @Value("${insight.anomaly.alpha:0.3}") double alpha,
+            @Value("${insight.anomaly.z-threshold:3.0}") double zThreshold,
+            @Value("${insight.anomaly.min-observations:3}") int minObservations,
+            @Value("${insight.anomaly.min-relative-change:0.25}") double minRelativeChange
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.table = new SpendingStatsTable(capacity, alpha, zThreshold, minObservations, minRelativeChange);
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        UserProfileResponse profile = event.profile();
+        if (profile == null || profile.getBudgetCategories() == null) {
+            return;
+        }
+        for (Map.Entry<String, Money> entry : profile.getBudgetCategories().entrySet()) {
+            if (entry.getValue() != null) {
+                observe(event.userId(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Intègre un nouveau montant pour (utilisateur, catégorie) et publie un insight en cas d'anomalie
+     */
+    public void observe(UUID userId, String category, Money amount) {
+        int now = (int) (System.currentTimeMillis() / 1000);
+        Anomaly anomaly = table.update(key(userId, category), amount.getCents(), now);
+        if (anomaly == null) {
+            return;
+        }
+
+        log.info("Dépense inhabituelle détectée pour l'utilisateur {} (catégorie: {}, z={})",
+                userId, category, String.format(Locale.ROOT, "%.1f", anomaly.zScore()));
+        eventPublisher.publishEvent(new SpendingAnomalyEvent(
+                userId,
+                category,
+                Money.ofCents(anomaly.previousValue(), amount.getCurrency()),
+                amount,
+                Money.ofCents(anomaly.expectedValue(), amount.getCurrency()),
+                anomaly.zScore(),
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Clé 64 bits (utilisateur, catégorie) : mélange de l'UUID et d'un hash FNV-1a de la catégorie
+     */
+    static long key(UUID userId, String category) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : category.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(userId.getMostSignificantBits() ^ mix(userId.getLeastSignificantBits() ^ hash));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
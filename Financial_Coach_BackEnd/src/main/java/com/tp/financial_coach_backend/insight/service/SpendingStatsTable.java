@@ -0,0 +1,133 @@
+package com.tp.financial_coach_backend.insight.service;
+
+/**
+ * Statistiques EWMA (moyenne et variance) par couple utilisateur / catégorie, en tableaux primitifs.
+ *
+ * La table est associative par ensembles de {@link #WAYS} emplacements : une clé ne peut occuper
+ * que les emplacements de son ensemble, et quand l'ensemble est plein l'entrée la moins récemment
+ * mise à jour est remplacée. La mémoire est donc fixée à la construction (~30 octets par entrée)
+ * et chaque mise à jour est en O(1), au prix de l'oubli des couples les moins actifs.
+ */
+final class SpendingStatsTable {
+
+    static final int WAYS = 4;
+    private static final int LOCK_STRIPES = 256;
+    private static final long EMPTY = 0L;
+
+    private final int setMask;
+    private final long[] keys;
+    private final long[] lastValues;
+    private final float[] means;
+    private final float[] variances;
+    private final short[] counts;
+    private final int[] lastSeen;
+    private final Object[] locks;
+
+    private final double alpha;
+    private final double zThreshold;
+    private final int minObservations;
+    private final double minRelativeChange;
+
+    SpendingStatsTable(int capacity, double alpha, double zThreshold, int minObservations, double minRelativeChange) {
+        int sets = Integer.highestOneBit(Math.max(WAYS, capacity) / WAYS);
+        int slots = sets * WAYS;
+        this.setMask = sets - 1;
+        this.keys = new long[slots];
+        this.lastValues = new long[slots];
+        this.means = new float[slots];
+        this.variances = new float[slots];
+        this.counts = new short[slots];
+        this.lastSeen = new int[slots];
+        this.locks = new Object[Math.min(LOCK_STRIPES, sets)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.alpha = alpha;
+        this.zThreshold = zThreshold;
+        this.minObservations = minObservations;
+        this.minRelativeChange = minRelativeChange;
+    }
+
+    /**
+     * Intègre une nouvelle valeur pour la clé et renvoie l'anomalie détectée, ou {@code null}.
+     * Une valeur identique à la précédente n'est pas une nouvelle observation et est ignorée.
+     *
+     * @param now horodatage grossier (ex. secondes epoch) servant au remplacement LRU
+     */
+    Anomaly update(long key, long value, int now) {
+        if (key == EMPTY) {
+            key = 1L;
+        }
+        int set = (int) (key ^ (key >>> 32)) & setMask;
+        int base = set * WAYS;
+
+        synchronized (locks[set & (locks.length - 1)]) {
+            int slot = -1;
+            int victim = base;
+            for (int i = base; i < base + WAYS; i++) {
+                if (keys[i] == key) {
+                    slot = i;
+                    break;
+                }
+                if (keys[i] == EMPTY) {
+                    if (keys[victim] != EMPTY) {
+                        victim = i;
+                    }
+                } else if (keys[victim] != EMPTY && lastSeen[i] < lastSeen[victim]) {
+                    victim = i;
+                }
+            }
+
+            if (slot < 0) {
+                keys[victim] = key;
+                lastValues[victim] = value;
+                means[victim] = value;
+                variances[victim] = 0f;
+                counts[victim] = 1;
+                lastSeen[victim] = now;
+                return null;
+            }
+
+            long previous = lastValues[slot];
+            if (previous == value) {
+                lastSeen[slot] = now;
+                return null;
+            }
+
+            double mean = means[slot];
+            double variance = variances[slot];
+            int count = counts[slot];
+            double diff = value - mean;
+            double stdDev = Math.sqrt(variance);
+            double zScore = stdDev > 0 ? diff / stdDev : (diff == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, diff));
+
+            Anomaly anomaly = null;
+            if (count >= minObservations
+                    && Math.abs(zScore) >= zThreshold
+                    && Math.abs(value - previous) >= minRelativeChange * Math.max(1.0, Math.abs(mean))) {
+                anomaly = new Anomaly(previous, Math.round(mean), zScore);
+            }
+
+            double increment = alpha * diff;
+            means[slot] = (float) (mean + increment);
+            variances[slot] = (float) ((1 - alpha) * (variance + diff * increment));
+            lastValues[slot] = value;
+            if (count < Short.MAX_VALUE) {
+                counts[slot] = (short) (count + 1);
+            }
+            lastSeen[slot] = now;
+            return anomaly;
+        }
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @param previousValue valeur de la mise à jour précédente
+     * @param expectedValue moyenne EWMA avant la mise à jour
+     */
+    record Anomaly(long previousValue, long expectedValue, double zScore) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.tp.financial_coach_backend.live.controller;
+
+import com.tp.financial_coach_backend.live.service.LiveUpdateRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+
+    private final LiveUpdateRegistry registry;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/stream - Flux SSE des changements de profil (profile-changed) et des insights (insight)
+     */
+    @GetMapping(value = "/api/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        try {
+            return ResponseEntity.ok()
+                    // Pas de mise en tampon par un proxy nginx
+                    .header("X-Accel-Buffering", "no")
+                    .body(registry.connect(getCurrentUserId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
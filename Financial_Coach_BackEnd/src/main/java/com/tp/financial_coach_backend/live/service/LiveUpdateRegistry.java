@@ -0,0 +1,306 @@
+package com.tp.financial_coach_backend.live.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connexions SSE ouvertes, par utilisateur, et diffusion des changements de profil et des insights.
+ *
+ * Les événements viennent du flux livré de l'outbox ({@link OutboxLiveFeed}), lu par chaque nœud : un
+ * changement fait via un nœud atteint les connexions ouvertes sur tous les autres.
+ *
+ * Une connexion inactive ne retient aucun thread (servlet asynchrone) : seuls quelques threads d'envoi
+ * vident les files des connexions qui ont quelque chose à écrire, une connexion à la fois par thread.
+ * Chaque connexion a une file bornée ; un changement de profil remplace celui encore en attente, et une
+ * connexion dont la file déborde (client trop lent) est fermée : le client se reconnecte et relit son profil.
+ */
+@Component
+public class LiveUpdateRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateRegistry.class);
+
+    static final String PROFILE_EVENT = "profile-changed";
+    static final String INSIGHT_EVENT = "insight";
+
+    private final Map<UUID, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter overflowCounter;
+
+    // Au plus une tâche en file par connexion : la file est bornée par le nombre de connexions
+    private final ThreadPoolExecutor senders;
+
+    @Value("${live.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${live.stream.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${live.stream.max-connections:50000}")
+    private int maxConnections;
+
+    @Value("${live.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    // Constructeur manuel
+    public LiveUpdateRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${live.stream.sender-threads:4}") int senderThreads
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(
+                senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("live.stream.connections", connectionCount, AtomicInteger::get)
+                .description("Connexions SSE ouvertes")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("live.stream.overflows")
+                .description("Connexions SSE fermées pour file pleine (client trop lent)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ouvre un flux pour l'utilisateur ; au-delà de la limite par utilisateur, la plus ancienne connexion est fermée
+     */
+    public SseEmitter connect(UUID userId) {
+        // Réservation atomique de la place, rendue si la limite est dépassée
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("Nombre maximal de connexions SSE atteint");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // Ajout et limite par utilisateur sous le verrou de l'entrée : remove() ne peut pas retirer l'ensemble
+        // entre les deux. La connexion évincée quitte l'ensemble ici (deux ouvertures simultanées n'évincent
+        // pas la même) et est fermée hors du compute
+        Connection[] evicted = new Connection[1];
+        connections.compute(userId, (id, set) -> {
+            Set<Connection> userConnections = set != null ? set : ConcurrentHashMap.newKeySet();
+            userConnections.add(connection);
+            if (userConnections.size() > maxConnectionsPerUser) {
+                userConnections.stream()
+                        .filter(c -> c != connection)
+                        .min((a, b) -> Long.compare(a.openedAt, b.openedAt))
+                        .ifPresent(oldest -> {
+                            userConnections.remove(oldest);
+                            evicted[0] = oldest;
+                        });
+            }
+            return userConnections;
+        });
+        if (evicted[0] != null) {
+            close(evicted[0]);
+        }
+
+        // Premier événement : confirme l'ouverture au client et aux proxys
+        offer(connection, new Pending("ready", "ok", null));
+        return emitter;
+    }
+
+    /**
+     * Envoie un changement de profil ; remplace celui encore en attente sur chaque connexion
+     */
+    void publishProfileChange(UUID userId, ProfileChange change) {
+        publish(userId, new Pending(PROFILE_EVENT, change, PROFILE_EVENT));
+    }
+
+    void publishInsight(UUID userId, Object insight) {
+        publish(userId, new Pending(INSIGHT_EVENT, insight, null));
+    }
+
+    /**
+     * Commentaire SSE périodique : garde les connexions ouvertes à travers les proxys et détecte les clients partis
+     */
+    @Scheduled(fixedDelayString = "${live.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                offer(connection, Pending.HEARTBEAT);
+            }
+        }
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    boolean isConnected(UUID userId) {
+        return connections.containsKey(userId);
+    }
+
+    void publish(UUID userId, Pending event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections != null) {
+            for (Connection connection : userConnections) {
+                offer(connection, event);
+            }
+        }
+    }
+
+    private void offer(Connection connection, Pending event) {
+        boolean overflow;
+        synchronized (connection) {
+            // Un heartbeat est inutile si quelque chose est déjà en attente (il ne fait donc jamais déborder la file)
+            if (connection.closed || (event == Pending.HEARTBEAT && !connection.queue.isEmpty())) {
+                return;
+            }
+            if (event.conflationKey() != null) {
+                connection.queue.removeIf(p -> event.conflationKey().equals(p.conflationKey()));
+            }
+            overflow = connection.queue.size() >= bufferSize;
+            if (overflow) {
+                closeLocked(connection);
+            } else {
+                connection.queue.addLast(event);
+                if (connection.draining) {
+                    return;
+                }
+                connection.draining = true;
+            }
+        }
+
+        if (overflow) {
+            overflowCounter.increment();
+            log.debug("File SSE pleine pour l'utilisateur {}, connexion fermée", connection.userId);
+            remove(connection);
+            return;
+        }
+        try {
+            senders.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            close(connection);
+        }
+    }
+
+    private void drain(Connection connection) {
+        while (true) {
+            Pending next;
+            synchronized (connection) {
+                next = connection.queue.pollFirst();
+                if (next == null || connection.closed) {
+                    connection.draining = false;
+                    if (connection.closed) {
+                        // Fermeture demandée pendant un envoi : terminée ici, hors du thread qui l'a demandée
+                        connection.emitter.complete();
+                    }
+                    return;
+                }
+            }
+            try {
+                connection.emitter.send(next == Pending.HEARTBEAT
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event().name(next.name()).data(next.data(), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : la connexion est retirée
+                synchronized (connection) {
+                    connection.draining = false;
+                }
+                remove(connection);
+                return;
+            }
+        }
+    }
+
+    private void close(Connection connection) {
+        synchronized (connection) {
+            closeLocked(connection);
+        }
+        remove(connection);
+    }
+
+    /**
+     * Marque la connexion fermée ; si un envoi est en cours, le thread d'envoi la terminera
+     * (ne jamais bloquer l'appelant derrière l'écriture vers un client lent)
+     */
+    private void closeLocked(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connection.queue.clear();
+        if (!connection.draining) {
+            connection.emitter.complete();
+        }
+    }
+
+    private void remove(Connection connection) {
+        synchronized (connection) {
+            if (connection.removed) {
+                return;
+            }
+            connection.closed = true;
+            connection.removed = true;
+        }
+        connections.computeIfPresent(connection.userId, (id, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+        connectionCount.decrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        connections.values().forEach(set -> set.forEach(this::close));
+    }
+
+    /**
+     * Contenu de l'événement profile-changed ({@code profile} est null pour une suppression)
+     */
+    public record ProfileChange(String type, Object profile) {
+    }
+
+    record Pending(String name, Object data, String conflationKey) {
+
+        static final Pending HEARTBEAT = new Pending(null, null, null);
+    }
+
+    /**
+     * Connexion ouverte ; file et indicateurs protégés par le moniteur de l'instance
+     */
+    static final class Connection {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private boolean removed;
+
+        Connection(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
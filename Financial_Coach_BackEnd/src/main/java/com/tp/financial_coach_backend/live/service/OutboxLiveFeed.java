@@ -0,0 +1,101 @@
+package com.tp.financial_coach_backend.live.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.outbox.dto.OutboxEventResponse;
+import com.tp.financial_coach_backend.outbox.dto.OutboxPageResponse;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Alimente {@link LiveUpdateRegistry} depuis le flux livré de l'outbox.
+ *
+ * Chaque nœud lit le flux avec son propre curseur en mémoire, positionné à la fin du flux au démarrage :
+ * les connexions ouvertes sur ce nœud reçoivent les changements faits via n'importe quel nœud, avec le
+ * délai du relais plus celui de {@code live.stream.feed-interval-ms}.
+ */
+@Component
+public class OutboxLiveFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLiveFeed.class);
+
+    private static final String PROFILE_PREFIX = "profile.";
+
+    private final OutboxService outboxService;
+    private final LiveUpdateRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    private long cursor = -1;
+
+    // Constructeur manuel
+    public OutboxLiveFeed(OutboxService outboxService, LiveUpdateRegistry registry, ObjectMapper objectMapper) {
+        this.outboxService = outboxService;
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Positionne le curseur à la fin du flux : l'historique n'est pas rejoué aux connexions
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (cursor < 0) {
+            cursor = outboxService.lastDeliveredSeq();
+        }
+    }
+
+    /**
+     * Transmet aux connexions de ce nœud les événements livrés depuis le dernier passage
+     */
+    @Scheduled(fixedDelayString = "${live.stream.feed-interval-ms:500}")
+    public synchronized void poll() {
+        if (cursor < 0) {
+            start();
+            return;
+        }
+        OutboxPageResponse page;
+        do {
+            page = outboxService.poll(cursor, OutboxService.MAX_PAGE_SIZE);
+            for (OutboxEventResponse event : page.getEvents()) {
+                dispatch(event);
+            }
+            cursor = page.getNextCursor();
+        } while (page.getEvents().size() == OutboxService.MAX_PAGE_SIZE);
+    }
+
+    private void dispatch(OutboxEventResponse event) {
+        UUID userId = UUID.fromString(event.getAggregateId());
+        if (!registry.isConnected(userId)) {
+            return;
+        }
+        String type = event.getEventType();
+        if (type.startsWith(PROFILE_PREFIX)) {
+            String change = type.substring(PROFILE_PREFIX.length()).toUpperCase(Locale.ROOT);
+            registry.publishProfileChange(userId, new LiveUpdateRegistry.ProfileChange(change, json(event)));
+        } else if (OutboxService.INSIGHT_SPENDING_ANOMALY.equals(type)) {
+            registry.publishInsight(userId, json(event));
+        }
+    }
+
+    // Payload renvoyé tel quel au client (null pour une suppression)
+    private JsonNode json(OutboxEventResponse event) {
+        if (event.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            log.warn("Payload d'outbox illisible pour l'événement {}", event.getEventId(), e);
+            return null;
+        }
+    }
+}
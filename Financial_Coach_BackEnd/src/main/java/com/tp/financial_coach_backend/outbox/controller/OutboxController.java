@@ -0,0 +1,59 @@
+package com.tp.financial_coach_backend.outbox.controller;
+
+import com.tp.financial_coach_backend.outbox.dto.OutboxPageResponse;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class OutboxController {
+
+    private final OutboxService outboxService;
+
+    /**
+     * GET /api/admin/events?after=&limit= - Événements livrés après le curseur
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxPageResponse> poll(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(outboxService.poll(after, limit));
+    }
+
+    /**
+     * GET /api/admin/events/consumers/{consumer}?limit= - Page suivante depuis le curseur enregistré du consommateur
+     */
+    @GetMapping("/consumers/{consumer}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxPageResponse> pollForConsumer(
+            @PathVariable String consumer,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(outboxService.pollForConsumer(consumer, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PUT /api/admin/events/consumers/{consumer}?lastSeq= - Enregistrer le curseur après traitement
+     */
+    @PutMapping("/consumers/{consumer}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> acknowledge(
+            @PathVariable String consumer,
+            @RequestParam long lastSeq) {
+        try {
+            outboxService.acknowledge(consumer, lastSeq);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tp.financial_coach_backend.outbox.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventResponse {
+
+    private Long deliverySeq;
+    private Long eventId;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+
+    // JSON stocké, renvoyé tel quel
+    @JsonRawValue
+    private String payload;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.outbox.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxPageResponse {
+
+    // Dans l'ordre de livraison
+    private List<OutboxEventResponse> events;
+
+    // Curseur à passer en "after" pour la suite (inchangé si la page est vide)
+    private long nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.tp.financial_coach_backend.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position dans le flux d'événements livrés : une ligne par consommateur nommé.
+ *
+ * La ligne {@link #RELAY} porte le dernier {@code deliverySeq} attribué ; son verrou sérialise les relais
+ * de toutes les instances.
+ */
+@Entity
+@Table(name = "outbox_cursors")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxCursor {
+
+    public static final String RELAY = "relay";
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    // Dernier deliverySeq traité (relais : dernier attribué)
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
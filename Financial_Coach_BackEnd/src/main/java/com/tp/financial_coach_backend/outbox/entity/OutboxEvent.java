@@ -0,0 +1,68 @@
+package com.tp.financial_coach_backend.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement métier écrit dans la même transaction que le changement qu'il décrit (outbox transactionnelle).
+ *
+ * {@code id} suit l'ordre d'écriture ; {@code deliverySeq} est attribué par le relais au moment de la
+ * publication, sans trou et dans l'ordre de validation : c'est le curseur des consommateurs.
+ * Un événement en échec est retenté avec un délai croissant, puis mis en lettre morte ({@code deadAt}).
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // USER, PROFILE...
+    @Column(name = "aggregate_type", nullable = false, length = 50, updatable = false)
+    private String aggregateType;
+
+    // Identifiant de l'utilisateur concerné : l'ordre de livraison est garanti par agrégat
+    @Column(name = "aggregate_id", nullable = false, length = 64, updatable = false)
+    private String aggregateId;
+
+    // user.registered, profile.updated...
+    @Column(name = "event_type", nullable = false, length = 50, updatable = false)
+    private String eventType;
+
+    // JSON (colonne text : pas de limite de taille)
+    @Column(name = "payload", columnDefinition = "text", updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivery_seq", unique = true)
+    private Long deliverySeq;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Pas de nouvelle tentative avant cet instant (backoff exponentiel après un échec)
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Lettre morte : abandonné après outbox.relay.max-attempts échecs, plus jamais relu par le relais
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+}
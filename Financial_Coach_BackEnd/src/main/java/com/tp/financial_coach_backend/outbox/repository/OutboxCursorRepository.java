@@ -0,0 +1,22 @@
+package com.tp.financial_coach_backend.outbox.repository;
+
+import com.tp.financial_coach_backend.outbox.entity.OutboxCursor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxCursorRepository extends JpaRepository<OutboxCursor, String> {
+
+    /**
+     * Lit le curseur en le verrouillant jusqu'à la fin de la transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from OutboxCursor c where c.name = :name")
+    Optional<OutboxCursor> lockByName(@Param("name") String name);
+}
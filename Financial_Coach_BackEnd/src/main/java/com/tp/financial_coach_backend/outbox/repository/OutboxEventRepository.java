@@ -0,0 +1,33 @@
+package com.tp.financial_coach_backend.outbox.repository;
+
+import com.tp.financial_coach_backend.outbox.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Prochain lot à publier, dans l'ordre d'écriture : sans les lettres mortes, ni les événements en attente
+    // de nouvelle tentative (et ceux de leur agrégat qui les suivent, pour garder l'ordre par agrégat)
+    @Query("select e from OutboxEvent e where e.publishedAt is null and e.deadAt is null"
+            + " and (e.nextAttemptAt is null or e.nextAttemptAt <= :now)"
+            + " and not exists (select p.id from OutboxEvent p where p.aggregateId = e.aggregateId and p.id < e.id"
+            + " and p.publishedAt is null and p.deadAt is null and p.nextAttemptAt > :now)"
+            + " order by e.id")
+    List<OutboxEvent> findUnpublished(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Événements livrés après un curseur
+    @Query("select e from OutboxEvent e where e.deliverySeq > :after order by e.deliverySeq")
+    List<OutboxEvent> findDeliveredAfter(@Param("after") long after, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,155 @@
+package com.tp.financial_coach_backend.outbox.service;
+
+import com.tp.financial_coach_backend.outbox.entity.OutboxCursor;
+import com.tp.financial_coach_backend.outbox.entity.OutboxEvent;
+import com.tp.financial_coach_backend.outbox.repository.OutboxCursorRepository;
+import com.tp.financial_coach_backend.outbox.repository.OutboxEventRepository;
+import com.tp.financial_coach_backend.outbox.sink.OutboxMessage;
+import com.tp.financial_coach_backend.outbox.sink.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publie les événements de l'outbox vers le {@link OutboxSink}, par lots, au moins une fois.
+ *
+ * Chaque lot est traité dans une transaction qui verrouille le curseur du relais : une seule instance
+ * publie à la fois, et les {@code deliverySeq} sont attribués sans trou dans l'ordre de validation.
+ * Après un échec, l'événement est retenté avec un délai exponentiel ({@code outbox.relay.backoff-*}) et les
+ * suivants du même agrégat l'attendent ; les autres agrégats continuent. Au bout de
+ * {@code outbox.relay.max-attempts} échecs, il passe en lettre morte et ne bloque plus rien.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxCursorRepository cursorRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMillis;
+
+    @Value("${outbox.relay.backoff-max-ms:300000}")
+    private long backoffMaxMillis;
+
+    // Constructeur manuel
+    public OutboxRelay(
+            OutboxEventRepository eventRepository,
+            OutboxCursorRepository cursorRepository,
+            OutboxSink sink,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.eventRepository = eventRepository;
+        this.cursorRepository = cursorRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = Counter.builder("outbox.events")
+                .description("Événements d'outbox traités par le relais")
+                .tag("result", "published")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events")
+                .description("Événements d'outbox traités par le relais")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("outbox.events")
+                .description("Événements d'outbox traités par le relais")
+                .tag("result", "dead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publie les lots en attente tant qu'ils sont pleins et sans échec
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(tx -> relayBatch());
+        } while (result != null && result.read() == batchSize && result.failed() == 0);
+    }
+
+    private BatchResult relayBatch() {
+        OutboxCursor cursor = cursorRepository.lockByName(OutboxCursor.RELAY)
+                .orElseThrow(() -> new IllegalStateException("Curseur du relais d'outbox absent (migration V4)"));
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = eventRepository.findUnpublished(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Set<String> blocked = new HashSet<>();
+        int published = 0;
+        int failed = 0;
+        for (OutboxEvent event : batch) {
+            if (blocked.contains(event.getAggregateId())) {
+                continue;
+            }
+            long seq = cursor.getLastSeq() + 1;
+            try {
+                sink.publish(new OutboxMessage(seq, event.getId(), event.getAggregateType(), event.getAggregateId(),
+                        event.getEventType(), event.getPayload(), event.getCreatedAt()));
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                String error = e.toString();
+                event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+                failed++;
+                if (event.getAttempts() >= maxAttempts) {
+                    event.setDeadAt(now);
+                    deadCounter.increment();
+                    log.error("Événement d'outbox {} ({}) abandonné après {} tentatives",
+                            event.getId(), event.getEventType(), event.getAttempts(), e);
+                } else {
+                    blocked.add(event.getAggregateId());
+                    event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+                    log.warn("Échec de publication de l'événement d'outbox {} ({}), tentative {}",
+                            event.getId(), event.getEventType(), event.getAttempts(), e);
+                }
+                continue;
+            }
+            event.setDeliverySeq(seq);
+            event.setPublishedAt(now);
+            cursor.setLastSeq(seq);
+            published++;
+        }
+        cursor.setUpdatedAt(now);
+
+        publishedCounter.increment(published);
+        failedCounter.increment(failed);
+        return new BatchResult(batch.size(), failed);
+    }
+
+    // Délai doublé à chaque échec, plafonné
+    private Duration backoff(int attempts) {
+        long delay = backoffInitialMillis << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(delay, backoffMaxMillis));
+    }
+
+    private record BatchResult(int read, int failed) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.tp.financial_coach_backend.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.auth.event.UserRegisteredEvent;
+import com.tp.financial_coach_backend.insight.event.SpendingAnomalyEvent;
+import com.tp.financial_coach_backend.outbox.dto.OutboxEventResponse;
+import com.tp.financial_coach_backend.outbox.dto.OutboxPageResponse;
+import com.tp.financial_coach_backend.outbox.entity.OutboxCursor;
+import com.tp.financial_coach_backend.outbox.entity.OutboxEvent;
+import com.tp.financial_coach_backend.outbox.repository.OutboxCursorRepository;
+import com.tp.financial_coach_backend.outbox.repository.OutboxEventRepository;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Écriture des événements dans l'outbox (même transaction que le changement) et lecture du flux livré.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    public static final String INSIGHT_SPENDING_ANOMALY = "insight.spending-anomaly";
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxCursorRepository cursorRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    // Constructeur manuel
+    public OutboxService(
+            OutboxEventRepository eventRepository,
+            OutboxCursorRepository cursorRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.eventRepository = eventRepository;
+        this.cursorRepository = cursorRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Ajoute un événement à l'outbox ; doit être appelé dans la transaction du changement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, UUID aggregateId, String eventType, Object payload) {
+        eventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId.toString())
+                .eventType(eventType)
+                .payload(payload == null ? null : toJson(payload))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        record("PROFILE", event.userId(), "profile." + event.type().name().toLowerCase(Locale.ROOT), event.profile());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        record("USER", event.userId(), "user.registered", event);
+    }
+
+    /**
+     * Insight détecté après la validation du profil : écrit dans sa propre transaction
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSpendingAnomaly(SpendingAnomalyEvent event) {
+        record("INSIGHT", event.userId(), INSIGHT_SPENDING_ANOMALY, event);
+    }
+
+    /**
+     * Dernier deliverySeq attribué par le relais
+     */
+    @Transactional(readOnly = true)
+    public long lastDeliveredSeq() {
+        return cursorRepository.findById(OutboxCursor.RELAY).map(OutboxCursor::getLastSeq).orElse(0L);
+    }
+
+    /**
+     * Événements livrés après le curseur {@code after}, dans l'ordre de livraison
+     */
+    @Transactional(readOnly = true)
+    public OutboxPageResponse poll(long after, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<OutboxEventResponse> events = eventRepository.findDeliveredAfter(after, PageRequest.of(0, size)).stream()
+                .map(this::mapToResponse)
+                .toList();
+        long nextCursor = events.isEmpty() ? after : events.get(events.size() - 1).getDeliverySeq();
+        return OutboxPageResponse.builder()
+                .events(events)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Page suivante pour un consommateur nommé, à partir de son curseur enregistré (sans l'avancer)
+     */
+    @Transactional(readOnly = true)
+    public OutboxPageResponse pollForConsumer(String consumer, Integer limit) {
+        checkConsumerName(consumer);
+        long after = cursorRepository.findById(consumer).map(OutboxCursor::getLastSeq).orElse(0L);
+        return poll(after, limit);
+    }
+
+    /**
+     * Enregistre le curseur d'un consommateur (retour en arrière permis pour rejouer)
+     */
+    @Transactional
+    public void acknowledge(String consumer, long lastSeq) {
+        checkConsumerName(consumer);
+        long delivered = cursorRepository.findById(OutboxCursor.RELAY).map(OutboxCursor::getLastSeq).orElse(0L);
+        if (lastSeq < 0 || lastSeq > delivered) {
+            throw new IllegalArgumentException("Curseur hors du flux livré (0.." + delivered + "): " + lastSeq);
+        }
+        OutboxCursor cursor = cursorRepository.findById(consumer)
+                .orElseGet(() -> OutboxCursor.builder().name(consumer).build());
+        cursor.setLastSeq(lastSeq);
+        cursor.setUpdatedAt(LocalDateTime.now());
+        cursorRepository.save(cursor);
+    }
+
+    /**
+     * Supprime les événements publiés depuis plus de {@code outbox.retention-days} jours
+     */
+    @Scheduled(cron = "${outbox.purge-cron:0 30 4 * * *}")
+    @Transactional
+    public void purgePublished() {
+        int purged = eventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("{} événements d'outbox publiés purgés", purged);
+    }
+
+    private void checkConsumerName(String consumer) {
+        if (OutboxCursor.RELAY.equals(consumer)) {
+            throw new IllegalArgumentException("Nom de consommateur réservé: " + consumer);
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Événement d'outbox non sérialisable: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    private OutboxEventResponse mapToResponse(OutboxEvent event) {
+        return OutboxEventResponse.builder()
+                .deliverySeq(event.getDeliverySeq())
+                .eventId(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .eventType(event.getEventType())
+                .payload(event.getPayload())
+                .createdAt(event.getCreatedAt())
+                .publishedAt(event.getPublishedAt())
+                .build();
+    }
+}
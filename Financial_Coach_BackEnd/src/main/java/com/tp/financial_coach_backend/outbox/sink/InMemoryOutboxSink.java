@@ -0,0 +1,34 @@
+package com.tp.financial_coach_backend.outbox.sink;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sink local : diffuse les événements aux abonnés de la JVM (en attendant un broker externe).
+ * Un abonné qui lève une exception fait republier l'événement à tous les abonnés.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(OutboxMessage message) {
+        for (Consumer<OutboxMessage> subscriber : subscribers) {
+            subscriber.accept(message);
+        }
+    }
+
+    /**
+     * Abonne un consommateur ; le Runnable renvoyé le désabonne
+     */
+    public Runnable subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+}
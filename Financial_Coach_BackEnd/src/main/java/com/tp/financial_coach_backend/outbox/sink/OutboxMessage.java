@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.outbox.sink;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement tel que transmis au sink.
+ *
+ * @param deliverySeq position dans le flux livré
+ * @param eventId     identifiant stable de l'événement : à utiliser pour dédoublonner (livraison au moins une fois)
+ * @param payload     JSON, ou {@code null}
+ */
+public record OutboxMessage(
+        long deliverySeq,
+        long eventId,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
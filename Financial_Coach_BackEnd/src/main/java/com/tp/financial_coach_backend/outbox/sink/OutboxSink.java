@@ -0,0 +1,12 @@
+package com.tp.financial_coach_backend.outbox.sink;
+
+/**
+ * Destination des événements publiés par {@link com.tp.financial_coach_backend.outbox.service.OutboxRelay}.
+ *
+ * Appelé dans l'ordre de livraison ; une exception laisse l'événement (et les suivants du même agrégat)
+ * en attente pour la passe suivante : un même événement peut donc être reçu plusieurs fois.
+ */
+public interface OutboxSink {
+
+    void publish(OutboxMessage message);
+}
@@ -30,31 +30,19 @@ public class UserProfileController {
     }
 
     /**
-     * GET /api/profile - Récupérer le profil de l'utilisateur authentifié
+     * GET /api/profile - Récupérer le profil de l'utilisateur authentifié (404 si pas encore créé)
      */
     @GetMapping
     public ResponseEntity<UserProfileResponse> getProfile() {
-        try {
-            UUID userId = getCurrentUserId();
-            UserProfileResponse profile = profileService.getProfileByUserId(userId);
-            return ResponseEntity.ok(profile);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        return profileService.findProfile(getCurrentUserId()).toResponseEntity(HttpStatus.OK);
     }
 
     /**
-     * POST /api/profile - Créer un nouveau profil
+     * POST /api/profile - Créer un nouveau profil (409 s'il existe déjà)
      */
     @PostMapping
     public ResponseEntity<UserProfileResponse> createProfile(@RequestBody UserProfileRequest request) {
-        try {
-            UUID userId = getCurrentUserId();
-            UserProfileResponse profile = profileService.createProfile(userId, request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(profile);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
+        return profileService.createProfile(getCurrentUserId(), request).toResponseEntity(HttpStatus.CREATED);
     }
 
     /**
@@ -62,13 +50,7 @@ public class UserProfileController {
      */
     @PutMapping
     public ResponseEntity<UserProfileResponse> updateProfile(@RequestBody UserProfileRequest request) {
-        try {
-            UUID userId = getCurrentUserId();
-            UserProfileResponse profile = profileService.updateProfile(userId, request);
-            return ResponseEntity.ok(profile);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        return profileService.updateProfile(getCurrentUserId(), request).toResponseEntity(HttpStatus.OK);
     }
 
     /**
@@ -76,13 +58,7 @@ public class UserProfileController {
      */
     @DeleteMapping
     public ResponseEntity<Void> deleteProfile() {
-        try {
-            UUID userId = getCurrentUserId();
-            profileService.deleteProfile(userId);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        return profileService.deleteProfile(getCurrentUserId()).toResponseEntity(HttpStatus.NO_CONTENT);
     }
 
     /**
@@ -0,0 +1,19 @@
+package com.tp.financial_coach_backend.profile.dto;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Une ligne de user_budget_categories, rattachée à son profil
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetCategoryAmount {
+
+    private Long profileId;
+    private String category;
+    private Money amount;
+}
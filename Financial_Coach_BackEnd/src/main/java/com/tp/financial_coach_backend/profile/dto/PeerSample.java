@@ -0,0 +1,22 @@
+package com.tp.financial_coach_backend.profile.dto;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Colonnes d'un profil utiles à la comparaison aux pairs, lues par projection sans charger
+ * le profil ni ses collections
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeerSample {
+
+    private Long id;
+    private String country;
+    private Integer age;
+    private Money monthlySavings;
+    private Double savingsRate;
+}
@@ -0,0 +1,20 @@
+package com.tp.financial_coach_backend.profile.dto;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Traits du profil qui regroupent les utilisateurs proches (cache des réponses du coach),
+ * lus par projection sans charger le profil ni ses collections
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileTraits {
+
+    private String preferredLanguage;
+    private String riskTolerance;
+    private Money monthlyIncome;
+}
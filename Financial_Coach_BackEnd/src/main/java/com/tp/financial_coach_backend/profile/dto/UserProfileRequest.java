@@ -1,5 +1,6 @@
 package com.tp.financial_coach_backend.profile.dto;
 
+import com.tp.financial_coach_backend.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,11 +23,11 @@ public class UserProfileRequest {
     private String city;
 
     // Informations financières
-    private Double monthlyIncome;
-    private Double monthlySavings;
+    private Money monthlyIncome;
+    private Money monthlySavings;
     private String riskTolerance;
     private List<String> financialGoals;
-    private Map<String, Double> budgetCategories;
+    private Map<String, Money> budgetCategories;
 
     // Préférences
     private String preferredLanguage;
@@ -1,5 +1,7 @@
 package com.tp.financial_coach_backend.profile.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tp.financial_coach_backend.common.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +15,7 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonSerialize(using = UserProfileResponseSerializer.class)
 public class UserProfileResponse {
 
     private Long id;
@@ -27,12 +30,12 @@ public class UserProfileResponse {
     private String city;
 
     // Informations financières
-    private Double monthlyIncome;
-    private Double monthlySavings;
+    private Money monthlyIncome;
+    private Money monthlySavings;
     private Double savingsRate;
     private String riskTolerance;
     private List<String> financialGoals;
-    private Map<String, Double> budgetCategories;
+    private Map<String, Money> budgetCategories;
 
     // Préférences
     private String preferredLanguage;
@@ -0,0 +1,174 @@
+package com.tp.financial_coach_backend.profile.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.common.money.MoneyJsonSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écrit un {@link UserProfileResponse} sans introspection, avec des noms de champs pré-encodés.
+ * Même format que la sérialisation par défaut ; les dates passent par le sérialiseur configuré
+ * de l'ObjectMapper (résolu une fois). Un champ ajouté au DTO doit aussi l'être ici.
+ */
+public class UserProfileResponseSerializer extends StdSerializer<UserProfileResponse> implements ResolvableSerializer {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString FULL_NAME = new SerializedString("fullName");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final SerializableString OCCUPATION = new SerializedString("occupation");
+    private static final SerializableString COUNTRY = new SerializedString("country");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString MONTHLY_INCOME = new SerializedString("monthlyIncome");
+    private static final SerializableString MONTHLY_SAVINGS = new SerializedString("monthlySavings");
+    private static final SerializableString SAVINGS_RATE = new SerializedString("savingsRate");
+    private static final SerializableString RISK_TOLERANCE = new SerializedString("riskTolerance");
+    private static final SerializableString FINANCIAL_GOALS = new SerializedString("financialGoals");
+    private static final SerializableString BUDGET_CATEGORIES = new SerializedString("budgetCategories");
+    private static final SerializableString PREFERRED_LANGUAGE = new SerializedString("preferredLanguage");
+    private static final SerializableString CURRENCY = new SerializedString("currency");
+    private static final SerializableString HAS_COMPLETED_ONBOARDING = new SerializedString("hasCompletedOnboarding");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    private static final MoneyJsonSerializer MONEY = new MoneyJsonSerializer();
+
+    private JsonSerializer<Object> dateSerializer;
+
+    public UserProfileResponseSerializer() {
+        super(UserProfileResponse.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        dateSerializer = provider.findValueSerializer(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(UserProfileResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+
+        gen.writeFieldName(ID);
+        writeNumber(gen, value.getId());
+        gen.writeFieldName(USER_ID);
+        gen.writeString(value.getUserId());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(value.getEmail());
+
+        // Informations personnelles
+        gen.writeFieldName(FULL_NAME);
+        gen.writeString(value.getFullName());
+        gen.writeFieldName(AGE);
+        writeNumber(gen, value.getAge());
+        gen.writeFieldName(OCCUPATION);
+        gen.writeString(value.getOccupation());
+        gen.writeFieldName(COUNTRY);
+        gen.writeString(value.getCountry());
+        gen.writeFieldName(CITY);
+        gen.writeString(value.getCity());
+
+        // Informations financières
+        gen.writeFieldName(MONTHLY_INCOME);
+        writeMoney(gen, value.getMonthlyIncome(), provider);
+        gen.writeFieldName(MONTHLY_SAVINGS);
+        writeMoney(gen, value.getMonthlySavings(), provider);
+        gen.writeFieldName(SAVINGS_RATE);
+        if (value.getSavingsRate() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.getSavingsRate());
+        }
+        gen.writeFieldName(RISK_TOLERANCE);
+        gen.writeString(value.getRiskTolerance());
+
+        gen.writeFieldName(FINANCIAL_GOALS);
+        writeGoals(gen, value.getFinancialGoals());
+        gen.writeFieldName(BUDGET_CATEGORIES);
+        writeCategories(gen, value.getBudgetCategories(), provider);
+
+        // Préférences
+        gen.writeFieldName(PREFERRED_LANGUAGE);
+        gen.writeString(value.getPreferredLanguage());
+        gen.writeFieldName(CURRENCY);
+        gen.writeString(value.getCurrency());
+
+        // Métadonnées
+        gen.writeFieldName(HAS_COMPLETED_ONBOARDING);
+        if (value.getHasCompletedOnboarding() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value.getHasCompletedOnboarding());
+        }
+        gen.writeFieldName(CREATED_AT);
+        writeDate(gen, value.getCreatedAt(), provider);
+        gen.writeFieldName(UPDATED_AT);
+        writeDate(gen, value.getUpdatedAt(), provider);
+
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, Number value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof Long l) {
+            gen.writeNumber(l);
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeGoals(JsonGenerator gen, List<String> goals) throws IOException {
+        if (goals == null) {
+            gen.writeNull();
+            return;
+        }
+        int size = goals.size();
+        gen.writeStartArray(goals, size);
+        for (int i = 0; i < size; i++) {
+            gen.writeString(goals.get(i));
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeCategories(JsonGenerator gen, Map<String, Money> categories, SerializerProvider provider)
+            throws IOException {
+        if (categories == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(categories);
+        for (Map.Entry<String, Money> category : categories.entrySet()) {
+            gen.writeFieldName(category.getKey());
+            writeMoney(gen, category.getValue(), provider);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeMoney(JsonGenerator gen, Money value, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            MONEY.serialize(value, gen, provider);
+        }
+    }
+
+    private void writeDate(JsonGenerator gen, LocalDateTime value, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            dateSerializer.serialize(value, gen, provider);
+        }
+    }
+}
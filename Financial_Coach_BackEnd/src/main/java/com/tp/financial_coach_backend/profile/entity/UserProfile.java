@@ -1,6 +1,7 @@
 package com.tp.financial_coach_backend.profile.entity;
 
 import com.tp.financial_coach_backend.auth.entity.User;
+import com.tp.financial_coach_backend.common.money.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -48,16 +51,20 @@ public class UserProfile {
     @Column(name = "city")
     private String city;
 
-    // Informations financières
-    @Column(name = "monthly_income")
-    private Double monthlyIncome;
+    // Informations financières (montants en centimes, dans la devise du profil)
+    @Column(name = "monthly_income_cents")
+    private Money monthlyIncome;
 
-    @Column(name = "monthly_savings")
-    private Double monthlySavings;
+    @Column(name = "monthly_savings_cents")
+    private Money monthlySavings;
 
     @Column(name = "risk_tolerance")
     private String riskTolerance; // low, medium, high
 
+    // Copie stockée de getSavingsRate(), clé de tri du tableau de bord coach (recalculée à chaque écriture)
+    @Column(name = "savings_rate")
+    private Double savingsRate;
+
     // Objectifs financiers (stockés en JSON)
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_financial_goals", joinColumns = @JoinColumn(name = "profile_id"))
@@ -69,9 +76,9 @@ public class UserProfile {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_budget_categories", joinColumns = @JoinColumn(name = "profile_id"))
     @MapKeyColumn(name = "category")
-    @Column(name = "amount")
+    @Column(name = "amount_cents")
     @Builder.Default
-    private Map<String, Double> budgetCategories = new HashMap<>();
+    private Map<String, Money> budgetCategories = new HashMap<>();
 
     // Préférences
     @Column(name = "preferred_language")
@@ -80,11 +87,19 @@ public class UserProfile {
     @Column(name = "currency")
     private String currency;
 
+    // Coach suivant ce client (null si aucun)
+    @Column(name = "coach_id")
+    private UUID coachId;
+
     // Métadonnées
     @Column(name = "has_completed_onboarding")
     @Builder.Default
     private Boolean hasCompletedOnboarding = false;
 
+    // Numéro du dernier changement, pour la synchronisation différentielle (écrit par ChangeLog uniquement)
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -93,11 +108,46 @@ public class UserProfile {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Devise du profil (euro si absente ou inconnue) : celle de tous ses montants
+    public Currency currencyUnit() {
+        return Money.currencyOf(currency);
+    }
+
+    // Les montants sont relus sans devise (colonnes en centimes) : rattachés ici à celle du profil
+    public Money getMonthlyIncome() {
+        return monthlyIncome != null ? monthlyIncome.withCurrency(currencyUnit()) : null;
+    }
+
+    public Money getMonthlySavings() {
+        return monthlySavings != null ? monthlySavings.withCurrency(currencyUnit()) : null;
+    }
+
+    public Map<String, Money> getBudgetCategories() {
+        Currency unit = currencyUnit();
+        Map<String, Money> categories = new LinkedHashMap<>(budgetCategories.size());
+        budgetCategories.forEach((category, amount) ->
+                categories.put(category, amount != null ? amount.withCurrency(unit) : null));
+        return categories;
+    }
+
     // Calculer le taux d'épargne
     public Double getSavingsRate() {
-        if (monthlyIncome != null && monthlySavings != null && monthlyIncome > 0) {
-            return (monthlySavings / monthlyIncome) * 100;
+        Money income = getMonthlyIncome();
+        Money savings = getMonthlySavings();
+        if (income != null && savings != null) {
+            return savings.percentOf(income);
         }
         return null;
     }
+
+    @PrePersist
+    @PreUpdate
+    void refreshSavingsRate() {
+        this.savingsRate = getSavingsRate();
+    }
+
+    // Total des catégories de budget, calculé en centimes exacts
+    public Money getTotalBudget() {
+        return Money.sum(getBudgetCategories().values(), currencyUnit());
+    }
 }
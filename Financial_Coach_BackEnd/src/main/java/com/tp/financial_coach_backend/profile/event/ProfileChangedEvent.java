@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.profile.event;
+
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+
+import java.util.UUID;
+
+/**
+ * Événement publié par UserProfileService à chaque création, mise à jour ou suppression de profil.
+ *
+ * @param userId  utilisateur concerné
+ * @param type    nature du changement
+ * @param profile état du profil après le changement ({@code null} pour une suppression)
+ */
+public record ProfileChangedEvent(UUID userId, ChangeType type, UserProfileResponse profile) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
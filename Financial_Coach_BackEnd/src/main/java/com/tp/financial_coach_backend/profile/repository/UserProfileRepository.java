@@ -1,9 +1,17 @@
 package com.tp.financial_coach_backend.profile.repository;
 
+import com.tp.financial_coach_backend.profile.dto.BudgetCategoryAmount;
+import com.tp.financial_coach_backend.profile.dto.PeerSample;
+import com.tp.financial_coach_backend.profile.dto.ProfileTraits;
 import com.tp.financial_coach_backend.profile.entity.UserProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,5 +22,31 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
 
     boolean existsByUserId(UUID userId);
 
-    void deleteByUserId(UUID userId);
+    @Query("select new com.tp.financial_coach_backend.profile.dto.ProfileTraits(" +
+            "p.preferredLanguage, p.riskTolerance, p.monthlyIncome) from UserProfile p where p.user.id = :userId")
+    Optional<ProfileTraits> findTraitsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Page suivante des profils (par id croissant, après afterId) pour la reconstruction des sketches de pairs
+     */
+    @Query("select new com.tp.financial_coach_backend.profile.dto.PeerSample(" +
+            "p.id, p.country, p.age, p.monthlySavings, p.savingsRate) from UserProfile p " +
+            "where p.id > :afterId order by p.id")
+    List<PeerSample> findPeerSamplesAfter(@Param("afterId") long afterId, Pageable limit);
+
+    /**
+     * Catégories de budget des profils d'id dans ]afterId, lastId], en une requête pour toute la page
+     */
+    @Query("select new com.tp.financial_coach_backend.profile.dto.BudgetCategoryAmount(" +
+            "p.id, key(c), value(c)) from UserProfile p join p.budgetCategories c " +
+            "where p.id > :afterId and p.id <= :lastId")
+    List<BudgetCategoryAmount> findBudgetCategoriesBetween(@Param("afterId") long afterId,
+                                                           @Param("lastId") long lastId);
+
+    /**
+     * Suppression directe (objectifs et catégories compris), sans charger le profil
+     */
+    @Modifying
+    @Query("delete from UserProfile p where p.user.id = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
 }
@@ -2,43 +2,107 @@ package com.tp.financial_coach_backend.profile.service;
 
 import com.tp.financial_coach_backend.auth.entity.User;
 import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.common.concurrent.SingleFlight;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.query.QueryBudget;
 import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
 import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
 import com.tp.financial_coach_backend.profile.entity.UserProfile;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent.ChangeType;
 import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class UserProfileService {
 
     private final UserProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    // Lectures concurrentes d'un même profil : une seule requête, résultat partagé (à ne pas modifier)
+    private final SingleFlight<UUID, Optional<UserProfileResponse>> profileLoads;
+
+    // Constructeur manuel
+    public UserProfileService(
+            UserProfileRepository profileRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.profileRepository = profileRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.profileLoads = new SingleFlight<>("profile", meterRegistry);
+    }
+
+    /**
+     * Profil de l'utilisateur ; l'absence de profil (cas courant avant l'onboarding) n'est pas une exception
+     */
+    @QueryBudget(3)
+    public Result<UserProfileResponse> findProfile(UUID userId) {
+        return loadProfile(userId)
+                .map(Result::ok)
+                .orElseGet(() -> Result.error(ErrorCode.PROFILE_NOT_FOUND));
+    }
 
-    @Transactional(readOnly = true)
+    /**
+     * Pour les services qui exigent un profil : lève l'exception préallouée PROFILE_NOT_FOUND
+     */
+    @QueryBudget(3)
     public UserProfileResponse getProfileByUserId(UUID userId) {
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Profil non trouvé pour l'utilisateur ID: " + userId));
-        return mapToResponse(profile);
+        return loadProfile(userId).orElseThrow(ErrorCode.PROFILE_NOT_FOUND::exception);
     }
 
-    @Transactional
-    public UserProfileResponse createProfile(UUID userId, UserProfileRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé avec l'ID: " + userId));
+    /**
+     * Crée le profil. Deux créations simultanées passent toutes deux la vérification d'existence : la
+     * contrainte unique sur user_id départage, et la perdante reçoit PROFILE_ALREADY_EXISTS (409).
+     * La transaction est ouverte ici pour intercepter la violation, levée à l'insertion ou à la validation.
+     */
+    @QueryBudget(13)
+    public Result<UserProfileResponse> createProfile(UUID userId, UserProfileRequest request) {
+        try {
+            return writeTransaction.execute(tx -> insertProfile(userId, request));
+        } catch (DataIntegrityViolationException e) {
+            if (profileRepository.existsByUserId(userId)) {
+                return Result.error(ErrorCode.PROFILE_ALREADY_EXISTS);
+            }
+            throw e;
+        }
+    }
+
+    private Result<UserProfileResponse> insertProfile(UUID userId, UserProfileRequest request) {
+        Optional<User> user = userRepository.findById(userId);
+        if (user.isEmpty()) {
+            return Result.error(ErrorCode.USER_NOT_FOUND);
+        }
 
         if (profileRepository.existsByUserId(userId)) {
-            throw new RuntimeException("Un profil existe déjà pour cet utilisateur");
+            return Result.error(ErrorCode.PROFILE_ALREADY_EXISTS);
         }
 
         UserProfile profile = UserProfile.builder()
-                .user(user)
+                .user(user.get())
                 .fullName(request.getFullName())
                 .age(request.getAge())
                 .occupation(request.getOccupation())
@@ -55,13 +119,19 @@ public class UserProfileService {
                 .build();
 
         profile = profileRepository.save(profile);
-        return mapToResponse(profile);
+        UserProfileResponse response = mapToResponse(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId, ChangeType.CREATED, response));
+        return Result.ok(response);
     }
 
+    @QueryBudget(13)
     @Transactional
-    public UserProfileResponse updateProfile(UUID userId, UserProfileRequest request) {
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(() -> new RuntimeException("Profil non trouvé pour l'utilisateur ID: " + userId));
+    public Result<UserProfileResponse> updateProfile(UUID userId, UserProfileRequest request) {
+        Optional<UserProfile> existing = profileRepository.findByUserId(userId);
+        if (existing.isEmpty()) {
+            return Result.error(ErrorCode.PROFILE_NOT_FOUND);
+        }
+        UserProfile profile = existing.get();
 
         // Mettre à jour les informations personnelles
         if (request.getFullName() != null) profile.setFullName(request.getFullName());
@@ -85,20 +155,44 @@ public class UserProfileService {
         if (request.getHasCompletedOnboarding() != null) profile.setHasCompletedOnboarding(request.getHasCompletedOnboarding());
 
         profile = profileRepository.save(profile);
-        return mapToResponse(profile);
+        UserProfileResponse response = mapToResponse(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId, ChangeType.UPDATED, response));
+        return Result.ok(response);
     }
 
+    @QueryBudget(8)
     @Transactional
-    public void deleteProfile(UUID userId) {
-        if (!profileRepository.existsByUserId(userId)) {
-            throw new RuntimeException("Profil non trouvé pour l'utilisateur ID: " + userId);
+    public Result<Void> deleteProfile(UUID userId) {
+        if (profileRepository.deleteByUserId(userId) == 0) {
+            return Result.error(ErrorCode.PROFILE_NOT_FOUND);
         }
-        profileRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId, ChangeType.DELETED, null));
+        return Result.ok(null);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Répondu par le même chargement que getProfileByUserId (les deux sont appelés ensemble au démarrage de l'app)
+     */
+    @QueryBudget(3)
     public boolean hasProfile(UUID userId) {
-        return profileRepository.existsByUserId(userId);
+        return loadProfile(userId).isPresent();
+    }
+
+    /**
+     * Un appel arrivant après la validation d'un changement ne rejoint pas un chargement antérieur
+     */
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        profileLoads.forget(event.userId());
+    }
+
+    private Optional<UserProfileResponse> loadProfile(UUID userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Appel depuis une transaction : lecture directe, elle peut dépendre de ses propres écritures
+            return profileRepository.findByUserId(userId).map(this::mapToResponse);
+        }
+        return profileLoads.execute(userId, () -> readOnlyTransaction.execute(tx ->
+                profileRepository.findByUserId(userId).map(this::mapToResponse)));
     }
 
     private UserProfileResponse mapToResponse(UserProfile profile) {
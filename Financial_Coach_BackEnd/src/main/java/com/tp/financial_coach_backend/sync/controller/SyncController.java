@@ -0,0 +1,40 @@
+package com.tp.financial_coach_backend.sync.controller;
+
+import com.tp.financial_coach_backend.sync.dto.SyncResponse;
+import com.tp.financial_coach_backend.sync.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Récupérer l'ID de l'utilisateur authentifié
+     */
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = (String) authentication.getPrincipal();
+        return UUID.fromString(userId);
+    }
+
+    /**
+     * GET /api/sync?since=&limit= - Profil, messages et suppressions modifiés depuis le repère du client
+     * (since=0 ou absent : tout l'état)
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(syncService.changesSince(getCurrentUserId(), since, limit));
+    }
+}
@@ -0,0 +1,26 @@
+package com.tp.financial_coach_backend.sync.dto;
+
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Message ajouté depuis le repère du client, lu par projection
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncMessageResponse {
+
+    private String conversationId;
+    private Long seq;
+    private ChatMessage.Role role;
+    private String content;
+    private LocalDateTime createdAt;
+    private Long changeSeq;
+}
@@ -0,0 +1,38 @@
+package com.tp.financial_coach_backend.sync.dto;
+
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changements postérieurs au repère du client. Le client les applique dans l'ordre de leur changeSeq
+ * (une suppression puis une recréation du même profil, par exemple), puis conserve {@code watermark}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    // Repère à renvoyer en "since" au prochain appel
+    private long watermark;
+
+    // D'autres changements suivent : rappeler immédiatement avec le nouveau repère
+    private boolean hasMore;
+
+    // Le repère n'est plus exploitable (tombstones purgées) : l'état local doit être remplacé par cette réponse
+    private boolean fullResync;
+
+    // Profil complet (objectifs et catégories compris) s'il a changé, sinon null
+    private UserProfileResponse profile;
+
+    private Long profileChangeSeq;
+
+    private List<SyncMessageResponse> messages;
+
+    private List<SyncTombstoneResponse> tombstones;
+}
@@ -0,0 +1,21 @@
+package com.tp.financial_coach_backend.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneResponse {
+
+    // profile, conversation
+    private String type;
+
+    // userId pour le profil, identifiant de conversation côté client
+    private String key;
+
+    private Long changeSeq;
+}
@@ -0,0 +1,37 @@
+package com.tp.financial_coach_backend.sync.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Compteur de changements d'un utilisateur. Incrémenté dans la transaction de chaque changement :
+ * le verrou de la ligne, tenu jusqu'au commit, rend les numéros visibles dans l'ordre.
+ */
+@Entity
+@Table(name = "sync_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncState {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    // Dernier numéro attribué
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    // Tombstones purgées jusqu'à ce numéro inclus
+    @Column(name = "purged_seq", nullable = false)
+    private long purgedSeq;
+}
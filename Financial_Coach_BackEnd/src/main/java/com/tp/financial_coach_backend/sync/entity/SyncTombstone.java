@@ -0,0 +1,46 @@
+package com.tp.financial_coach_backend.sync.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Trace d'une suppression, transmise aux clients pour qu'ils effacent leur copie locale
+ */
+@Entity
+@Table(name = "sync_tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    public static final String PROFILE = "profile";
+    public static final String CONVERSATION = "conversation";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    // profile, conversation
+    @Column(name = "entity_type", nullable = false, length = 20, updatable = false)
+    private String entityType;
+
+    // Identifiant côté client : userId pour le profil, identifiant externe pour une conversation
+    @Column(name = "entity_key", nullable = false, length = 100, updatable = false)
+    private String entityKey;
+
+    @Column(name = "change_seq", nullable = false, updatable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
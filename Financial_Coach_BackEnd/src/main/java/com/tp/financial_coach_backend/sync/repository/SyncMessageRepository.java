@@ -0,0 +1,29 @@
+package com.tp.financial_coach_backend.sync.repository;
+
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import com.tp.financial_coach_backend.sync.dto.SyncMessageResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncMessageRepository extends org.springframework.data.repository.Repository<ChatMessage, Long> {
+
+    /**
+     * Messages de l'utilisateur de numéro compris dans ]after, upTo], par numéro croissant
+     * (index idx_chat_messages_conversation_change, une plage par conversation)
+     */
+    @Query("select new com.tp.financial_coach_backend.sync.dto.SyncMessageResponse(" +
+            "c.externalId, m.seq, m.role, m.content, m.createdAt, m.changeSeq) " +
+            "from ChatMessage m join Conversation c on c.id = m.conversationId " +
+            "where c.user.id = :userId and m.changeSeq > :after and m.changeSeq <= :upTo " +
+            "order by m.changeSeq")
+    List<SyncMessageResponse> findChanged(@Param("userId") UUID userId,
+                                          @Param("after") long after,
+                                          @Param("upTo") long upTo,
+                                          Limit limit);
+}
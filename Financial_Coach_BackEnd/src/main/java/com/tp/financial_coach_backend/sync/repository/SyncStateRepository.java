@@ -0,0 +1,52 @@
+package com.tp.financial_coach_backend.sync.repository;
+
+import com.tp.financial_coach_backend.sync.entity.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, UUID> {
+
+    /**
+     * Réserve {@code count} numéros : verrouille la ligne de l'utilisateur jusqu'à la fin de la transaction
+     */
+    @Modifying
+    @Query("update SyncState s set s.lastSeq = s.lastSeq + :count where s.userId = :userId")
+    int advance(@Param("userId") UUID userId, @Param("count") long count);
+
+    @Query("select s.lastSeq from SyncState s where s.userId = :userId")
+    long findLastSeq(@Param("userId") UUID userId);
+
+    // Ligne créée à l'inscription (insertion directe, sans lecture préalable). En HQL et non en SQL natif :
+    // Hibernate vide tout le cache de second niveau (utilisateurs compris) après une écriture native
+    @Modifying
+    @Query("insert into SyncState (userId, lastSeq, purgedSeq) values (:userId, 0, 0)")
+    int create(@Param("userId") UUID userId);
+
+    /**
+     * Donne au profil le dernier numéro réservé, sans le relire
+     */
+    @Modifying
+    @Query("update UserProfile p set p.changeSeq = (select s.lastSeq from SyncState s where s.userId = :userId) " +
+            "where p.user.id = :userId")
+    int stampProfile(@Param("userId") UUID userId);
+
+    @Query("select p.changeSeq from UserProfile p where p.user.id = :userId")
+    Optional<Long> findProfileChangeSeq(@Param("userId") UUID userId);
+
+    /**
+     * Note, pour chaque utilisateur concerné, le dernier numéro des tombstones sur le point d'être purgées
+     */
+    @Modifying
+    @Query("update SyncState s set s.purgedSeq = (select max(t.changeSeq) from SyncTombstone t " +
+            "where t.userId = s.userId and t.deletedAt < :cutoff) " +
+            "where exists (select t.id from SyncTombstone t where t.userId = s.userId and t.deletedAt < :cutoff)")
+    int markPurgedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,34 @@
+package com.tp.financial_coach_backend.sync.repository;
+
+import com.tp.financial_coach_backend.sync.entity.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    // Suppressions de numéro compris entre from et to (bornes incluses)
+    List<SyncTombstone> findByUserIdAndChangeSeqBetweenOrderByChangeSeq(UUID userId, long from, long to);
+
+    /**
+     * Tombstone portant le dernier numéro réservé, sans le relire
+     */
+    @Modifying
+    @Query("insert into SyncTombstone (userId, entityType, entityKey, changeSeq, deletedAt) " +
+            "select s.userId, :entityType, :entityKey, s.lastSeq, :deletedAt from SyncState s where s.userId = :userId")
+    int insertAtLastSeq(@Param("userId") UUID userId,
+                        @Param("entityType") String entityType,
+                        @Param("entityKey") String entityKey,
+                        @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("delete from SyncTombstone t where t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,98 @@
+package com.tp.financial_coach_backend.sync.service;
+
+import com.tp.financial_coach_backend.auth.event.UserRegisteredEvent;
+import com.tp.financial_coach_backend.profile.event.ProfileChangedEvent;
+import com.tp.financial_coach_backend.sync.entity.SyncTombstone;
+import com.tp.financial_coach_backend.sync.repository.SyncStateRepository;
+import com.tp.financial_coach_backend.sync.repository.SyncTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Numérote les changements synchronisables de chaque utilisateur (profil, messages, suppressions).
+ *
+ * Le numéro est réservé dans la transaction du changement en incrémentant sync_state.last_seq : le verrou
+ * de la ligne, tenu jusqu'au commit, fait que les numéros d'un utilisateur sont validés dans l'ordre.
+ * Un client qui a lu tout ce qui est inférieur ou égal à last_seq n'a donc rien manqué.
+ */
+@Service
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    private final SyncStateRepository stateRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    // Constructeur manuel
+    public ChangeLog(SyncStateRepository stateRepository, SyncTombstoneRepository tombstoneRepository) {
+        this.stateRepository = stateRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    /**
+     * Réserve {@code count} numéros consécutifs pour l'utilisateur et renvoie le premier
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long allocate(UUID userId, int count) {
+        advance(userId, count);
+        return stateRepository.findLastSeq(userId) - count + 1;
+    }
+
+    /**
+     * Enregistre la suppression d'une entité côté client (profil, conversation)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(UUID userId, String entityType, String entityKey) {
+        advance(userId, 1);
+        tombstoneRepository.insertAtLastSeq(userId, entityType, entityKey, LocalDateTime.now());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        stateRepository.create(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        if (event.type() == ProfileChangedEvent.ChangeType.DELETED) {
+            recordDeletion(event.userId(), SyncTombstone.PROFILE, event.userId().toString());
+        } else {
+            advance(event.userId(), 1);
+            stateRepository.stampProfile(event.userId());
+        }
+    }
+
+    /**
+     * Supprime les tombstones de plus de {@code app.sync.tombstone-retention-days} jours ; les clients
+     * dont le repère est antérieur devront tout resynchroniser
+     */
+    @Scheduled(cron = "${app.sync.purge-cron:0 45 4 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        stateRepository.markPurgedBefore(cutoff);
+        int purged = tombstoneRepository.deleteDeletedBefore(cutoff);
+        log.info("{} tombstones de synchronisation purgées", purged);
+    }
+
+    private void advance(UUID userId, int count) {
+        if (stateRepository.advance(userId, count) == 0) {
+            // Ligne manquante (compte créé sans passer par l'inscription) : créée au premier changement
+            stateRepository.create(userId);
+            stateRepository.advance(userId, count);
+        }
+    }
+}
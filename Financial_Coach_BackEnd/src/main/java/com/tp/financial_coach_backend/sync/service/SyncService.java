@@ -0,0 +1,117 @@
+package com.tp.financial_coach_backend.sync.service;
+
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.query.QueryBudget;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import com.tp.financial_coach_backend.sync.dto.SyncMessageResponse;
+import com.tp.financial_coach_backend.sync.dto.SyncResponse;
+import com.tp.financial_coach_backend.sync.dto.SyncTombstoneResponse;
+import com.tp.financial_coach_backend.sync.entity.SyncState;
+import com.tp.financial_coach_backend.sync.repository.SyncMessageRepository;
+import com.tp.financial_coach_backend.sync.repository.SyncStateRepository;
+import com.tp.financial_coach_backend.sync.repository.SyncTombstoneRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class SyncService {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 2000;
+
+    private final SyncStateRepository stateRepository;
+    private final SyncMessageRepository messageRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final UserProfileService profileService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+
+    // Constructeur manuel
+    public SyncService(
+            SyncStateRepository stateRepository,
+            SyncMessageRepository messageRepository,
+            SyncTombstoneRepository tombstoneRepository,
+            UserProfileService profileService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.stateRepository = stateRepository;
+        this.messageRepository = messageRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.profileService = profileService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Transaction non readOnly : toujours servie par la primaire
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Changements de numéro &gt; {@code since}, bornés par le dernier numéro validé lu en début d'appel
+     * (les changements en cours de validation seront rendus au prochain appel). Au plus {@code limit}
+     * messages : au-delà, {@code hasMore} et un repère intermédiaire.
+     *
+     * Lu sur le réplica ; un repère plus récent que le réplica (repère obtenu de la primaire, réplica en
+     * retard) est relu sur la primaire au lieu de forcer une resynchronisation complète.
+     */
+    @QueryBudget(8)
+    public SyncResponse changesSince(UUID userId, long since, Integer limit) {
+        SyncResponse response = readOnlyTransaction.execute(tx -> read(userId, since, limit, false));
+        if (response == null) {
+            response = primaryTransaction.execute(tx -> read(userId, since, limit, true));
+        }
+        return response;
+    }
+
+    // null si le repère dépasse le dernier numéro lu hors de la primaire
+    private SyncResponse read(UUID userId, long since, Integer limit, boolean primary) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        SyncState state = stateRepository.findById(userId).orElse(null);
+        long lastSeq = state == null ? 0L : state.getLastSeq();
+        long purgedSeq = state == null ? 0L : state.getPurgedSeq();
+        if (since > lastSeq && !primary) {
+            return null;
+        }
+
+        // Repère inconnu du serveur, ou tombstones manquées car déjà purgées : tout est renvoyé
+        boolean fullResync = since <= 0 || since > lastSeq || since < purgedSeq;
+        long after = fullResync ? 0L : since;
+
+        List<SyncMessageResponse> messages = messageRepository.findChanged(userId, after, lastSeq, Limit.of(size));
+        boolean hasMore = messages.size() == size;
+        long upTo = hasMore ? messages.get(size - 1).getChangeSeq() : lastSeq;
+
+        Long profileSeq = stateRepository.findProfileChangeSeq(userId).orElse(null);
+        UserProfileResponse profile = null;
+        if (profileSeq != null && profileSeq > after && profileSeq <= upTo) {
+            // Supprimé entre-temps : sa tombstone viendra au prochain appel
+            Result<UserProfileResponse> loaded = profileService.findProfile(userId);
+            profile = loaded.isOk() ? loaded.orElseThrow() : null;
+        }
+
+        // Après une resynchronisation complète le client repart de zéro : les suppressions passées sont inutiles
+        List<SyncTombstoneResponse> tombstones = fullResync ? List.of() : tombstoneRepository
+                .findByUserIdAndChangeSeqBetweenOrderByChangeSeq(userId, after + 1, upTo).stream()
+                .map(t -> SyncTombstoneResponse.builder()
+                        .type(t.getEntityType())
+                        .key(t.getEntityKey())
+                        .changeSeq(t.getChangeSeq())
+                        .build())
+                .toList();
+
+        return SyncResponse.builder()
+                .watermark(upTo)
+                .hasMore(hasMore)
+                .fullResync(fullResync)
+                .profile(profile)
+                .profileChangeSeq(profile != null ? profileSeq : null)
+                .messages(messages)
+                .tombstones(tombstones)
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+-- Baux des tâches planifiées qu'une seule instance doit exécuter à la fois
+
+create table job_leases (
+    name varchar(100) not null,
+    locked_until timestamp(6) not null,
+    constraint pk_job_leases primary key (name)
+);
+
+-- Reconstruction nocturne des sketches de comparaison (PeerComparisonService)
+insert into job_leases (name, locked_until) values ('peer-sketch-rebuild', current_timestamp);
@@ -0,0 +1,31 @@
+-- Contraintes du schéma de référence renommées selon la convention des migrations (pk_, uk_, fk_)
+-- Les contraintes uniques sont recréées : sous H2, l'index garde sinon l'ancien nom.
+
+alter table users rename constraint users_pkey to pk_users;
+alter table users drop constraint users_email_key;
+alter table users add constraint uk_users_email unique (email);
+
+alter table roles rename constraint roles_pkey to pk_roles;
+alter table roles drop constraint roles_name_key;
+alter table roles add constraint uk_roles_name unique (name);
+
+-- Clé primaire (user_id, role_id) : les rôles d'un utilisateur sont lus par user_id
+alter table user_roles drop constraint user_roles_pkey;
+alter table user_roles add constraint pk_user_roles primary key (user_id, role_id);
+alter table user_roles rename constraint FKhfh9dx7w3ubf1co1vdev94g3f to fk_user_roles_user;
+alter table user_roles rename constraint FKh8ciramu9cc9q3qcqiv4ue8a6 to fk_user_roles_role;
+
+alter table refresh_tokens rename constraint refresh_tokens_pkey to pk_refresh_tokens;
+alter table refresh_tokens drop constraint refresh_tokens_token_key;
+alter table refresh_tokens add constraint uk_refresh_tokens_token unique (token);
+alter table refresh_tokens rename constraint FK1lih5y2npsf8u5o3vhdb9y0os to fk_refresh_tokens_user;
+
+alter table user_profiles rename constraint user_profiles_pkey to pk_user_profiles;
+alter table user_profiles drop constraint user_profiles_user_id_key;
+alter table user_profiles add constraint uk_user_profiles_user unique (user_id);
+alter table user_profiles rename constraint FKjcad5nfve11khsnpwj1mv8frj to fk_user_profiles_user;
+
+alter table user_financial_goals rename constraint FKa7adig7xp2qxtbmwpnpoa3faw to fk_user_financial_goals_profile;
+
+alter table user_budget_categories rename constraint user_budget_categories_pkey to pk_user_budget_categories;
+alter table user_budget_categories rename constraint FKej9nj5aq5gkh2pdgqfplabrdm to fk_user_budget_categories_profile;
@@ -0,0 +1,18 @@
+-- Montants en centimes (Money) : les valeurs décimales existantes sont converties avant la
+-- suppression des colonnes float, arrondies au centime le plus proche
+
+alter table user_profiles add column monthly_income_cents bigint;
+alter table user_profiles add column monthly_savings_cents bigint;
+
+update user_profiles
+set monthly_income_cents = cast(round(monthly_income * 100) as bigint),
+    monthly_savings_cents = cast(round(monthly_savings * 100) as bigint);
+
+alter table user_profiles drop column monthly_income;
+alter table user_profiles drop column monthly_savings;
+
+alter table user_budget_categories add column amount_cents bigint;
+
+update user_budget_categories set amount_cents = cast(round(amount * 100) as bigint);
+
+alter table user_budget_categories drop column amount;
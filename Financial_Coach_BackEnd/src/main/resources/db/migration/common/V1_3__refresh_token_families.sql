@@ -0,0 +1,8 @@
+-- Familles de refresh tokens : détection de la réutilisation d'un token déjà échangé
+-- (les tokens émis avant restent sans famille et ne sont révoqués qu'individuellement)
+
+alter table refresh_tokens add column family_id uuid;
+alter table refresh_tokens add column rotated_at timestamp(6);
+alter table refresh_tokens add column revoked boolean default false not null;
+
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
@@ -0,0 +1,11 @@
+-- Liste de révocation des access tokens (jti), purgée une fois le token expiré
+
+create table revoked_tokens (
+    jti varchar(36) not null,
+    user_id uuid,
+    expires_at timestamp(6) not null,
+    revoked_at timestamp(6),
+    constraint pk_revoked_tokens primary key (jti)
+);
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,14 @@
+-- Clés de signature RS256 avec rotation ; les refresh tokens signés RS256 dépassent 500 caractères
+
+create table jwt_signing_keys (
+    kid varchar(64) not null,
+    algorithm varchar(16) not null,
+    public_key bytea not null,
+    private_key bytea not null,
+    activates_at timestamp(6) not null,
+    expires_at timestamp(6),
+    created_at timestamp(6),
+    constraint pk_jwt_signing_keys primary key (kid)
+);
+
+alter table refresh_tokens alter column token set data type varchar(1024);
@@ -0,0 +1,12 @@
+-- Sketches de distribution par segment de pairs (comparaisons anonymisées)
+
+create table peer_sketches (
+    id bigint generated by default as identity,
+    segment_key varchar(150) not null,
+    metric varchar(150) not null,
+    sample_size bigint not null,
+    data bytea not null,
+    updated_at timestamp(6),
+    constraint pk_peer_sketches primary key (id),
+    constraint uk_peer_sketches_segment_metric unique (segment_key, metric)
+);
@@ -0,0 +1,10 @@
+-- Contexte de coaching sérialisé par utilisateur, versionné (ETag)
+
+create table coaching_contexts (
+    user_id uuid not null,
+    etag varchar(64) not null,
+    payload bytea not null,
+    version bigint not null,
+    updated_at timestamp(6),
+    constraint pk_coaching_contexts primary key (user_id)
+);
@@ -0,0 +1,28 @@
+-- Conversations du chat et leurs messages (identifiants de messages alloués par blocs de 50)
+
+create sequence chat_messages_seq start with 1 increment by 50;
+
+create table conversations (
+    id uuid not null,
+    user_id uuid not null,
+    external_id varchar(100) not null,
+    title varchar(255),
+    last_seq bigint not null,
+    message_count bigint not null,
+    last_message_at timestamp(6),
+    created_at timestamp(6),
+    constraint pk_conversations primary key (id),
+    constraint uk_conversations_user_external unique (user_id, external_id),
+    constraint fk_conversations_user foreign key (user_id) references users (id)
+);
+
+create table chat_messages (
+    id bigint not null,
+    conversation_id uuid not null,
+    seq bigint not null,
+    role varchar(20) not null check (role in ('USER', 'ASSISTANT', 'SYSTEM')),
+    content varchar(10000) not null,
+    created_at timestamp(6) not null,
+    constraint pk_chat_messages primary key (id),
+    constraint uk_chat_messages_conversation_seq unique (conversation_id, seq)
+);
@@ -0,0 +1,80 @@
+-- Schéma de référence : état produit par ddl-auto=update avant le passage à Flyway, à l'identique
+-- (noms de contraintes par défaut de PostgreSQL, clés étrangères nommées par Hibernate).
+-- Une base existante sans historique n'est marquée à cette version qu'après vérification de son
+-- schéma (FlywayConfig) ; les migrations V1_x l'amènent ensuite au modèle actuel comme une base neuve.
+-- SQL commun PostgreSQL / H2 (mode PostgreSQL).
+
+create table refresh_tokens (
+    created_at timestamp(6),
+    expiry_date timestamp(6) not null,
+    id uuid not null,
+    user_id uuid not null,
+    token varchar(500) not null,
+    constraint refresh_tokens_pkey primary key (id),
+    constraint refresh_tokens_token_key unique (token)
+);
+
+create table roles (
+    id bigserial not null,
+    name varchar(50) not null check (name in ('ROLE_USER', 'ROLE_ADMIN', 'ROLE_COACH')),
+    constraint roles_pkey primary key (id),
+    constraint roles_name_key unique (name)
+);
+
+create table user_budget_categories (
+    amount float(53),
+    profile_id bigint not null,
+    category varchar(255) not null,
+    constraint user_budget_categories_pkey primary key (profile_id, category)
+);
+
+create table user_financial_goals (
+    profile_id bigint not null,
+    goal varchar(255)
+);
+
+create table user_profiles (
+    age integer,
+    has_completed_onboarding boolean,
+    monthly_income float(53),
+    monthly_savings float(53),
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6),
+    user_id uuid not null,
+    city varchar(255),
+    country varchar(255),
+    currency varchar(255),
+    full_name varchar(255),
+    occupation varchar(255),
+    preferred_language varchar(255),
+    risk_tolerance varchar(255),
+    constraint user_profiles_pkey primary key (id),
+    constraint user_profiles_user_id_key unique (user_id)
+);
+
+create table user_roles (
+    role_id bigint not null,
+    user_id uuid not null,
+    constraint user_roles_pkey primary key (role_id, user_id)
+);
+
+create table users (
+    email_verified boolean not null,
+    enabled boolean not null,
+    created_at timestamp(6),
+    last_login timestamp(6),
+    updated_at timestamp(6),
+    id uuid not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    constraint users_pkey primary key (id),
+    constraint users_email_key unique (email)
+);
+
+alter table refresh_tokens add constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users (id);
+alter table user_budget_categories add constraint FKej9nj5aq5gkh2pdgqfplabrdm foreign key (profile_id) references user_profiles (id);
+alter table user_financial_goals add constraint FKa7adig7xp2qxtbmwpnpoa3faw foreign key (profile_id) references user_profiles (id);
+alter table user_profiles add constraint FKjcad5nfve11khsnpwj1mv8frj foreign key (user_id) references users (id);
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
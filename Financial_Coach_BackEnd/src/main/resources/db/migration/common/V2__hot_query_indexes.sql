@@ -0,0 +1,20 @@
+-- Index des requêtes fréquentes (plans vérifiés par SchemaIndexPlanTest).
+-- "if not exists" : certaines bases créées par ddl-auto=update peuvent déjà en avoir une partie.
+
+-- refresh_tokens : révocation de tous les tokens d'un utilisateur (deleteByUser)
+create index if not exists idx_refresh_tokens_user on refresh_tokens (user_id);
+
+-- refresh_tokens : purge planifiée des tokens expirés (deleteExpired)
+create index if not exists idx_refresh_tokens_expiry on refresh_tokens (expiry_date);
+
+-- user_profiles.user_id : déjà indexé par la contrainte uk_user_profiles_user (findByUserId)
+
+-- Collections du profil : chargées par profile_id à chaque lecture du profil
+-- (user_budget_categories est déjà couverte par sa clé primaire (profile_id, category))
+create index if not exists idx_user_financial_goals_profile on user_financial_goals (profile_id);
+
+-- user_roles : la clé primaire (user_id, role_id) ne couvre pas la jointure depuis roles
+create index if not exists idx_user_roles_role on user_roles (role_id);
+
+-- conversations : liste des conversations d'un utilisateur, les plus récentes d'abord
+create index if not exists idx_conversations_user_last_message on conversations (user_id, last_message_at);
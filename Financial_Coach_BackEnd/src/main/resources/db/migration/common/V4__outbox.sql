@@ -0,0 +1,29 @@
+-- Outbox transactionnelle : événements écrits avec le changement, publiés ensuite par OutboxRelay
+
+create table outbox_events (
+    id bigint generated by default as identity,
+    aggregate_type varchar(50) not null,
+    aggregate_id varchar(64) not null,
+    event_type varchar(50) not null,
+    payload varchar(10000),
+    created_at timestamp(6) not null,
+    delivery_seq bigint,
+    published_at timestamp(6),
+    attempts integer default 0 not null,
+    last_error varchar(500),
+    constraint pk_outbox_events primary key (id),
+    constraint uk_outbox_events_delivery_seq unique (delivery_seq)
+);
+
+-- Lot suivant du relais : "published_at is null order by id"
+create index idx_outbox_events_unpublished on outbox_events (published_at, id);
+
+create table outbox_cursors (
+    name varchar(100) not null,
+    last_seq bigint not null,
+    updated_at timestamp(6),
+    constraint pk_outbox_cursors primary key (name)
+);
+
+-- Curseur du relais, verrouillé à chaque passe (toujours présent)
+insert into outbox_cursors (name, last_seq, updated_at) values ('relay', 0, current_timestamp);
@@ -0,0 +1,13 @@
+-- Tableau de bord coach : clients d'un coach, filtrés puis triés par taux d'épargne (pagination par curseur)
+
+-- Coach suivant le client (affecté par un administrateur)
+alter table user_profiles add column coach_id uuid;
+alter table user_profiles add constraint fk_user_profiles_coach foreign key (coach_id) references users (id);
+
+-- Taux d'épargne stocké (recalculé par l'entité à chaque écriture) : clé de tri indexable
+alter table user_profiles add column savings_rate double precision;
+update user_profiles set savings_rate = monthly_savings_cents * 100.0 / monthly_income_cents
+where monthly_income_cents > 0 and monthly_savings_cents is not null;
+
+-- Pages "coach_id = ? and (savings_rate, user_id) après le curseur order by savings_rate desc, user_id"
+create index idx_user_profiles_coach_savings on user_profiles (coach_id, savings_rate desc, user_id);
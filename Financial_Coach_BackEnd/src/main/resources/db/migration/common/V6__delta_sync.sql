@@ -0,0 +1,41 @@
+-- Synchronisation différentielle (GET /api/sync) : chaque changement reçoit un numéro croissant propre à
+-- l'utilisateur, attribué sous le verrou de sa ligne sync_state (ordre des numéros = ordre de validation)
+
+create table sync_state (
+    user_id uuid not null,
+    last_seq bigint not null,
+    -- Les tombstones jusqu'à ce numéro ont été purgées : un client plus ancien doit tout resynchroniser
+    purged_seq bigint default 0 not null,
+    constraint pk_sync_state primary key (user_id),
+    constraint fk_sync_state_user foreign key (user_id) references users (id)
+);
+
+alter table user_profiles add column change_seq bigint;
+alter table chat_messages add column change_seq bigint;
+
+-- Suppressions (profil, conversation) à transmettre aux clients, conservées app.sync.tombstone-retention-days
+create table sync_tombstones (
+    id bigint generated by default as identity,
+    user_id uuid not null,
+    entity_type varchar(20) not null,
+    entity_key varchar(100) not null,
+    change_seq bigint not null,
+    deleted_at timestamp(6) not null,
+    constraint pk_sync_tombstones primary key (id)
+);
+
+-- Changements d'un utilisateur après le repère du client
+create index idx_sync_tombstones_user_seq on sync_tombstones (user_id, change_seq);
+create index idx_sync_tombstones_deleted_at on sync_tombstones (deleted_at);
+create index idx_chat_messages_conversation_change on chat_messages (conversation_id, change_seq);
+
+-- Données existantes : numéros distincts repris de l'id des messages, compteurs placés au-delà
+update chat_messages set change_seq = id;
+
+insert into sync_state (user_id, last_seq)
+select u.id, coalesce((select max(m.id) from chat_messages m
+                       join conversations c on c.id = m.conversation_id
+                       where c.user_id = u.id), 0) + 1
+from users u;
+
+update user_profiles set change_seq = (select s.last_seq from sync_state s where s.user_id = user_profiles.user_id);
@@ -0,0 +1,7 @@
+-- Messages rattachés à une conversation existante : une écriture différée qui arriverait après la
+-- suppression de sa conversation échoue au lieu de laisser des messages orphelins
+
+delete from chat_messages where conversation_id not in (select id from conversations);
+
+alter table chat_messages add constraint fk_chat_messages_conversation
+    foreign key (conversation_id) references conversations (id);
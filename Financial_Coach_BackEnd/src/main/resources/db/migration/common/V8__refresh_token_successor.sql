@@ -0,0 +1,6 @@
+-- Rotation des refresh tokens : lien vers le token échangé, pour renvoyer le même successeur à un
+-- échange concurrent (délai de grâce jwt.refresh-token-grace-ms) au lieu de révoquer la famille
+
+alter table refresh_tokens add column previous_id uuid;
+
+create index idx_refresh_tokens_previous on refresh_tokens (previous_id);
@@ -0,0 +1,10 @@
+-- Outbox : payload sans limite de taille (un gros profil ne doit pas annuler son enregistrement),
+-- nouvelles tentatives espacées et lettres mortes après outbox.relay.max-attempts échecs
+
+alter table outbox_events alter column payload set data type text;
+
+alter table outbox_events add column next_attempt_at timestamp(6);
+alter table outbox_events add column dead_at timestamp(6);
+
+-- Événement antérieur du même agrégat en attente de nouvelle tentative (ordre par agrégat)
+create index idx_outbox_events_aggregate on outbox_events (aggregate_id, id);
@@ -0,0 +1,15 @@
+-- Emails stockés en minuscules (User.normalizeEmail) : inscription et connexion insensibles à la casse.
+-- Des comptes ne différant que par la casse doivent être fusionnés à la main avant cette migration.
+
+do $$
+begin
+    if exists (select 1 from users group by lower(email) having count(*) > 1) then
+        raise exception 'Comptes en double à la casse près dans users : à fusionner avant la migration V10';
+    end if;
+end $$;
+
+update users set email = lower(email) where email <> lower(email);
+
+-- L'index d'expression de V3 devient unique : aucun doublon à la casse près, même hors application
+drop index if exists idx_users_email_lower;
+create unique index uk_users_email_lower on users (lower(email));
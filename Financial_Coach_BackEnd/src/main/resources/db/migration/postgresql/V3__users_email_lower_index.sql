@@ -0,0 +1,3 @@
+-- Recherche d'email insensible à la casse (UserRepository.existsByEmailIgnoreCase).
+-- Index d'expression propre à PostgreSQL : H2 ne le supporte pas, d'où l'emplacement {vendor}.
+create index if not exists idx_users_email_lower on users (lower(email));
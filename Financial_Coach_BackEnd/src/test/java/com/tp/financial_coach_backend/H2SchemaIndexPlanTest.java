@@ -0,0 +1,96 @@
+package com.tp.financial_coach_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution H2 (EXPLAIN) des requêtes fréquentes sur le schéma issu des migrations communes.
+ * Ce ne sont pas les plans de production : H2 indexe d'office les clés étrangères, contrairement à PostgreSQL,
+ * d'où la vérification que l'index nommé de la migration existe. Les plans PostgreSQL, index lower(email)
+ * compris, sont vérifiés par {@link PostgresIndexPlanTest} sur une vraie base.
+ */
+@SpringBootTest
+class H2SchemaIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void userByEmailUsesUniqueConstraintIndex() {
+        assertThat(explain("select id from users where email = 'jean@example.com'"))
+                .contains("uk_users_email");
+    }
+
+    @Test
+    void refreshTokensByUserUseIndex() {
+        assertThat(explain("select id from refresh_tokens where user_id = random_uuid()"))
+                .doesNotContain("tablescan")
+                .contains(": user_id =");
+        assertThat(indexExists("refresh_tokens", "idx_refresh_tokens_user")).isTrue();
+    }
+
+    @Test
+    void expiredRefreshTokensPurgeUsesIndex() {
+        assertThat(explain("select id from refresh_tokens where expiry_date < current_timestamp"))
+                .contains("idx_refresh_tokens_expiry");
+    }
+
+    @Test
+    void profileByUserUsesUniqueConstraintIndex() {
+        assertThat(explain("select id from user_profiles where user_id = random_uuid()"))
+                .contains("uk_user_profiles_user");
+    }
+
+    @Test
+    void profileCollectionsByProfileUseIndex() {
+        assertThat(explain("select goal from user_financial_goals where profile_id = 1"))
+                .doesNotContain("tablescan")
+                .contains(": profile_id =");
+        assertThat(indexExists("user_financial_goals", "idx_user_financial_goals_profile")).isTrue();
+        assertThat(explain("select category, amount_cents from user_budget_categories where profile_id = 1"))
+                .doesNotContain("tablescan")
+                .contains(": profile_id =");
+    }
+
+    @Test
+    void conversationListUsesIndex() {
+        assertThat(explain("select id from conversations where user_id = random_uuid() order by last_message_at desc"))
+                .doesNotContain("tablescan")
+                .contains(": user_id =");
+        assertThat(indexExists("conversations", "idx_conversations_user_last_message")).isTrue();
+    }
+
+    @Test
+    void coachDashboardPageUsesIndex() {
+        assertThat(explain("select user_id from user_profiles where coach_id = random_uuid() "
+                + "and (savings_rate < 50 or (savings_rate = 50 and user_id > random_uuid())) "
+                + "order by savings_rate desc, user_id"))
+                .contains("idx_user_profiles_coach_savings");
+    }
+
+    @Test
+    void syncChangesUseIndexes() {
+        assertThat(explain("select entity_key from sync_tombstones where user_id = random_uuid() "
+                + "and change_seq between 10 and 20 order by change_seq"))
+                .contains("idx_sync_tombstones_user_seq");
+        assertThat(explain("select id from sync_tombstones where deleted_at < current_timestamp"))
+                .contains("idx_sync_tombstones_deleted_at");
+        assertThat(explain("select id from chat_messages where conversation_id = random_uuid() and change_seq > 10"))
+                .contains("idx_chat_messages_conversation_change");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+    }
+
+    private boolean indexExists(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where table_name = ? and index_name = ?",
+                Integer.class, table, index);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.tp.financial_coach_backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution PostgreSQL des requêtes fréquentes, sur le schéma des migrations common + postgresql.
+ *
+ * Les tables d'une base de test sont trop petites pour que le planificateur préfère un index : les parcours
+ * séquentiels sont désactivés (enable_seqscan = off), on vérifie donc qu'un index adapté existe et sert la requête.
+ *
+ * Désactivé par défaut ; à lancer sur une base vide ou déjà migrée, exemple :
+ * {@code ./mvnw test -Dtest=PostgresIndexPlanTest -Dplan.jdbc-url=jdbc:postgresql://localhost:5433/authdb
+ * -Dplan.user=authuser -Dplan.password=authpass123}
+ */
+@EnabledIfSystemProperty(named = "plan.jdbc-url", matches = ".+")
+class PostgresIndexPlanTest {
+
+    private static final String SOME_UUID = "'00000000-0000-0000-0000-000000000000'::uuid";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        String url = System.getProperty("plan.jdbc-url");
+        String user = System.getProperty("plan.user");
+        String password = System.getProperty("plan.password");
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    static void close() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void userByLowerEmailUsesExpressionIndex() throws Exception {
+        assertThat(explain("select id from users where lower(email) = lower('Jean@Example.com')"))
+                .contains("uk_users_email_lower");
+    }
+
+    @Test
+    void userByEmailUsesUniqueConstraintIndex() throws Exception {
+        assertThat(explain("select id from users where email = 'jean@example.com'"))
+                .contains("uk_users_email");
+    }
+
+    @Test
+    void refreshTokensUseIndexes() throws Exception {
+        assertThat(explain("select id from refresh_tokens where user_id = " + SOME_UUID))
+                .contains("idx_refresh_tokens_user");
+        assertThat(explain("select id from refresh_tokens where expiry_date < current_timestamp"))
+                .contains("idx_refresh_tokens_expiry");
+    }
+
+    @Test
+    void profileAndCollectionsUseIndexes() throws Exception {
+        assertThat(explain("select id from user_profiles where user_id = " + SOME_UUID))
+                .contains("uk_user_profiles_user");
+        assertThat(explain("select goal from user_financial_goals where profile_id = 1"))
+                .contains("idx_user_financial_goals_profile");
+        assertThat(explain("select category, amount_cents from user_budget_categories where profile_id = 1"))
+                .contains("user_budget_categories_pkey");
+    }
+
+    @Test
+    void conversationListUsesIndex() throws Exception {
+        assertThat(explain("select id from conversations where user_id = " + SOME_UUID
+                + " order by last_message_at desc"))
+                .contains("idx_conversations_user_last_message");
+    }
+
+    @Test
+    void coachDashboardPageUsesIndex() throws Exception {
+        assertThat(explain("select user_id from user_profiles where coach_id = " + SOME_UUID
+                + " and (savings_rate < 50 or (savings_rate = 50 and user_id > " + SOME_UUID + "))"
+                + " order by savings_rate desc, user_id"))
+                .contains("idx_user_profiles_coach_savings");
+    }
+
+    @Test
+    void syncChangesUseIndexes() throws Exception {
+        assertThat(explain("select entity_key from sync_tombstones where user_id = " + SOME_UUID
+                + " and change_seq between 10 and 20 order by change_seq"))
+                .contains("idx_sync_tombstones_user_seq");
+        assertThat(explain("select id from sync_tombstones where deleted_at < current_timestamp"))
+                .contains("idx_sync_tombstones_deleted_at");
+        assertThat(explain("select id from chat_messages where conversation_id = " + SOME_UUID
+                + " and change_seq > 10"))
+                .contains("idx_chat_messages_conversation_change");
+    }
+
+    private static String explain(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("explain " + sql)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString().toLowerCase(Locale.ROOT);
+    }
+}
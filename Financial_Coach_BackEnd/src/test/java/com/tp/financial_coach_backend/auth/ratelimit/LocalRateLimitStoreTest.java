@@ -0,0 +1,23 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimitStoreTest {
+
+    private final LocalRateLimitStore store = new LocalRateLimitStore();
+
+    @Test
+    void burstBeyondCapacityIsRejectedWithRetryDelay() {
+        BucketSpec spec = new BucketSpec(3, 1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("login:ip:10.0.0.1", spec)).isZero();
+        }
+
+        long wait = store.tryConsume("login:ip:10.0.0.1", spec);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(60_000);
+        assertThat(store.tryConsume("login:ip:10.0.0.2", spec)).isZero();
+    }
+}
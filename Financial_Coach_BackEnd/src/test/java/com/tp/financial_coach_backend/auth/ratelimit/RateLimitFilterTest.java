@@ -0,0 +1,92 @@
+package com.tp.financial_coach_backend.auth.ratelimit;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Limitation de débit de /login : le seau (email, IP) n'empêche pas la connexion depuis une autre source,
+ * le seau par email borne les essais répartis entre plusieurs IP, et un corps trop volumineux est
+ * refusé (413) au lieu d'être tronqué.
+ * Chaque test utilise ses propres adresses IP, les seaux étant partagés par le contexte.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void emailBucketDoesNotLockOutOtherAddresses() throws Exception {
+        String email = "limite-" + UUID.randomUUID() + "@example.com";
+        authService.register(new RegisterRequest(email, "Password123!", "Password123!"));
+        String attacker = randomIp();
+
+        // Capacité par défaut du seau email : 5 essais
+        for (int i = 0; i < 5; i++) {
+            assertThat(login(attacker, email, "mauvais")).isEqualTo(401);
+        }
+        assertThat(login(attacker, email.toUpperCase(), "mauvais")).isEqualTo(429);
+
+        assertThat(login(randomIp(), email, "Password123!")).isEqualTo(200);
+    }
+
+    @Test
+    void emailBucketLimitsAttemptsSpreadOverAddresses() throws Exception {
+        String email = "reparti-" + UUID.randomUUID() + "@example.com";
+        authService.register(new RegisterRequest(email, "Password123!", "Password123!"));
+
+        // Capacité par défaut du seau par email : 20 essais, quelle que soit l'IP
+        for (int i = 0; i < 20; i++) {
+            assertThat(login(randomIp(), email, "mauvais")).isEqualTo(401);
+        }
+        assertThat(login(randomIp(), email, "mauvais")).isEqualTo(429);
+    }
+
+    @Test
+    void oversizeBodyIsRejected() throws Exception {
+        String padding = "x".repeat(16 * 1024);
+        String body = "{\"email\":\"limite@example.com\",\"password\":\"Password123!\",\"padding\":\"" + padding + "\"}";
+
+        int status = mockMvc.perform(post("/login")
+                        .with(request -> {
+                            request.setRemoteAddr(randomIp());
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse().getStatus();
+        assertThat(status).isEqualTo(413);
+    }
+
+    private int login(String ip, String email, String password) throws Exception {
+        return mockMvc.perform(post("/login")
+                        .with(request -> {
+                            request.setRemoteAddr(ip);
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private static String randomIp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255);
+    }
+}
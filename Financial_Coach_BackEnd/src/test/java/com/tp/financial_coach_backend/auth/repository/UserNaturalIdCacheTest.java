@@ -0,0 +1,70 @@
+package com.tp.financial_coach_backend.auth.repository;
+
+import com.tp.financial_coach_backend.auth.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserNaturalIdCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupByEmailIsServedFromCache() {
+        String email = UUID.randomUUID() + "@cache.test";
+        userRepository.save(User.builder().email(email).password("{noop}x").build());
+
+        userRepository.findByEmail(email);
+        long queriesAfterFirst = statistics.getPrepareStatementCount();
+        User cached = userRepository.findByEmail(email).orElseThrow();
+
+        assertThat(cached.getEmail()).isEqualTo(email);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queriesAfterFirst);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void emailAndPasswordChangesAreVisibleThroughTheCache() {
+        String email = UUID.randomUUID() + "@cache.test";
+        String newEmail = UUID.randomUUID() + "@cache.test";
+        User user = userRepository.save(User.builder().email(email).password("{noop}old").build());
+        userRepository.findByEmail(email);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setEmail(newEmail);
+            managed.setPassword("{noop}new");
+            managed.setEnabled(false);
+        });
+
+        assertThat(userRepository.findByEmail(email)).isEmpty();
+        User reloaded = userRepository.findByEmail(newEmail).orElseThrow();
+        assertThat(reloaded.getPassword()).isEqualTo("{noop}new");
+        assertThat(reloaded.getEnabled()).isFalse();
+    }
+}
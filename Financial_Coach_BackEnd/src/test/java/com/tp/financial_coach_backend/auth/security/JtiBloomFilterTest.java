@@ -0,0 +1,33 @@
+package com.tp.financial_coach_backend.auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JtiBloomFilterTest {
+
+    @Test
+    void addedIdsAreAlwaysReportedAndOthersRarely() {
+        JtiBloomFilter filter = new JtiBloomFilter(10_000, 0.001);
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            revoked.add(jti);
+            filter.add(jti);
+        }
+
+        assertThat(revoked).allMatch(filter::mightContain);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
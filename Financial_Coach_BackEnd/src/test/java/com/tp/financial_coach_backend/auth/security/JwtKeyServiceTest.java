@@ -0,0 +1,190 @@
+package com.tp.financial_coach_backend.auth.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.entity.JwtSigningKey;
+import com.tp.financial_coach_backend.auth.repository.JwtSigningKeyRepository;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Clés de signature RS256 : tokens vérifiables avec le JWKS publié, rotation avec recouvrement des clés,
+ * kid inconnu résolu par simple relecture en base, clés privées chiffrées au repos
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtKeyServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtKeyService keyService;
+
+    @Autowired
+    private JwtSigningKeyRepository keyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void tokensAreSignedWithRs256AndVerifiableWithThePublishedJwks() throws Exception {
+        String token = accessToken();
+        JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(token.split("\\.")[0]));
+        assertThat(header.get("alg").asText()).isEqualTo("RS256");
+        String kid = header.get("kid").asText();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/.well-known/jwks.json")).andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Cache-Control")).contains("max-age=300");
+
+        JsonNode jwk = null;
+        for (JsonNode key : objectMapper.readTree(response.getContentAsString(StandardCharsets.UTF_8)).get("keys")) {
+            if (kid.equals(key.get("kid").asText())) {
+                jwk = key;
+            }
+        }
+        assertThat(jwk).isNotNull();
+        assertThat(jwk.get("kty").asText()).isEqualTo("RSA");
+        assertThat(jwk.get("alg").asText()).isEqualTo("RS256");
+
+        // Vérification indépendante du service, comme le ferait un consommateur du JWKS
+        PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("n").asText())),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("e").asText()))));
+        String userId = Jwts.parserBuilder().setSigningKey(publicKey).build()
+                .parseClaimsJws(token).getBody().get("userId", String.class);
+        assertThat(userId).isNotBlank();
+    }
+
+    @Test
+    void rotationPublishesTheNextKeyAheadAndKeepsTheOldOneValid() {
+        keyService.rotate();
+        String oldKid = keyService.activeKey().kid();
+        String oldToken = accessToken();
+
+        // Clé active en fin de période : la suivante est publiée sans signer encore
+        ReflectionTestUtils.setField(keyService, "rotationIntervalHours", 1L);
+        try {
+            keyService.rotate();
+        } finally {
+            ReflectionTestUtils.setField(keyService, "rotationIntervalHours", 720L);
+        }
+        assertThat(keyService.activeKey().kid()).isEqualTo(oldKid);
+        JwtSigningKey next = transactionTemplate.execute(tx -> keyRepository.findUsable(LocalDateTime.now()).stream()
+                .filter(key -> key.getActivatesAt().isAfter(LocalDateTime.now()))
+                .findFirst().orElseThrow());
+        assertThat(publishedKids()).contains(oldKid, next.getKid());
+
+        // La clé suivante prend le relais ; l'ancienne reste publiée et vérifie ses tokens
+        transactionTemplate.executeWithoutResult(tx -> {
+            JwtSigningKey pending = keyRepository.findById(next.getKid()).orElseThrow();
+            pending.setActivatesAt(LocalDateTime.now());
+            keyRepository.save(pending);
+        });
+        keyService.rotate();
+        assertThat(keyService.activeKey().kid()).isEqualTo(next.getKid());
+        LocalDateTime oldExpiresAt = transactionTemplate.execute(tx ->
+                keyRepository.findById(oldKid).orElseThrow().getExpiresAt());
+        assertThat(oldExpiresAt).isAfter(LocalDateTime.now());
+        assertThat(publishedKids()).contains(oldKid, next.getKid());
+        assertThat(jwtService.extractUserId(oldToken)).isNotBlank();
+        assertThat(jwtService.extractUserId(accessToken())).isNotBlank();
+    }
+
+    @Test
+    void unknownKidOnlyReloadsKeysFromTheDatabase() throws Exception {
+        keyService.rotate();
+        String activeKid = keyService.activeKey().kid();
+
+        // Clé créée par un autre nœud, enregistrée avant le chiffrement au repos (clé privée en clair)
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair pair = generator.generateKeyPair();
+        String foreignKid = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(tx -> keyRepository.save(JwtSigningKey.builder()
+                .kid(foreignKid)
+                .algorithm(JwtKeyService.ALGORITHM)
+                .publicKey(pair.getPublic().getEncoded())
+                .privateKey(pair.getPrivate().getEncoded())
+                .activatesAt(LocalDateTime.now().minusSeconds(1))
+                .build()));
+        long count = keyRepository.count();
+
+        ((AtomicLong) ReflectionTestUtils.getField(keyService, "lastUnknownKidReload")).set(0);
+        assertThat(keyService.verificationKey(foreignKid)).isEqualTo(pair.getPublic());
+        assertThat(keyService.verificationKey(UUID.randomUUID().toString())).isNull();
+
+        // Aucune écriture : ni clé créée, ni clé retirée, ni clé réécrite
+        assertThat(keyRepository.count()).isEqualTo(count);
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertThat(keyRepository.findById(activeKid).orElseThrow().getExpiresAt()).isNull();
+            assertThat(keyRepository.findById(foreignKid).orElseThrow().getPrivateKey())
+                    .isEqualTo(pair.getPrivate().getEncoded());
+        });
+
+        // La tâche planifiée chiffre la clé historique et retire la précédente
+        keyService.rotate();
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertThat(keyRepository.findById(activeKid).orElseThrow().getExpiresAt()).isNotNull();
+            assertThat(keyRepository.findById(foreignKid).orElseThrow().getPrivateKey()[0]).isEqualTo((byte) 1);
+        });
+        assertThat(keyService.activeKey().privateKey()).isEqualTo(pair.getPrivate());
+    }
+
+    @Test
+    void privateKeysAreEncryptedAtRest() {
+        keyService.rotate();
+        byte[] plain = keyService.activeKey().privateKey().getEncoded();
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (JwtSigningKey key : keyRepository.findAll()) {
+                assertThat(key.getPrivateKey()[0]).isEqualTo((byte) 1);
+            }
+            byte[] stored = keyRepository.findById(keyService.activeKey().kid()).orElseThrow().getPrivateKey();
+            assertThat(stored).isNotEqualTo(plain);
+        });
+    }
+
+    private String accessToken() {
+        return authService.register(new RegisterRequest(
+                "cle-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!")).getAccessToken();
+    }
+
+    private List<String> publishedKids() {
+        return keyService.publicJwks().stream().map(jwk -> (String) jwk.get("kid")).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.LoginRequest;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.common.error.DomainException;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Emails insensibles à la casse : stockés en minuscules, un seul compte par email quelle que soit
+ * la casse, connexion possible avec n'importe quelle casse
+ */
+@SpringBootTest
+class AuthServiceEmailCaseTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void emailIsStoredInLowerCaseAndLoginIgnoresCase() {
+        String email = "Casse-" + UUID.randomUUID() + "@Example.com";
+        UUID userId = authService.register(new RegisterRequest(email, PASSWORD, PASSWORD)).getUserId();
+
+        String lower = email.toLowerCase(Locale.ROOT);
+        assertThat(userRepository.findById(userId).orElseThrow().getEmail()).isEqualTo(lower);
+
+        AuthResponse asTyped = authService.login(new LoginRequest(email, PASSWORD));
+        AuthResponse upper = authService.login(new LoginRequest(email.toUpperCase(Locale.ROOT), PASSWORD));
+        assertThat(asTyped.getUserId()).isEqualTo(userId);
+        assertThat(upper.getUserId()).isEqualTo(userId);
+    }
+
+    @Test
+    void registeringTheSameEmailWithAnotherCaseIsRejected() {
+        String email = "doublon-" + UUID.randomUUID() + "@example.com";
+        authService.register(new RegisterRequest(email, PASSWORD, PASSWORD));
+
+        assertThatThrownBy(() -> authService.register(
+                new RegisterRequest(email.toUpperCase(Locale.ROOT), PASSWORD, PASSWORD)))
+                .isInstanceOfSatisfying(DomainException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(ErrorCode.EMAIL_ALREADY_USED));
+    }
+}
@@ -0,0 +1,80 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.dto.LoginRequest;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mise à niveau des hashes à la connexion : un hash historique sans préfixe au coût cible reste tel quel,
+ * un coût inférieur à la cible est re-haché en tâche de fond au format préfixé
+ */
+@SpringBootTest
+class PasswordUpgradeServiceTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void legacyHashAtTargetCostIsKept() throws Exception {
+        String legacy = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        assertThat(passwordEncoder.upgradeEncoding(legacy)).isFalse();
+
+        String email = registerWithHash(legacy);
+        authService.login(new LoginRequest(email, PASSWORD));
+        Thread.sleep(500);
+
+        assertThat(storedHash(email)).isEqualTo(legacy);
+    }
+
+    @Test
+    void weakerLegacyHashIsRehashed() throws Exception {
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        assertThat(passwordEncoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(10).encode(PASSWORD))).isFalse();
+
+        String email = registerWithHash(legacy);
+        authService.login(new LoginRequest(email, PASSWORD));
+
+        String upgraded = legacy;
+        for (int i = 0; i < 50 && upgraded.equals(legacy); i++) {
+            Thread.sleep(100);
+            upgraded = storedHash(email);
+        }
+        assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, upgraded)).isTrue();
+    }
+
+    // Compte créé normalement, puis hash remplacé par un hash historique (sans préfixe)
+    private String registerWithHash(String hash) {
+        String email = "hash-" + UUID.randomUUID() + "@example.com";
+        UUID userId = authService.register(new RegisterRequest(email, PASSWORD, PASSWORD)).getUserId();
+        transactionTemplate.executeWithoutResult(tx ->
+                userRepository.replacePasswordHash(userId, userRepository.findById(userId).orElseThrow().getPassword(), hash));
+        return email;
+    }
+
+    private String storedHash(String email) {
+        return transactionTemplate.execute(tx -> userRepository.findByEmail(email).orElseThrow().getPassword());
+    }
+}
@@ -0,0 +1,80 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.RefreshTokenRequest;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.exception.AuthException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotation des refresh tokens : un échange concurrent du token tout juste échangé reçoit le même
+ * successeur (délai de grâce), une réutilisation après usage du successeur révoque la famille
+ */
+@SpringBootTest
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void repeatedRefreshWithinGraceReturnsTheSameSuccessor() {
+        AuthResponse login = register();
+
+        AuthResponse first = refresh(login.getRefreshToken());
+        AuthResponse retry = refresh(login.getRefreshToken());
+
+        assertThat(retry.getRefreshToken()).isEqualTo(first.getRefreshToken());
+        assertThat(retry.getAccessToken()).isNotBlank();
+        // Le successeur reste utilisable : la famille n'a pas été révoquée
+        assertThat(refresh(first.getRefreshToken()).getRefreshToken()).isNotEqualTo(first.getRefreshToken());
+    }
+
+    @Test
+    void concurrentRefreshesShareOneSuccessor() throws Exception {
+        AuthResponse login = register();
+        Callable<AuthResponse> call = () -> refresh(login.getRefreshToken());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<AuthResponse>> responses = pool.invokeAll(List.of(call, call));
+            String a = responses.get(0).get().getRefreshToken();
+            String b = responses.get(1).get().getRefreshToken();
+            assertThat(a).isEqualTo(b);
+            assertThat(refresh(a).getRefreshToken()).isNotBlank();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void reuseAfterTheSuccessorWasUsedRevokesTheFamily() {
+        AuthResponse login = register();
+        AuthResponse first = refresh(login.getRefreshToken());
+        AuthResponse second = refresh(first.getRefreshToken());
+
+        // Le successeur a déjà servi : l'ancien token n'a plus de successeur à rendre
+        assertThatThrownBy(() -> refresh(login.getRefreshToken())).isInstanceOf(AuthException.class);
+        assertThatThrownBy(() -> refresh(second.getRefreshToken())).isInstanceOf(AuthException.class);
+    }
+
+    private AuthResponse refresh(String refreshToken) {
+        return authService.refreshToken(new RefreshTokenRequest(refreshToken));
+    }
+
+    private AuthResponse register() {
+        return authService.register(new RegisterRequest(
+                "rotation-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.tp.financial_coach_backend.auth.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Révocation des access tokens : un jti absent du filtre de Bloom est tranché sans transaction ni
+ * accès en base, un jti révoqué est confirmé en base
+ */
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unknownJtiIsAnsweredWithoutTouchingTheDatabase() {
+        // Statistiques globales : une tâche planifiée peut tomber pendant une passe, d'où quelques essais
+        boolean untouched = false;
+        for (int attempt = 0; attempt < 5 && !untouched; attempt++) {
+            untouched = checksLeaveDatabaseUntouched();
+        }
+        assertThat(untouched).isTrue();
+    }
+
+    @Test
+    void revokedJtiIsConfirmedInTheDatabase() {
+        String jti = UUID.randomUUID().toString();
+        revocationService.revoke(jti, UUID.randomUUID(), new Date(System.currentTimeMillis() + 60_000));
+
+        assertThat(revocationService.isRevoked(jti)).isTrue();
+    }
+
+    private boolean checksLeaveDatabaseUntouched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long transactions = statistics.getTransactionCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(revocationService.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+
+        return statistics.getTransactionCount() == transactions && statistics.getPrepareStatementCount() == statements;
+    }
+}
@@ -0,0 +1,201 @@
+package com.tp.financial_coach_backend.chat.controller;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.LoginRequest;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.auth.service.ServiceAccountInitializer;
+import com.tp.financial_coach_backend.chat.service.AnswerCacheInvalidationFeed;
+import com.tp.financial_coach_backend.chat.service.CoachAnswerCacheService;
+import com.tp.financial_coach_backend.chat.service.ResponseCache;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.outbox.service.OutboxRelay;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Cache des réponses du coach : seul le compte de service (ROLE_ADMIN, provisionné au démarrage)
+ * enregistre une réponse et consulte pour le compte d'un utilisateur, selon l'empreinte de son profil et
+ * la langue de la conversation ; une invalidation atteint aussi les autres nœuds
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnswerCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private ServiceAccountInitializer serviceAccountInitializer;
+
+    @Autowired
+    private UserProfileRepository profileRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void onlyTheServiceAccountStoresAnswers() throws Exception {
+        String question = "Comment constituer une épargne de précaution " + UUID.randomUUID() + " ?";
+        AuthResponse user = client(450_000L);
+        AuthResponse admin = admin();
+
+        assertThat(store(user, user.getUserId(), question).getStatus()).isEqualTo(403);
+        assertThat(lookup(user, question).getStatus()).isEqualTo(204);
+
+        assertThat(store(admin, null, question).getStatus()).isEqualTo(400);
+        assertThat(store(admin, user.getUserId(), question).getStatus()).isEqualTo(204);
+        assertThat(lookup(user, question).getContentAsString(StandardCharsets.UTF_8)).contains("Trois mois de dépenses");
+
+        // Même tranche de revenu : réponse partagée ; autre tranche : rien
+        assertThat(lookup(client(400_000L), question).getStatus()).isEqualTo(200);
+        assertThat(lookup(client(900_000L), question).getStatus()).isEqualTo(204);
+
+        // Le profil change de tranche : l'empreinte est relue, sans état gardé par l'instance
+        profileService.updateProfile(user.getUserId(), UserProfileRequest.builder()
+                .monthlyIncome(Money.ofCents(900_000L))
+                .build()).orElseThrow();
+        assertThat(lookup(user, question).getStatus()).isEqualTo(204);
+    }
+
+    @Test
+    void serviceAccountLooksUpForAUserInTheConversationLanguage() throws Exception {
+        String question = "Faut-il rembourser son crédit par anticipation " + UUID.randomUUID() + " ?";
+        AuthResponse user = client(450_000L);
+        AuthResponse admin = admin();
+
+        assertThat(send(put("/api/chat/answers"), admin, question, "Trois mois de dépenses", user.getUserId(), "en")
+                .getStatus()).isEqualTo(204);
+
+        // Langue de la conversation prise en compte ; le profil (fr) ne suffit pas
+        assertThat(send(post("/api/chat/answers/lookup"), admin, question, null, user.getUserId(), "en")
+                .getStatus()).isEqualTo(200);
+        assertThat(send(post("/api/chat/answers/lookup"), admin, question, null, user.getUserId(), null)
+                .getStatus()).isEqualTo(204);
+        // Un utilisateur ordinaire ne consulte que pour lui-même
+        AuthResponse other = client(900_000L);
+        assertThat(send(post("/api/chat/answers/lookup"), other, question, null, user.getUserId(), "en")
+                .getStatus()).isEqualTo(204);
+    }
+
+    @Test
+    void invalidationReachesTheOtherNodes() throws Exception {
+        String question = "Quel budget pour les loisirs " + UUID.randomUUID() + " ?";
+        AuthResponse user = client(450_000L);
+        AuthResponse admin = admin();
+
+        // Autre nœud : son propre cache, alimenté par le flux livré de l'outbox
+        CoachAnswerCacheService otherNode = new CoachAnswerCacheService(
+                new ResponseCache(100, 60), profileRepository, outboxService);
+        AnswerCacheInvalidationFeed otherFeed = new AnswerCacheInvalidationFeed(outboxService, otherNode, objectMapper);
+        relay.relay();
+        otherFeed.start();
+        otherNode.store(user.getUserId(), question, "Dix pour cent", null);
+        assertThat(otherNode.lookup(user.getUserId(), question, null)).isPresent();
+
+        assertThat(mockMvc.perform(delete("/api/admin/chat/answers")
+                        .header("Authorization", "Bearer " + admin.getAccessToken())
+                        .param("question", question))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+        relay.relay();
+        otherFeed.poll();
+
+        assertThat(otherNode.lookup(user.getUserId(), question, null)).isEmpty();
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequestBuilder request,
+                                         AuthResponse auth, String question, String answer, UUID userId,
+                                         String language) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("question", question);
+        body.put("answer", answer);
+        body.put("userId", userId);
+        body.put("language", language);
+        return mockMvc.perform(request
+                        .header("Authorization", "Bearer " + auth.getAccessToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse store(AuthResponse auth, UUID userId, String question) throws Exception {
+        String body = "{\"question\":\"" + question + "\",\"answer\":\"Trois mois de dépenses\""
+                + (userId == null ? "" : ",\"userId\":\"" + userId + "\"") + "}";
+        return mockMvc.perform(put("/api/chat/answers")
+                        .header("Authorization", "Bearer " + auth.getAccessToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse lookup(AuthResponse auth, String question) throws Exception {
+        return mockMvc.perform(post("/api/chat/answers/lookup")
+                        .header("Authorization", "Bearer " + auth.getAccessToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\":\"" + question + "\"}"))
+                .andReturn().getResponse();
+    }
+
+    private AuthResponse client(long incomeCents) {
+        AuthResponse auth = register();
+        profileService.createProfile(auth.getUserId(), UserProfileRequest.builder()
+                .fullName("Client")
+                .preferredLanguage("fr")
+                .riskTolerance("medium")
+                .monthlyIncome(Money.ofCents(incomeCents))
+                .build()).orElseThrow();
+        return auth;
+    }
+
+    // Compte de service de l'agent, provisionné comme au démarrage (agent.service-account.*)
+    private AuthResponse admin() {
+        String email = "agent-" + UUID.randomUUID() + "@example.com";
+        ReflectionTestUtils.setField(serviceAccountInitializer, "email", email);
+        ReflectionTestUtils.setField(serviceAccountInitializer, "password", "Service123!");
+        try {
+            serviceAccountInitializer.ensureServiceAccount();
+        } finally {
+            ReflectionTestUtils.setField(serviceAccountInitializer, "email", "");
+        }
+        return authService.login(new LoginRequest(email, "Service123!"));
+    }
+
+    private AuthResponse register() {
+        return authService.register(new RegisterRequest(
+                "reponses-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+    }
+}
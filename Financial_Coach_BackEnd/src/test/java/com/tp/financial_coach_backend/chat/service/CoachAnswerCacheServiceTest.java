@@ -0,0 +1,40 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.tp.financial_coach_backend.common.money.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoachAnswerCacheServiceTest {
+
+    @Test
+    void nearIdenticalQuestionsShareTheSameKey() {
+        assertThat(CoachAnswerCacheService.normalize("Combien dois-je épargner ?"))
+                .isEqualTo(CoachAnswerCacheService.normalize("  combien DOIS je epargner"))
+                .isEqualTo("combien dois je epargner");
+        assertThat(CoachAnswerCacheService.normalize("?!")).isNull();
+    }
+
+    @Test
+    void fingerprintBucketsIncome() {
+        String low = CoachAnswerCacheService.fingerprint("fr", "medium", Money.ofCents(210_000));
+        String sameBand = CoachAnswerCacheService.fingerprint("FR", "Medium", Money.ofCents(290_000));
+        String higher = CoachAnswerCacheService.fingerprint("fr", "medium", Money.ofCents(310_000));
+
+        assertThat(low).isEqualTo(sameBand);
+        assertThat(low).isNotEqualTo(higher);
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsedEntry() {
+        ResponseCache cache = new ResponseCache(2, 60);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+}
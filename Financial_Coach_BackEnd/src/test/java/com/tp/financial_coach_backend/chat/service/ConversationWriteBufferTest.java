@@ -0,0 +1,264 @@
+package com.tp.financial_coach_backend.chat.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import com.tp.financial_coach_backend.chat.entity.Conversation;
+import com.tp.financial_coach_backend.chat.repository.ChatMessageRepository;
+import com.tp.financial_coach_backend.chat.repository.ConversationRepository;
+import com.tp.financial_coach_backend.chat.service.ConversationWriteBuffer.ThreadState;
+import com.tp.financial_coach_backend.common.error.DomainException;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.sync.service.ChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tampon d'écriture des conversations : ordre des numéros sous ajouts et écritures concurrents, remise en
+ * file et plafond après une écriture en échec, renumérotation quand deux instances écrivent la même
+ * conversation, suppression pendant une écriture.
+ * Le tampon est construit à part (hors planification) sur un dépôt de messages dont on peut faire
+ * échouer ou suspendre les insertions.
+ */
+@SpringBootTest
+class ConversationWriteBufferTest {
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ChatMessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuthService authService;
+
+    private ConversationWriteBuffer buffer;
+
+    // Insertions en échec pour les messages de cette conversation
+    private volatile UUID failingConversation;
+
+    // Insertions suspendues jusqu'à libération
+    private volatile CountDownLatch saveEntered;
+    private volatile CountDownLatch saveReleased;
+
+    @BeforeEach
+    void setUp() {
+        ChatMessageRepository messages = (ChatMessageRepository) Proxy.newProxyInstance(
+                ChatMessageRepository.class.getClassLoader(), new Class<?>[]{ChatMessageRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("saveAll")) {
+                        beforeSave((Iterable<?>) args[0]);
+                    }
+                    try {
+                        return method.invoke(messageRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        buffer = new ConversationWriteBuffer(conversationRepository, messages, userRepository, changeLog, transactionManager);
+        ReflectionTestUtils.setField(buffer, "recentWindow", 50);
+        ReflectionTestUtils.setField(buffer, "idleEvictionMillis", 600_000L);
+        ReflectionTestUtils.setField(buffer, "maxPending", 5);
+    }
+
+    @Test
+    void interleavedAppendsAndFlushesKeepSequenceOrder() throws Exception {
+        ReflectionTestUtils.setField(buffer, "maxPending", 1000);
+        UUID userId = register();
+        AtomicBoolean appending = new AtomicBoolean(true);
+
+        CompletableFuture<Void> flusher = CompletableFuture.runAsync(() -> {
+            while (appending.get()) {
+                buffer.flush();
+            }
+        });
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> appendAll(userId, "a", 100));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> appendAll(userId, "b", 100));
+        CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+        appending.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        buffer.flush();
+
+        Conversation conversation = conversationRepository.findByUserIdAndExternalId(userId, "fil").orElseThrow();
+        List<ChatMessage> stored = messageRepository.findByConversationIdOrderBySeqDesc(
+                conversation.getId(), PageRequest.of(0, 500));
+        assertThat(stored).hasSize(200);
+        for (int i = 0; i < stored.size(); i++) {
+            assertThat(stored.get(i).getSeq()).isEqualTo(200L - i);
+        }
+        // Chaque émetteur retrouve ses messages dans l'ordre où il les a ajoutés
+        assertThat(stored.stream().filter(m -> m.getContent().startsWith("a")).map(ChatMessage::getContent).toList())
+                .isEqualTo(expectedContents("a", 100));
+        assertThat(conversation.getLastSeq()).isEqualTo(200L);
+        assertThat(conversation.getMessageCount()).isEqualTo(200L);
+    }
+
+    @Test
+    void failedFlushRequeuesMessagesAndCapsThePending() {
+        UUID userId = register();
+        buffer.append(userId, "en-echec", ChatMessage.Role.USER, "1");
+        buffer.append(userId, "sain", ChatMessage.Role.USER, "ok");
+        ThreadState failing = buffer.cached(userId, "en-echec");
+        failingConversation = failing.getConversationId();
+
+        buffer.append(userId, "en-echec", ChatMessage.Role.ASSISTANT, "2");
+        buffer.flush();
+
+        // La conversation saine est écrite malgré l'échec de l'autre, qui garde ses messages
+        assertThat(storedSeqs(buffer.cached(userId, "sain").getConversationId())).containsExactly(1L);
+        assertThat(buffer.pendingBefore(failing, null)).extracting(ChatMessage::getSeq).containsExactly(2L, 1L);
+
+        for (int i = 3; i <= 5; i++) {
+            buffer.append(userId, "en-echec", ChatMessage.Role.USER, String.valueOf(i));
+        }
+        buffer.flush();
+        assertThatThrownBy(() -> buffer.append(userId, "en-echec", ChatMessage.Role.USER, "6"))
+                .isInstanceOf(DomainException.class)
+                .satisfies(e -> assertThat(((DomainException) e).getCode()).isEqualTo(ErrorCode.CONVERSATION_BACKLOG_FULL));
+
+        failingConversation = null;
+        buffer.flush();
+        assertThat(storedSeqs(failing.getConversationId())).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(buffer.append(userId, "en-echec", ChatMessage.Role.USER, "6").getSeq()).isEqualTo(6L);
+    }
+
+    @Test
+    void twoInstancesWritingTheSameConversationRenumberOnConflict() {
+        UUID userId = register();
+        ConversationWriteBuffer other = new ConversationWriteBuffer(
+                conversationRepository, messageRepository, userRepository, changeLog, transactionManager);
+        ReflectionTestUtils.setField(other, "recentWindow", 50);
+        ReflectionTestUtils.setField(other, "idleEvictionMillis", 600_000L);
+        ReflectionTestUtils.setField(other, "maxPending", 5);
+
+        // Les deux instances attribuent le seq 1 en mémoire
+        assertThat(buffer.append(userId, "partage", ChatMessage.Role.USER, "a1").getSeq()).isEqualTo(1L);
+        assertThat(other.append(userId, "partage", ChatMessage.Role.ASSISTANT, "b1").getSeq()).isEqualTo(1L);
+        buffer.flush();
+
+        // Conflit : b1 est renuméroté après le dernier seq en base, puis écrit à la passe suivante
+        other.flush();
+        ThreadState state = other.cached(userId, "partage");
+        assertThat(other.pendingBefore(state, null)).extracting(ChatMessage::getSeq).containsExactly(2L);
+        assertThat(other.append(userId, "partage", ChatMessage.Role.USER, "b2").getSeq()).isEqualTo(3L);
+        other.flush();
+        assertThat(other.pendingBefore(state, null)).isEmpty();
+
+        // Même chose dans l'autre sens
+        buffer.append(userId, "partage", ChatMessage.Role.USER, "a2");
+        buffer.flush();
+        buffer.flush();
+
+        UUID conversationId = state.getConversationId();
+        assertThat(storedSeqs(conversationId)).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(messageRepository.findByConversationIdOrderBySeqDesc(conversationId, PageRequest.of(0, 10)))
+                .extracting(ChatMessage::getContent).containsExactly("a2", "b2", "b1", "a1");
+        Conversation conversation = conversationRepository.findById(conversationId).orElseThrow();
+        assertThat(conversation.getLastSeq()).isEqualTo(4L);
+        assertThat(conversation.getMessageCount()).isEqualTo(4L);
+        // La fenêtre en mémoire de l'instance renumérotée inclut les messages de l'autre
+        assertThat(buffer.readWindow(buffer.cached(userId, "partage"), null, 10).orElseThrow())
+                .extracting(ChatMessage::getContent).containsExactly("a2", "b2", "b1", "a1");
+    }
+
+    @Test
+    void deleteWaitsForTheBatchBeingWritten() throws Exception {
+        UUID userId = register();
+        buffer.append(userId, "a-supprimer", ChatMessage.Role.USER, "bonjour");
+        UUID conversationId = buffer.cached(userId, "a-supprimer").getConversationId();
+
+        saveEntered = new CountDownLatch(1);
+        saveReleased = new CountDownLatch(1);
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+        assertThat(saveEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Même enchaînement que ConversationService.deleteConversation : attente hors transaction
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> deleting = CompletableFuture.runAsync(() -> {
+            buffer.discard(userId, "a-supprimer");
+            transactionTemplate.executeWithoutResult(tx -> {
+                messageRepository.deleteByConversationId(conversationId);
+                conversationRepository.deleteById(conversationId);
+            });
+        });
+        Thread.sleep(200);
+        assertThat(deleting).isNotDone();
+
+        saveReleased.countDown();
+        flushing.get(10, TimeUnit.SECONDS);
+        deleting.get(10, TimeUnit.SECONDS);
+
+        assertThat(storedSeqs(conversationId)).isEmpty();
+        assertThat(conversationRepository.findById(conversationId)).isEmpty();
+        assertThat(buffer.cached(userId, "a-supprimer")).isNull();
+    }
+
+    private void beforeSave(Iterable<?> batch) throws InterruptedException {
+        UUID failing = failingConversation;
+        for (Object message : batch) {
+            if (((ChatMessage) message).getConversationId().equals(failing)) {
+                throw new IllegalStateException("insertion refusée");
+            }
+        }
+        CountDownLatch entered = saveEntered;
+        if (entered != null) {
+            saveEntered = null;
+            entered.countDown();
+            saveReleased.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void appendAll(UUID userId, String prefix, int count) {
+        for (int i = 1; i <= count; i++) {
+            buffer.append(userId, "fil", ChatMessage.Role.USER, prefix + i);
+        }
+    }
+
+    // Contenus dans l'ordre d'ajout, relus du plus récent au plus ancien
+    private static List<String> expectedContents(String prefix, int count) {
+        return IntStream.rangeClosed(1, count)
+                .map(i -> count + 1 - i)
+                .mapToObj(i -> prefix + i)
+                .toList();
+    }
+
+    private List<Long> storedSeqs(UUID conversationId) {
+        return messageRepository.findByConversationIdOrderBySeqDesc(conversationId, PageRequest.of(0, 100)).stream()
+                .map(ChatMessage::getSeq)
+                .toList();
+    }
+
+    private UUID register() {
+        String email = "tampon-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}
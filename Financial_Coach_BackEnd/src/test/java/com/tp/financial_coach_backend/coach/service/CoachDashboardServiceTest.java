@@ -0,0 +1,120 @@
+package com.tp.financial_coach_backend.coach.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.entity.Role;
+import com.tp.financial_coach_backend.auth.entity.User;
+import com.tp.financial_coach_backend.auth.repository.RoleRepository;
+import com.tp.financial_coach_backend.auth.repository.UserRepository;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.coach.dto.CoachClientPageResponse;
+import com.tp.financial_coach_backend.coach.dto.CoachClientSummary;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tableau de bord coach : ordre des pages, reprise au curseur (ex aequo compris) et filtres
+ */
+@SpringBootTest
+class CoachDashboardServiceTest {
+
+    @Autowired
+    private CoachDashboardService dashboardService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void pagesWalkAllClientsBySavingsRateWithoutOffset() {
+        UUID coachId = coach();
+        UUID high1 = client(coachId, "FR", 100_000L, 30_000L);
+        UUID high2 = client(coachId, "FR", 200_000L, 60_000L);
+        UUID low = client(coachId, "MA", 100_000L, 10_000L);
+        UUID unknown = client(coachId, "FR", null, null);
+        client(coach(), "FR", 100_000L, 50_000L);
+
+        List<CoachClientSummary> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CoachClientPageResponse page = dashboardService.listClients(coachId, null, null, null, cursor, 2).orElseThrow();
+            seen.addAll(page.getClients());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertThat(seen).extracting(CoachClientSummary::getSavingsRate).containsExactly(30.0, 30.0, 10.0, null);
+        assertThat(seen).extracting(CoachClientSummary::getUserId)
+                .containsExactlyInAnyOrder(high1, high2, low, unknown);
+        assertThat(seen.get(3).getUserId()).isEqualTo(unknown);
+    }
+
+    @Test
+    void filtersAndInvalidInputAreReported() {
+        UUID coachId = coach();
+        client(coachId, "FR", 100_000L, 20_000L);
+        UUID moroccan = client(coachId, "MA", 100_000L, 5_000L);
+
+        CoachClientPageResponse page = dashboardService.listClients(coachId, "MA", null, null, null, null).orElseThrow();
+        assertThat(page.getClients()).extracting(CoachClientSummary::getUserId).containsExactly(moroccan);
+        assertThat(page.getNextCursor()).isNull();
+
+        assertThat(dashboardService.listClients(coachId, null, null, null, "pas-un-curseur", null))
+                .isEqualTo(Result.error(ErrorCode.INVALID_CURSOR));
+        assertThat(dashboardService.assignClient(moroccan, moroccan))
+                .isEqualTo(Result.error(ErrorCode.COACH_NOT_FOUND));
+    }
+
+    private UUID coach() {
+        UUID coachId = register("coach");
+        transactionTemplate.executeWithoutResult(tx -> {
+            Role role = roleRepository.findByName(Role.RoleName.ROLE_COACH)
+                    .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.ROLE_COACH).build()));
+            User user = userRepository.findById(coachId).orElseThrow();
+            user.addRole(role);
+        });
+        return coachId;
+    }
+
+    private UUID client(UUID coachId, String country, Long incomeCents, Long savingsCents) {
+        UUID userId = register("client");
+        profileService.createProfile(userId, UserProfileRequest.builder()
+                .fullName("Client " + country)
+                .country(country)
+                .riskTolerance("medium")
+                .monthlyIncome(incomeCents == null ? null : Money.ofCents(incomeCents))
+                .monthlySavings(savingsCents == null ? null : Money.ofCents(savingsCents))
+                .build()).orElseThrow();
+        dashboardService.assignClient(coachId, userId).orElseThrow();
+        return userId;
+    }
+
+    private UUID register(String prefix) {
+        String email = prefix + "-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}
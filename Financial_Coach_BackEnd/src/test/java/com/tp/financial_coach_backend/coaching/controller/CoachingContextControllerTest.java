@@ -0,0 +1,153 @@
+package com.tp.financial_coach_backend.coaching.controller;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.coaching.entity.CoachingContext;
+import com.tp.financial_coach_backend.coaching.repository.CoachingContextRepository;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /api/coaching/context : requêtes conditionnelles (ETag fort, faible, liste), nouvelle version après
+ * une modification du profil, résumé dans la langue du profil, et premières lectures concurrentes
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CoachingContextControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private CoachingContextRepository contextRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void conditionalRequestsAnswerNotModified() throws Exception {
+        AuthResponse auth = register();
+        profileService.createProfile(auth.getUserId(), profile("fr")).orElseThrow();
+
+        MockHttpServletResponse first = context(auth, null);
+        String etag = first.getHeader("ETag");
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(etag).startsWith("\"");
+
+        assertThat(context(auth, etag).getStatus()).isEqualTo(304);
+        assertThat(context(auth, "W/" + etag).getStatus()).isEqualTo(304);
+        assertThat(context(auth, "\"autre\", " + etag).getStatus()).isEqualTo(304);
+        assertThat(context(auth, "\"autre\"").getStatus()).isEqualTo(200);
+
+        // Le profil change : l'ancien ETag ne correspond plus
+        profileService.updateProfile(auth.getUserId(), UserProfileRequest.builder()
+                .monthlySavings(Money.ofCents(90_000))
+                .build()).orElseThrow();
+        MockHttpServletResponse updated = context(auth, etag);
+        assertThat(updated.getStatus()).isEqualTo(200);
+        assertThat(updated.getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(updated.getContentAsString()).contains("\"monthlySavings\":900.00");
+    }
+
+    @Test
+    void summaryFollowsPreferredLanguage() throws Exception {
+        AuthResponse french = register();
+        profileService.createProfile(french.getUserId(), profile("fr")).orElseThrow();
+        AuthResponse english = register();
+        profileService.createProfile(english.getUserId(), profile("en")).orElseThrow();
+
+        assertThat(context(french, null).getContentAsString(StandardCharsets.UTF_8))
+                .contains("Revenu mensuel: 3000.00 EUR | Épargne mensuelle: 450.00 EUR (15.0%)");
+        assertThat(context(english, null).getContentAsString(StandardCharsets.UTF_8))
+                .contains("Monthly income: 3000.00 EUR | Monthly savings: 450.00 EUR (15.0%)")
+                .contains("Top expenses: logement 900.00");
+    }
+
+    @Test
+    void concurrentFirstReadRereadsTheWinnersContext() throws Exception {
+        AuthResponse auth = register();
+        profileService.createProfile(auth.getUserId(), profile("fr")).orElseThrow();
+        contextRepository.deleteById(auth.getUserId());
+
+        // Une autre requête insère le contexte sans avoir encore validé : l'insertion de la lecture
+        // concurrente attend son verrou puis échoue sur la clé primaire
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> concurrent = new TransactionTemplate(transactionManager).execute(tx -> {
+                contextRepository.saveAndFlush(CoachingContext.builder()
+                        .userId(auth.getUserId())
+                        .etag("\"concurrent\"")
+                        .version(1L)
+                        .payload("{}".getBytes(StandardCharsets.UTF_8))
+                        .build());
+                Future<MockHttpServletResponse> read = executor.submit(() -> context(auth, null));
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return read;
+            });
+
+            MockHttpServletResponse response = concurrent.get();
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("ETag")).isEqualTo("\"concurrent\"");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void missingProfileIsNotFound() throws Exception {
+        assertThat(context(register(), null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse context(AuthResponse auth, String ifNoneMatch) throws Exception {
+        var request = get("/api/coaching/context").header("Authorization", "Bearer " + auth.getAccessToken());
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static UserProfileRequest profile(String language) {
+        return UserProfileRequest.builder()
+                .fullName("Contexte")
+                .preferredLanguage(language)
+                .monthlyIncome(Money.ofCents(300_000))
+                .monthlySavings(Money.ofCents(45_000))
+                .budgetCategories(Map.of("logement", Money.ofCents(90_000)))
+                .build();
+    }
+
+    private AuthResponse register() {
+        return authService.register(new RegisterRequest(
+                "contexte-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tp.financial_coach_backend.common.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> leader = pool.submit(() -> flight.execute("user", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "profil";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(pool.submit(() -> flight.execute("user", () -> {
+                    loads.incrementAndGet();
+                    return "autre";
+                })));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (count("coalesced") < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("profil");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("profil");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(7);
+    }
+
+    @Test
+    void completedLoadIsNotReused() {
+        assertThat(flight.execute("user", () -> "v1")).isEqualTo("v1");
+        assertThat(flight.execute("user", () -> "v2")).isEqualTo("v2");
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    @Test
+    void failureIsRethrownAndNotCached() {
+        assertThatThrownBy(() -> flight.execute("user", () -> {
+            throw new IllegalStateException("base indisponible");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.execute("user", () -> "ok")).isEqualTo("ok");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("single_flight.calls").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
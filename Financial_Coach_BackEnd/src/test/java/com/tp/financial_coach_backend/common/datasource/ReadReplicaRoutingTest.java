@@ -0,0 +1,101 @@
+package com.tp.financial_coach_backend.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deux pools H2 locaux : le réplica ouvre la même base mémoire, ce qui garde le schéma partagé ;
+ * la route est observée via les connexions actives de chaque pool. Sans URL de réplica (décidé au
+ * démarrage, pas au build AOT), la DataSource est le pool primaire seul.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:testdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=password"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(poolUsedWithin(true)).isEqualTo("replica");
+        assertThat(poolUsedWithin(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsTheirOwnWritesFromThePrimary() {
+        authenticateAs(UUID.randomUUID().toString());
+        poolUsedWithin(false);
+        assertThat(poolUsedWithin(true)).isEqualTo("primary");
+
+        authenticateAs(UUID.randomUUID().toString());
+        assertThat(poolUsedWithin(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void withoutReplicaUrlTheDataSourceIsThePrimaryPool() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(ReadReplicaDataSourceConfig.class)
+                .withBean(DataSourceProperties.class, () -> {
+                    DataSourceProperties properties = new DataSourceProperties();
+                    properties.setUrl("jdbc:h2:mem:routing-" + UUID.randomUUID());
+                    return properties;
+                })
+                .withPropertyValues("app.datasource.replica.jdbc-url=")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBean("dataSource")).isSameAs(context.getBean("primaryDataSource"));
+                    assertThat(context.getBeansOfType(DataSource.class)).doesNotContainKey("replicaDataSource");
+                });
+    }
+
+    private String poolUsedWithin(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement().execute("select 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return replicaDataSource.getHikariPoolMXBean().getActiveConnections() > 0 ? "replica" : "primary";
+        });
+    }
+
+    private static void authenticateAs(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.tp.financial_coach_backend.common.error;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ErrorMappingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void domainExceptionsArePreallocatedAndStackless() {
+        DomainException exception = ErrorCode.PROFILE_NOT_FOUND.exception();
+
+        assertThat(exception).isSameAs(ErrorCode.PROFILE_NOT_FOUND.exception());
+        assertThat(exception.getStackTrace()).isEmpty();
+        exception.addSuppressed(new IllegalStateException());
+        assertThat(exception.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void profileErrorsMapToPreciseStatuses() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "errors-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        String bearer = "Bearer " + auth.getAccessToken();
+
+        mockMvc.perform(get("/api/profile").header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/profile").header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+
+        String body = "{\"fullName\":\"Erreurs\"}";
+        mockMvc.perform(post("/api/profile").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/profile").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/profile").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Erreurs"));
+    }
+
+    @Test
+    void unknownConversationMapsToNotFound() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "errors-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        String bearer = "Bearer " + auth.getAccessToken();
+
+        mockMvc.perform(get("/api/conversations/inconnue/messages").header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/conversations/inconnue").header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/conversations/connue/messages").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"role\":\"USER\",\"content\":\"Bonjour\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/conversations/connue/messages").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages[0].content").value("Bonjour"));
+        mockMvc.perform(delete("/api/conversations/connue").header("Authorization", bearer))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void authFailuresCarryTheirMessage() throws Exception {
+        String email = "errors-" + UUID.randomUUID() + "@example.com";
+        authService.register(new RegisterRequest(email, "Password123!", "Password123!"));
+
+        mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"Mauvais123!\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Email ou mot de passe incorrect"));
+        mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"Password123!\",\"confirmPassword\":\"Password123!\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Cet email est déjà utilisé"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.tp.financial_coach_backend.common.id;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Banc d'essai UUID v4 / v7 sur PostgreSQL : débit d'insertion et taille de l'index de clé primaire.
+ *
+ * Désactivé par défaut ; exemple :
+ * {@code ./mvnw test -Dtest=UuidInsertBenchmarkTest -Dbench.jdbc-url=jdbc:postgresql://localhost:5433/authdb
+ * -Dbench.user=authuser -Dbench.password=authpass123 -Dbench.rows=5000000}
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc-url", matches = ".+")
+class UuidInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void compareV4AndV7() throws Exception {
+        long rows = Long.getLong("bench.rows", 2_000_000L);
+        try (Connection connection = DriverManager.getConnection(System.getProperty("bench.jdbc-url"),
+                System.getProperty("bench.user"), System.getProperty("bench.password"))) {
+            connection.setAutoCommit(false);
+            run(connection, "bench_uuid_v4", rows, UUID::randomUUID);
+            run(connection, "bench_uuid_v7", rows, UuidV7::next);
+        }
+    }
+
+    private static void run(Connection connection, String table, long rows, Supplier<UUID> ids) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id uuid primary key, user_id uuid not null, created_at timestamp not null)");
+            statement.execute("create index " + table + "_user on " + table + " (user_id)");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + table + " (id, user_id, created_at) values (?, ?, now())")) {
+            for (long i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, ids.get());
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("select pg_relation_size('" + table + "_pkey'), pg_relation_size('"
+                     + table + "_user'), pg_relation_size('" + table + "')")) {
+            sizes.next();
+            System.out.printf("%s : %d lignes en %.1f s (%.0f lignes/s) - index pk %d Mo, index user_id %d Mo, table %d Mo%n",
+                    table, rows, seconds, rows / seconds,
+                    sizes.getLong(1) >> 20, sizes.getLong(2) >> 20, sizes.getLong(3) >> 20);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tp.financial_coach_backend.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    @Test
+    void hasVersionVariantAndTimestamp() {
+        long now = System.currentTimeMillis();
+        UUID uuid = new UuidV7().next(now);
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isEqualTo(now);
+    }
+
+    @Test
+    void isStrictlyIncreasingWithinTheSameMillisecondAndWhenClockGoesBack() {
+        UuidV7 generator = new UuidV7();
+        long base = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(generator.next(base));
+        }
+        ids.add(generator.next(base - 1000));
+
+        for (int i = 1; i < ids.size(); i++) {
+            // Ordre des chaînes = ordre des octets = ordre d'un index uuid PostgreSQL
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+
+    @Test
+    void rejectsOtherVersions() {
+        assertThatThrownBy(() -> UuidV7.timestampMillis(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package com.tp.financial_coach_backend.common.idempotency;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileRepository profileRepository;
+
+    @Test
+    void inFlightKeysAreNeverEvicted() {
+        IdempotencyStore store = new IdempotencyStore(2, 60);
+        byte[] fingerprint = {1};
+        IdempotencyStore.Claim first = store.claim("a", fingerprint);
+        IdempotencyStore.Claim second = store.claim("b", fingerprint);
+
+        // Plein de clés en cours : refus plutôt que l'éviction de "a", qu'un retry réexécuterait
+        assertThat(store.claim("c", fingerprint)).isNull();
+        assertThat(store.claim("a", fingerprint).owner()).isFalse();
+
+        // "a" terminée : c'est elle qui est évincée, "b" toujours en cours reste réservée
+        store.complete(first.entry(), new IdempotencyStore.StoredResponse(201, null, new byte[0]));
+        assertThat(store.claim("c", fingerprint).owner()).isTrue();
+        assertThat(store.claim("b", fingerprint).entry()).isSameAs(second.entry());
+    }
+
+    @Test
+    void retriedRegistrationIsReplayed() throws Exception {
+        String body = registerBody("idem-" + UUID.randomUUID() + "@example.com");
+        String key = UUID.randomUUID().toString();
+
+        MockHttpServletResponse first = register(body, key);
+        MockHttpServletResponse retry = register(body, key);
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+
+        // Sans clé, le retry est réexécuté et échoue
+        assertThat(register(body, null).getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        String body = registerBody("idem-" + UUID.randomUUID() + "@example.com");
+        String key = UUID.randomUUID().toString();
+        Callable<MockHttpServletResponse> call = () -> register(body, key);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<MockHttpServletResponse>> responses = pool.invokeAll(List.of(call, call));
+            MockHttpServletResponse a = responses.get(0).get();
+            MockHttpServletResponse b = responses.get(1).get();
+
+            assertThat(a.getStatus()).isEqualTo(201);
+            assertThat(b.getStatus()).isEqualTo(201);
+            assertThat(a.getContentAsString()).isEqualTo(b.getContentAsString());
+            assertThat(List.of(a, b)).filteredOn(r -> r.getHeader(IdempotencyFilter.REPLAYED_HEADER) != null).hasSize(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        register(registerBody("idem-" + UUID.randomUUID() + "@example.com"), key);
+
+        MockHttpServletResponse other = register(registerBody("idem-" + UUID.randomUUID() + "@example.com"), key);
+
+        assertThat(other.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void retriedProfileCreationIsReplayedPerUser() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "idem-profile-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        String key = UUID.randomUUID().toString();
+
+        MockHttpServletResponse first = createProfile(auth, key);
+        MockHttpServletResponse retry = createProfile(auth, key);
+
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(profileRepository.findByUserId(auth.getUserId())).isPresent();
+
+        // La même clé chez un autre utilisateur n'est pas partagée
+        AuthResponse other = authService.register(new RegisterRequest(
+                "idem-profile-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        MockHttpServletResponse otherResponse = createProfile(other, key);
+        assertThat(otherResponse.getStatus()).isEqualTo(201);
+        assertThat(otherResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void oversizeBodyIsRejectedInsteadOfTruncated() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "idem-profile-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+
+        MockHttpServletResponse response = mockMvc.perform(post("/api/profile")
+                        .header("Authorization", "Bearer " + auth.getAccessToken())
+                        .header(IdempotencyFilter.HEADER, UUID.randomUUID().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"" + "x".repeat(16 * 1024) + "\"}"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(profileRepository.findByUserId(auth.getUserId())).isEmpty();
+    }
+
+    private MockHttpServletResponse register(String body, String key) throws Exception {
+        var request = post("/register").contentType(MediaType.APPLICATION_JSON).content(body);
+        if (key != null) {
+            request.header(IdempotencyFilter.HEADER, key);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse createProfile(AuthResponse auth, String key) throws Exception {
+        return mockMvc.perform(post("/api/profile")
+                        .header("Authorization", "Bearer " + auth.getAccessToken())
+                        .header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Idem\"}"))
+                .andReturn().getResponse();
+    }
+
+    private static String registerBody(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"Password123!\",\"confirmPassword\":\"Password123!\"}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.tp.financial_coach_backend.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les sérialiseurs écrits à la main produisent le même JSON que la sérialisation par défaut
+ */
+@SpringBootTest
+class DtoSerializerTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void authResponseMatchesDefaultSerialization() throws Exception {
+        AuthResponse response = AuthResponse.builder()
+                .userId(UUID.randomUUID())
+                .email("json@example.com")
+                .accessToken("eyJhbGciOiJSUzI1NiJ9.e30.sig")
+                .refreshToken("eyJhbGciOiJSUzI1NiJ9.e30.refresh")
+                .tokenType("Bearer")
+                .expiresIn(3600L)
+                .roles(Set.of("ROLE_USER"))
+                .build();
+
+        assertSameJson(response);
+        assertSameJson(new AuthResponse());
+    }
+
+    @Test
+    void userProfileResponseMatchesDefaultSerialization() throws Exception {
+        Map<String, Money> categories = new LinkedHashMap<>();
+        categories.put("logement", Money.ofCents(90_050));
+        categories.put("loisirs", null);
+        UserProfileResponse response = UserProfileResponse.builder()
+                .id(42L)
+                .userId(UUID.randomUUID().toString())
+                .email("json@example.com")
+                .fullName("Jeanne \"JSON\" Dupont")
+                .age(34)
+                .occupation("Ingénieure")
+                .country("France")
+                .city("Lyon")
+                .monthlyIncome(Money.ofCents(320_000))
+                .monthlySavings(Money.ofCents(48_000))
+                .savingsRate(15.0)
+                .riskTolerance("MODERATE")
+                .financialGoals(List.of("retraite", "voyage"))
+                .budgetCategories(categories)
+                .preferredLanguage("fr")
+                .currency("EUR")
+                .hasCompletedOnboarding(true)
+                .createdAt(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000))
+                .updatedAt(LocalDateTime.of(2024, 3, 2, 18, 0))
+                .build();
+
+        assertSameJson(response);
+        assertSameJson(new UserProfileResponse());
+    }
+
+    @Test
+    void isoDatesMatchJsr310Output() throws Exception {
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(LocalDateTime.class))
+                .isInstanceOf(IsoLocalDateTimeSerializer.class);
+
+        ObjectMapper jsr310 = objectMapper.copy().registerModule(new SimpleModule()
+                .addSerializer(LocalDateTime.class, LocalDateTimeSerializer.INSTANCE));
+        List<LocalDateTime> dates = List.of(
+                LocalDateTime.of(2024, 3, 2, 18, 0),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(2024, 1, 1, 0, 0, 7, 100_000_000),
+                LocalDateTime.of(2024, 1, 1, 0, 0, 0, 1),
+                LocalDateTime.of(1, 1, 1, 1, 1, 1, 120_000),
+                LocalDateTime.of(12_345, 6, 7, 8, 9, 10),
+                LocalDateTime.now());
+        for (LocalDateTime date : dates) {
+            assertThat(objectMapper.writeValueAsString(date)).isEqualTo(jsr310.writeValueAsString(date));
+        }
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(value)))
+                .isEqualTo(objectMapper.readTree(defaultMapper().writeValueAsString(value)));
+    }
+
+    // Même configuration, sans les sérialiseurs annotés sur les deux DTO
+    private ObjectMapper defaultMapper() {
+        return objectMapper.copy().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findSerializer(Annotated a) {
+                Class<?> type = a.getRawType();
+                if (type == AuthResponse.class || type == UserProfileResponse.class) {
+                    return null;
+                }
+                return super.findSerializer(a);
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.tp.financial_coach_backend.common.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Banc d'essai de sérialisation des réponses de /login et GET /api/profile : ns/op et octets alloués/op,
+ * sérialisation réflexive par défaut contre les sérialiseurs dédiés (DTO et dates ISO).
+ *
+ * Désactivé par défaut ; exemple :
+ * {@code ./mvnw test -Dtest=SerializationBenchmarkTest -Dbench.serialization=true -Dbench.iterations=2000000}
+ */
+@EnabledIfSystemProperty(named = "bench.serialization", matches = "true")
+class SerializationBenchmarkTest {
+
+    // Flux jetable jamais fermé (writeValue ferme sa cible), comme le flux de réponse du conteneur
+    private static final int ROUNDS = 5;
+
+    private static final OutputStream SINK = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Test
+    void compareDefaultAndOptimized() throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 1_000_000);
+        ObjectMapper reflective = mapper(false);
+        ObjectMapper optimized = mapper(true);
+
+        AuthResponse auth = AuthResponse.builder()
+                .userId(UUID.randomUUID())
+                .email("bench@example.com")
+                .accessToken("eyJhbGciOiJSUzI1NiIsImtpZCI6ImsxIn0." + "a".repeat(300) + ".signature")
+                .refreshToken("eyJhbGciOiJSUzI1NiIsImtpZCI6ImsxIn0." + "b".repeat(200) + ".signature")
+                .tokenType("Bearer")
+                .expiresIn(3600L)
+                .roles(Set.of("ROLE_USER"))
+                .build();
+        UserProfileResponse profile = UserProfileResponse.builder()
+                .id(1L)
+                .userId(UUID.randomUUID().toString())
+                .email("bench@example.com")
+                .fullName("Banc d'essai")
+                .age(30)
+                .occupation("Développeur")
+                .country("France")
+                .city("Paris")
+                .monthlyIncome(Money.ofCents(350_000))
+                .monthlySavings(Money.ofCents(50_000))
+                .savingsRate(14.29)
+                .riskTolerance("MODERATE")
+                .financialGoals(List.of("épargne de précaution", "retraite", "voyage"))
+                .budgetCategories(Map.of("logement", Money.ofCents(110_000), "courses", Money.ofCents(45_000),
+                        "transport", Money.ofCents(12_000)))
+                .preferredLanguage("fr")
+                .currency("EUR")
+                .hasCompletedOnboarding(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        run("AuthResponse", reflective, optimized, auth, iterations);
+        run("UserProfileResponse", reflective, optimized, profile, iterations);
+    }
+
+    private static void run(String name, ObjectMapper reflective, ObjectMapper optimized, Object value, int iterations)
+            throws Exception {
+        // Préchauffage (JIT, caches de sérialiseurs)
+        measure(reflective, value, iterations / 4);
+        measure(optimized, value, iterations / 4);
+
+        // Passes alternées, médiane retenue
+        double[][] before = new double[ROUNDS][];
+        double[][] after = new double[ROUNDS][];
+        for (int round = 0; round < ROUNDS; round++) {
+            before[round] = measure(reflective, value, iterations);
+            after[round] = measure(optimized, value, iterations);
+        }
+        System.out.printf("%-20s défaut : %7.1f ns/op %7.0f o/op | optimisé : %7.1f ns/op %7.0f o/op%n",
+                name, median(before, 0), median(before, 1), median(after, 0), median(after, 1));
+    }
+
+    private static double median(double[][] rounds, int column) {
+        double[] values = new double[rounds.length];
+        for (int i = 0; i < rounds.length; i++) {
+            values[i] = rounds[i][column];
+        }
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static double[] measure(ObjectMapper mapper, Object value, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.writeValue(SINK, value);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new double[]{(double) elapsed / iterations, (double) allocated / iterations};
+    }
+
+    // Configuration de Spring Boot (dates ISO) ; optimized = sérialiseurs annotés + module de JsonConfig
+    private static ObjectMapper mapper(boolean optimized) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (optimized) {
+            return builder.addModule(new SimpleModule()
+                    .addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer())).build();
+        }
+        return builder.annotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findSerializer(Annotated a) {
+                Class<?> type = a.getRawType();
+                if (type == AuthResponse.class || type == UserProfileResponse.class) {
+                    return null;
+                }
+                return super.findSerializer(a);
+            }
+        }).build();
+    }
+}
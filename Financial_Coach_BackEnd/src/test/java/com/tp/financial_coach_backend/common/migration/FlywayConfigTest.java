@@ -0,0 +1,76 @@
+package com.tp.financial_coach_backend.common.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Marquage des bases historiques : une base issue de ddl-auto=update conforme à V1 est marquée puis
+ * migrée (montants convertis en centimes), une base au schéma inconnu bloque le démarrage
+ */
+class FlywayConfigTest {
+
+    @Test
+    void legacyDatabaseIsBaselinedAndItsAmountsConverted() {
+        DataSource dataSource = database();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Base historique : schéma V1 sans historique Flyway, montants en float
+        flyway(dataSource).target("1").load().migrate();
+        jdbc.execute("drop table \"flyway_schema_history\"");
+        UUID userId = UUID.randomUUID();
+        jdbc.update("insert into users (id, email, password, enabled, email_verified) values (?, ?, 'x', true, true)",
+                userId, "historique@example.com");
+        jdbc.update("insert into user_profiles (user_id, monthly_income, monthly_savings, created_at) "
+                + "values (?, 1234.56, 300.1, current_timestamp)", userId);
+        Long profileId = jdbc.queryForObject("select id from user_profiles where user_id = ?", Long.class, userId);
+        jdbc.update("insert into user_budget_categories (profile_id, category, amount) values (?, 'Loyer', 99.99)",
+                profileId);
+
+        Flyway flyway = flyway(dataSource).load();
+        new FlywayConfig().verifiedBaselineMigrationStrategy().migrate(flyway);
+
+        assertThat(flyway.info().pending()).isEmpty();
+        Map<String, Object> profile = jdbc.queryForMap(
+                "select monthly_income_cents, monthly_savings_cents from user_profiles where id = ?", profileId);
+        assertThat(profile.get("monthly_income_cents")).isEqualTo(123456L);
+        assertThat(profile.get("monthly_savings_cents")).isEqualTo(30010L);
+        Long amount = jdbc.queryForObject(
+                "select amount_cents from user_budget_categories where profile_id = ?", Long.class, profileId);
+        assertThat(amount).isEqualTo(9999L);
+        Integer floatColumns = jdbc.queryForObject("select count(*) from information_schema.columns "
+                + "where column_name in ('monthly_income', 'monthly_savings', 'amount')", Integer.class);
+        assertThat(floatColumns).isZero();
+    }
+
+    @Test
+    void unknownSchemaWithoutHistoryFailsInsteadOfBeingBaselined() {
+        DataSource dataSource = database();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table users (id uuid not null, email varchar(255))");
+
+        Flyway flyway = flyway(dataSource).load();
+        assertThatThrownBy(() -> new FlywayConfig().verifiedBaselineMigrationStrategy().migrate(flyway))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("schéma de référence V1");
+        assertThat(flyway.info().applied()).isEmpty();
+    }
+
+    private static DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:flyway-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static FluentConfiguration flyway(DataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common");
+    }
+}
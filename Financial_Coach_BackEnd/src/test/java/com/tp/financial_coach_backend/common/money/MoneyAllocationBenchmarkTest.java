@@ -0,0 +1,106 @@
+package com.tp.financial_coach_backend.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Banc d'essai des montants du profil : ns/op et octets alloués/op, anciens {@link Double} (boxés dans
+ * les DTO et la map des catégories) contre {@link Money} en centimes. Deux scénarios : lecture du JSON
+ * d'un POST /api/profile, puis calcul du total du budget et du taux d'épargne.
+ *
+ * Désactivé par défaut ; exemple :
+ * {@code ./mvnw test -Dtest=MoneyAllocationBenchmarkTest -Dbench.money=true -Dbench.iterations=2000000}
+ */
+@EnabledIfSystemProperty(named = "bench.money", matches = "true")
+class MoneyAllocationBenchmarkTest {
+
+    private static final int ROUNDS = 5;
+
+    private static final String BODY = "{\"monthlyIncome\":3500.00,\"monthlySavings\":500.50,"
+            + "\"budgetCategories\":{\"logement\":1100.00,\"courses\":450.25,\"transport\":120.00,\"loisirs\":80.99}}";
+
+    // Résultat conservé pour que le JIT n'élimine pas les calculs
+    private static double blackhole;
+
+    @Test
+    void compareDoubleAndMoney() throws Exception {
+        int iterations = Integer.getInteger("bench.iterations", 1_000_000);
+        ObjectMapper mapper = new ObjectMapper();
+
+        LegacyAmounts legacy = mapper.readValue(BODY, LegacyAmounts.class);
+        UserProfileRequest request = mapper.readValue(BODY, UserProfileRequest.class);
+
+        run("Lecture JSON", iterations,
+                () -> blackhole += mapper.readValue(BODY, LegacyAmounts.class).monthlyIncome,
+                () -> blackhole += mapper.readValue(BODY, UserProfileRequest.class).getMonthlyIncome().getCents());
+        run("Total et taux", iterations,
+                () -> blackhole += legacyTotal(legacy.budgetCategories) + legacy.monthlySavings / legacy.monthlyIncome * 100,
+                () -> blackhole += Money.sum(request.getBudgetCategories().values(), Money.DEFAULT_CURRENCY).getCents()
+                        + request.getMonthlySavings().percentOf(request.getMonthlyIncome()));
+    }
+
+    // Calcul d'origine : somme des Double de la map (un Double boxé par résultat intermédiaire)
+    private static Double legacyTotal(Map<String, Double> categories) {
+        Double total = 0.0;
+        for (Double amount : categories.values()) {
+            total += amount;
+        }
+        return total;
+    }
+
+    private static void run(String name, int iterations, Operation before, Operation after) throws Exception {
+        // Préchauffage (JIT, caches de désérialiseurs)
+        measure(before, iterations / 4);
+        measure(after, iterations / 4);
+
+        // Passes alternées, médiane retenue
+        double[][] doubles = new double[ROUNDS][];
+        double[][] money = new double[ROUNDS][];
+        for (int round = 0; round < ROUNDS; round++) {
+            doubles[round] = measure(before, iterations);
+            money[round] = measure(after, iterations);
+        }
+        System.out.printf("%-15s Double : %7.1f ns/op %7.0f o/op | Money : %7.1f ns/op %7.0f o/op%n",
+                name, median(doubles, 0), median(doubles, 1), median(money, 0), median(money, 1));
+    }
+
+    private static double median(double[][] rounds, int column) {
+        double[] values = new double[rounds.length];
+        for (int i = 0; i < rounds.length; i++) {
+            values[i] = rounds[i][column];
+        }
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static double[] measure(Operation operation, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new double[]{(double) elapsed / iterations, (double) allocated / iterations};
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    // Forme d'origine des montants du profil (avant Money)
+    static class LegacyAmounts {
+        public Double monthlyIncome;
+        public Double monthlySavings;
+        public Map<String, Double> budgetCategories;
+    }
+}
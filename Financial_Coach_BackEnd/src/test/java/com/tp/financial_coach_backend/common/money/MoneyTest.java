@@ -0,0 +1,92 @@
+package com.tp.financial_coach_backend.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.tp.financial_coach_backend.profile.entity.UserProfile;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class MoneyTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void parseRoundsToTheNearestCent() {
+        assertThat(Money.parse("1234").getCents()).isEqualTo(123400L);
+        assertThat(Money.parse("12.5").getCents()).isEqualTo(1250L);
+        assertThat(Money.parse("-0.05").getCents()).isEqualTo(-5L);
+        assertThat(Money.parse("0.005").getCents()).isEqualTo(1L);
+        assertThat(Money.parse("0.0049").getCents()).isEqualTo(0L);
+        assertThat(Money.parse("1.5E2").getCents()).isEqualTo(15000L);
+        assertThatThrownBy(() -> Money.parse("12a")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        Money total = Money.sum(List.of(Money.parse("0.10"), Money.parse("0.20")), Money.DEFAULT_CURRENCY);
+
+        assertThat(total).isEqualTo(Money.parse("0.30"));
+        assertThat(total.minus(Money.parse("0.30")).isZero()).isTrue();
+        assertThat(Money.parse("500").percentOf(Money.parse("2000"))).isEqualTo(25.0);
+        assertThat(Money.parse("500").percentOf(Money.zero())).isNull();
+        assertThat(Money.of(new BigDecimal("19.999"), Money.DEFAULT_CURRENCY).toPlainString()).isEqualTo("20.00");
+    }
+
+    @Test
+    void mixingCurrenciesIsRejected() {
+        Money eur = Money.parse("10");
+        Money usd = Money.parse("10", Currency.getInstance("USD"));
+
+        assertThatThrownBy(() -> eur.plus(usd)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(usd.withCurrency(Money.DEFAULT_CURRENCY)).isEqualTo(eur);
+    }
+
+    @Test
+    void profileAmountsKeepTheStoredCurrency() {
+        Currency mad = Currency.getInstance("MAD");
+        UserProfile profile = UserProfile.builder()
+                .currency("mad")
+                .monthlyIncome(Money.ofCents(1_000_000))
+                .monthlySavings(Money.ofCents(150_000))
+                .budgetCategories(new HashMap<>(Map.of("logement", Money.ofCents(400_000), "courses", Money.ofCents(200_000))))
+                .build();
+
+        assertThat(profile.getMonthlyIncome()).isEqualTo(Money.ofCents(1_000_000, mad));
+        assertThat(profile.getBudgetCategories().values()).allMatch(amount -> amount.getCurrency().equals(mad));
+        assertThat(profile.getTotalBudget()).isEqualTo(Money.ofCents(600_000, mad));
+        assertThat(profile.getSavingsRate()).isEqualTo(15.0);
+        assertThat(Money.currencyOf(null)).isEqualTo(Money.DEFAULT_CURRENCY);
+        assertThat(Money.currencyOf("pas-une-devise")).isEqualTo(Money.DEFAULT_CURRENCY);
+    }
+
+    @Test
+    void jsonRoundTripKeepsPlainNumbers() throws Exception {
+        assertThat(mapper.writeValueAsString(Money.parse("-1250.5"))).isEqualTo("-1250.50");
+        assertThat(mapper.readValue("3000", Money.class).getCents()).isEqualTo(300000L);
+        assertThat(mapper.readValue("0.1", Money.class).getCents()).isEqualTo(10L);
+        assertThat(mapper.readValue("\"42.42\"", Money.class).getCents()).isEqualTo(4242L);
+    }
+
+    @Test
+    void extremeExponentsAreRejectedOrRoundedWithoutExpansion() {
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertThatThrownBy(() -> Money.parse("1e999999999")).isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> Money.parse("-9.9E19")).isInstanceOf(ArithmeticException.class);
+            assertThat(Money.parse("1e-999999999").getCents()).isZero();
+            assertThat(Money.parse("5e-3").getCents()).isEqualTo(1L);
+            // Corps JSON de 12 octets : refusé comme montant invalide (400)
+            assertThatThrownBy(() -> mapper.readValue("1e999999999", Money.class))
+                    .isInstanceOf(InvalidFormatException.class);
+        });
+    }
+}
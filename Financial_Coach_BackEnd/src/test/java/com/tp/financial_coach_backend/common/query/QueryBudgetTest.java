@@ -0,0 +1,118 @@
+package com.tp.financial_coach_backend.common.query;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.LoginRequest;
+import com.tp.financial_coach_backend.auth.dto.RefreshTokenRequest;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parcours complets d'AuthService et UserProfileService : chaque méthode @QueryBudget lève
+ * QueryBudgetExceededException si elle dépasse son budget (app.query-budget.fail-on-exceed=true).
+ */
+@SpringBootTest
+class QueryBudgetTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private OverBudgetProbe overBudget;
+
+    @Test
+    void authFlowStaysWithinBudgets() {
+        String email = "budget-" + UUID.randomUUID() + "@example.com";
+        AuthResponse registered = authService.register(registerRequest(email));
+
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("Password123!");
+        AuthResponse loggedIn = authService.login(login);
+
+        AuthResponse refreshed = authService.refreshToken(
+                RefreshTokenRequest.builder().refreshToken(loggedIn.getRefreshToken()).build());
+        authService.logout(refreshed.getRefreshToken(), refreshed.getAccessToken());
+
+        assertThat(registered.getUserId()).isEqualTo(loggedIn.getUserId());
+    }
+
+    @Test
+    void profileFlowStaysWithinBudgets() {
+        UUID userId = authService.register(registerRequest("profile-" + UUID.randomUUID() + "@example.com")).getUserId();
+
+        profileService.createProfile(userId, UserProfileRequest.builder()
+                .fullName("Budget Test")
+                .monthlyIncome(Money.ofCents(300_000))
+                .monthlySavings(Money.ofCents(45_000))
+                .financialGoals(new ArrayList<>(List.of("épargne de précaution", "voyage")))
+                .budgetCategories(new HashMap<>(Map.of("logement", Money.ofCents(90_000), "courses", Money.ofCents(40_000))))
+                .build());
+        profileService.getProfileByUserId(userId);
+        profileService.updateProfile(userId, UserProfileRequest.builder()
+                .financialGoals(new ArrayList<>(List.of("retraite")))
+                .budgetCategories(new HashMap<>(Map.of("logement", Money.ofCents(95_000))))
+                .build());
+        profileService.deleteProfile(userId);
+
+        assertThat(profileService.hasProfile(userId)).isFalse();
+    }
+
+    @Test
+    void exceedingBudgetFailsInStrictMode() {
+        UUID userId = authService.register(registerRequest("strict-" + UUID.randomUUID() + "@example.com")).getUserId();
+        profileService.createProfile(userId, UserProfileRequest.builder().fullName("Strict").build());
+
+        assertThatThrownBy(() -> overBudget.getTwice(userId))
+                .isInstanceOf(QueryBudgetExceededException.class);
+    }
+
+    private static RegisterRequest registerRequest(String email) {
+        return new RegisterRequest(email, "Password123!", "Password123!");
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        OverBudgetProbe overBudgetProbe(UserProfileRepository profileRepository) {
+            return new OverBudgetProbe(profileRepository);
+        }
+    }
+
+    static class OverBudgetProbe {
+
+        private final UserProfileRepository profileRepository;
+
+        OverBudgetProbe(UserProfileRepository profileRepository) {
+            this.profileRepository = profileRepository;
+        }
+
+        @QueryBudget(1)
+        @Transactional(readOnly = true)
+        public boolean getTwice(UUID userId) {
+            return profileRepository.existsByUserId(userId) && profileRepository.existsByUserId(userId);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.tp.financial_coach_backend.insight.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.common.lease.JobLease;
+import com.tp.financial_coach_backend.common.lease.JobLeaseRepository;
+import com.tp.financial_coach_backend.common.lease.JobLeaseService;
+import com.tp.financial_coach_backend.common.money.Money;
+import com.tp.financial_coach_backend.insight.dto.PeerComparisonResponse;
+import com.tp.financial_coach_backend.insight.dto.PeerComparisonResponse.MetricRank;
+import com.tp.financial_coach_backend.insight.repository.PeerSketchRepository;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.repository.UserProfileRepository;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comparaison aux pairs : percentile dans le segment, repli sur le pays sous la taille minimale
+ * (30 par défaut), une seule observation par profil quel que soit le nombre de modifications,
+ * et une seule instance qui reconstruit par échéance.
+ * Chaque test utilise son propre pays, la base H2 étant partagée entre les tests.
+ */
+@SpringBootTest
+class PeerComparisonServiceTest {
+
+    @Autowired
+    private PeerComparisonService comparisonService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private PeerSketchRepository sketchRepository;
+
+    @Autowired
+    private UserProfileRepository profileRepository;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private JobLeaseService leaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void ranksWithinAgeBandOrFallsBackToCountry() {
+        String country = "pays-" + UUID.randomUUID();
+        List<UUID> peers = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            peers.add(client(country, 30, 100_000L * i));
+        }
+        UUID older = client(country, 50, 1_500_000L);
+        comparisonService.rebuild();
+
+        MetricRank median = comparisonService.compare(peers.get(14)).orElseThrow().getMonthlySavings();
+        assertThat(median.getScope()).isEqualTo("country_age");
+        assertThat(median.getSampleSize()).isEqualTo(30L);
+        assertThat(median.getPercentile()).isBetween(40.0, 60.0);
+
+        MetricRank top = comparisonService.compare(peers.get(29)).orElseThrow().getMonthlySavings();
+        assertThat(top.getPercentile()).isGreaterThan(90.0);
+
+        // Seul dans sa tranche d'âge : comparé à tout le pays
+        MetricRank alone = comparisonService.compare(older).orElseThrow().getMonthlySavings();
+        assertThat(alone.getScope()).isEqualTo("country");
+        assertThat(alone.getSampleSize()).isEqualTo(31L);
+    }
+
+    @Test
+    void profileUpdatesAreCountedOnceAfterRebuild() {
+        String country = "pays-" + UUID.randomUUID();
+        UUID userId = client(country, 40, 100_000L);
+        client(country, 40, 200_000L);
+        client(country, 40, 300_000L);
+        comparisonService.rebuild();
+
+        for (int i = 0; i < 5; i++) {
+            profileService.updateProfile(userId, UserProfileRequest.builder()
+                    .monthlySavings(Money.ofCents(900_000L + i))
+                    .build()).orElseThrow();
+        }
+        assertThat(comparisonService.compare(userId).orElseThrow().getMonthlySavings().getSampleSize()).isEqualTo(3L);
+
+        comparisonService.rebuild();
+        PeerComparisonResponse response = comparisonService.compare(userId).orElseThrow();
+        assertThat(response.getMonthlySavings().getSampleSize()).isEqualTo(3L);
+        assertThat(response.getMonthlySavings().getPercentile()).isGreaterThan(80.0);
+    }
+
+    @Test
+    void budgetCategoriesAreReadWithTheirProfile() {
+        String country = "pays-" + UUID.randomUUID();
+        UUID low = client(country, 40, 100_000L, Map.of("logement", Money.ofCents(50_000L)));
+        client(country, 40, 100_000L, Map.of("logement", Money.ofCents(80_000L)));
+        UUID high = client(country, 40, 100_000L,
+                Map.of("logement", Money.ofCents(120_000L), "loisirs", Money.ofCents(20_000L)));
+        comparisonService.rebuild();
+
+        MetricRank lowest = comparisonService.compare(low).orElseThrow().getBudgetCategories().get("logement");
+        assertThat(lowest.getSampleSize()).isEqualTo(3L);
+        PeerComparisonResponse response = comparisonService.compare(high).orElseThrow();
+        assertThat(response.getBudgetCategories().get("logement").getPercentile())
+                .isGreaterThan(lowest.getPercentile());
+        assertThat(response.getBudgetCategories().get("loisirs").getSampleSize()).isEqualTo(1L);
+    }
+
+    @Test
+    void onlyTheLeaseHolderRebuildsAndOtherNodesReload() {
+        String country = "pays-" + UUID.randomUUID();
+        UUID userId = client(country, 40, 100_000L);
+        leaseRepository.save(new JobLease(PeerComparisonService.REBUILD_LEASE, LocalDateTime.now().minusMinutes(1)));
+        PeerComparisonService otherNode = new PeerComparisonService(new PeerSketchRegistry(), sketchRepository,
+                profileRepository, profileService, leaseService, transactionManager);
+
+        comparisonService.rebuildIfLeaseAcquired();
+        client(country, 40, 200_000L);
+        // Même échéance : le bail est pris, ni l'autre instance ni la première ne reconstruisent
+        otherNode.rebuildIfLeaseAcquired();
+        comparisonService.rebuildIfLeaseAcquired();
+
+        assertThat(comparisonService.compare(userId).orElseThrow().getMonthlySavings().getSampleSize()).isEqualTo(1L);
+        assertThat(otherNode.compare(userId).orElseThrow().getMonthlySavings().getSampleSize()).isZero();
+
+        otherNode.reloadIfChanged();
+        assertThat(otherNode.compare(userId).orElseThrow().getMonthlySavings().getSampleSize()).isEqualTo(1L);
+    }
+
+    @Test
+    void userWithoutProfileIsReported() {
+        assertThat(comparisonService.compare(register())).isEqualTo(Result.error(ErrorCode.PROFILE_NOT_FOUND));
+    }
+
+    private UUID client(String country, int age, long savingsCents) {
+        return client(country, age, savingsCents, null);
+    }
+
+    private UUID client(String country, int age, long savingsCents, Map<String, Money> budgetCategories) {
+        UUID userId = register();
+        profileService.createProfile(userId, UserProfileRequest.builder()
+                .fullName("Pair " + age)
+                .country(country)
+                .age(age)
+                .monthlyIncome(Money.ofCents(5_000_000L))
+                .monthlySavings(Money.ofCents(savingsCents))
+                .budgetCategories(budgetCategories)
+                .build()).orElseThrow();
+        return userId;
+    }
+
+    private UUID register() {
+        String email = "pair-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}
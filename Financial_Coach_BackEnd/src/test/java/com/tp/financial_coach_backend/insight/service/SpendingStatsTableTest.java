@@ -0,0 +1,79 @@
+package com.tp.financial_coach_backend.insight.service;
+
+import com.tp.financial_coach_backend.insight.service.SpendingStatsTable.Anomaly;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpendingStatsTableTest {
+
+    private final SpendingStatsTable table = new SpendingStatsTable(1024, 0.3, 3.0, 3, 0.25);
+
+    @Test
+    void sharpJumpAfterStableHistoryIsFlagged() {
+        long key = SpendingAnomalyDetector.key(UUID.randomUUID(), "Alimentation");
+        long[] history = {40000, 41000, 39500, 40500, 40200};
+        int now = 0;
+        for (long value : history) {
+            assertThat(table.update(key, value, ++now)).isNull();
+        }
+
+        Anomaly anomaly = table.update(key, 90000, ++now);
+
+        assertThat(anomaly).isNotNull();
+        assertThat(anomaly.previousValue()).isEqualTo(40200);
+        assertThat(anomaly.zScore()).isGreaterThan(3.0);
+    }
+
+    @Test
+    void repeatedValuesAreNotObservations() {
+        long key = SpendingAnomalyDetector.key(UUID.randomUUID(), "loisirs");
+        int now = 0;
+        for (int i = 0; i < 10; i++) {
+            assertThat(table.update(key, 10000, ++now)).isNull();
+        }
+        // Toujours une seule observation : le seuil min-observations n'est pas atteint
+        assertThat(table.update(key, 90000, ++now)).isNull();
+    }
+
+    @Test
+    void changesBelowMinRelativeChangeAreIgnored() {
+        SpendingStatsTable noRelativeGate = new SpendingStatsTable(1024, 0.3, 3.0, 3, 0.0);
+        long small = SpendingAnomalyDetector.key(UUID.randomUUID(), "loisirs");
+        long large = SpendingAnomalyDetector.key(UUID.randomUUID(), "loisirs");
+        int now = 0;
+        // Historique quasi constant, au-delà de min-observations : tout écart donne un z-score élevé
+        for (int i = 0; i < 6; i++) {
+            long value = i % 2 == 0 ? 10000 : 10010;
+            now++;
+            assertThat(table.update(small, value, now)).isNull();
+            assertThat(table.update(large, value, now)).isNull();
+            assertThat(noRelativeGate.update(small, value, now)).isNull();
+        }
+
+        // +10 % : z-score au-dessus du seuil, mais écart relatif sous 25 %
+        assertThat(table.update(small, 11000, ++now)).isNull();
+        assertThat(noRelativeGate.update(small, 11000, now)).isNotNull();
+
+        // +30 % : signalé
+        Anomaly anomaly = table.update(large, 13000, now);
+        assertThat(anomaly).isNotNull();
+        assertThat(anomaly.previousValue()).isEqualTo(10010);
+    }
+
+    @Test
+    void fullSetEvictsTheLeastRecentlyUpdatedEntry() {
+        SpendingStatsTable tiny = new SpendingStatsTable(SpendingStatsTable.WAYS, 0.3, 3.0, 1, 0.25);
+        assertThat(tiny.capacity()).isEqualTo(SpendingStatsTable.WAYS);
+
+        for (long key = 1; key <= SpendingStatsTable.WAYS + 1; key++) {
+            tiny.update(key, 100, (int) key);
+        }
+        // La clé 1, la plus ancienne, a été évincée : sa nouvelle valeur est une première observation
+        assertThat(tiny.update(1, 1_000_000, 100)).isNull();
+        // La clé 5 est toujours suivie : le saut est signalé
+        assertThat(tiny.update(SpendingStatsTable.WAYS + 1, 1_000_000, 101)).isNotNull();
+    }
+}
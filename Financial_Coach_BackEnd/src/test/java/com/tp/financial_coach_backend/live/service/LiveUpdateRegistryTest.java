@@ -0,0 +1,185 @@
+package com.tp.financial_coach_backend.live.service;
+
+import com.tp.financial_coach_backend.auth.dto.AuthResponse;
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.outbox.service.OutboxRelay;
+import com.tp.financial_coach_backend.outbox.service.OutboxService;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LiveUpdateRegistryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private LiveUpdateRegistry registry;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxLiveFeed feed;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void pushesProfileChangesAndHeartbeatsToTheUserStream() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "live-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        int before = registry.connectionCount();
+
+        MvcResult result = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + auth.getAccessToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(registry.connectionCount()).isEqualTo(before + 1);
+
+        profileService.createProfile(auth.getUserId(), UserProfileRequest.builder().fullName("Live").build());
+        deliver();
+        MockHttpServletResponse response = result.getResponse();
+        awaitContent(response, "event:profile-changed");
+
+        // File vide : le heartbeat est émis
+        registry.heartbeat();
+        String body = awaitContent(response, ":heartbeat");
+        assertThat(body).contains("event:ready");
+        assertThat(body).contains("event:profile-changed");
+        assertThat(body).contains("\"type\":\"CREATED\"").contains("\"fullName\":\"Live\"");
+        assertThat(body.indexOf("event:profile-changed")).isLessThan(body.indexOf(":heartbeat"));
+    }
+
+    @Test
+    void otherUsersDoNotReceiveTheEvent() throws Exception {
+        AuthResponse watcher = authService.register(new RegisterRequest(
+                "watcher-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        AuthResponse other = authService.register(new RegisterRequest(
+                "other-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+
+        MvcResult result = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + watcher.getAccessToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitContent(result.getResponse(), "event:ready");
+        profileService.createProfile(other.getUserId(), UserProfileRequest.builder().fullName("Other").build());
+        deliver();
+        registry.heartbeat();
+
+        String body = awaitContent(result.getResponse(), ":heartbeat");
+        assertThat(body).doesNotContain("profile-changed");
+    }
+
+    @Test
+    void changesMadeThroughAnotherNodeReachTheStream() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest(
+                "node-" + UUID.randomUUID() + "@example.com", "Password123!", "Password123!"));
+        MvcResult result = mockMvc.perform(get("/api/stream")
+                        .header("Authorization", "Bearer " + auth.getAccessToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result.getResponse(), "event:ready");
+
+        // Écrit dans l'outbox comme par un autre nœud : aucun événement Spring local
+        transactionTemplate.executeWithoutResult(tx -> outboxService.record("PROFILE", auth.getUserId(),
+                "profile.updated", Map.of("fullName", "Ailleurs")));
+        deliver();
+
+        String body = awaitContent(result.getResponse(), "Ailleurs");
+        assertThat(body).contains("event:profile-changed")
+                .contains("\"type\":\"UPDATED\"")
+                .contains("\"fullName\":\"Ailleurs\"");
+    }
+
+    @Test
+    void connectionLimitsHoldUnderConcurrentConnects() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            // Limite par utilisateur (5) : les plus anciennes sont fermées, jamais plus de 5 ouvertes
+            int before = registry.connectionCount();
+            UUID userId = UUID.randomUUID();
+            List<Callable<Object>> sameUser = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                sameUser.add(() -> registry.connect(userId));
+            }
+            for (Future<Object> future : pool.invokeAll(sameUser)) {
+                future.get();
+            }
+            assertThat(registry.connectionCount()).isEqualTo(before + 5);
+
+            // Limite globale : réservation atomique, jamais dépassée
+            int open = registry.connectionCount();
+            ReflectionTestUtils.setField(registry, "maxConnections", open + 3);
+            List<Callable<Object>> manyUsers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                manyUsers.add(() -> registry.connect(UUID.randomUUID()));
+            }
+            int refused = 0;
+            for (Future<Object> future : pool.invokeAll(manyUsers)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                    refused++;
+                }
+            }
+            assertThat(refused).isEqualTo(17);
+            assertThat(registry.connectionCount()).isEqualTo(open + 3);
+        } finally {
+            ReflectionTestUtils.setField(registry, "maxConnections", 50000);
+            pool.shutdownNow();
+        }
+    }
+
+    // Publication par le relais, puis lecture du flux livré comme sur chaque nœud
+    private void deliver() {
+        relay.relay();
+        feed.poll();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String marker) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(marker) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
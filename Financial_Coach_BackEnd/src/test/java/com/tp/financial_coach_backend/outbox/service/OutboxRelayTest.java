@@ -0,0 +1,227 @@
+package com.tp.financial_coach_backend.outbox.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.outbox.dto.OutboxEventResponse;
+import com.tp.financial_coach_backend.outbox.dto.OutboxPageResponse;
+import com.tp.financial_coach_backend.outbox.entity.OutboxCursor;
+import com.tp.financial_coach_backend.outbox.entity.OutboxEvent;
+import com.tp.financial_coach_backend.outbox.repository.OutboxCursorRepository;
+import com.tp.financial_coach_backend.outbox.repository.OutboxEventRepository;
+import com.tp.financial_coach_backend.outbox.sink.InMemoryOutboxSink;
+import com.tp.financial_coach_backend.outbox.sink.OutboxMessage;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OutboxCursorRepository cursorRepository;
+
+    @Autowired
+    private OutboxEventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deliversEventsInOrderWithGapFreeCursor() {
+        relay.relay();
+        long start = deliveredSeq();
+
+        UUID userId = register();
+        profileService.createProfile(userId, UserProfileRequest.builder().fullName("Outbox").build());
+        profileService.updateProfile(userId, UserProfileRequest.builder().age(40).build());
+        profileService.deleteProfile(userId);
+
+        // Rien n'est visible avant le passage du relais
+        assertThat(outboxService.poll(start, null).getEvents()).isEmpty();
+
+        List<OutboxMessage> received = new ArrayList<>();
+        Runnable unsubscribe = sink.subscribe(received::add);
+        try {
+            relay.relay();
+        } finally {
+            unsubscribe.run();
+        }
+
+        assertThat(received).extracting(OutboxMessage::eventType)
+                .containsExactly("user.registered", "profile.created", "profile.updated", "profile.deleted");
+
+        OutboxPageResponse page = outboxService.poll(start, null);
+        assertThat(page.getEvents()).extracting(OutboxEventResponse::getDeliverySeq)
+                .containsExactly(start + 1, start + 2, start + 3, start + 4);
+        assertThat(page.getEvents()).allMatch(e -> e.getAggregateId().equals(userId.toString()));
+        assertThat(page.getEvents().get(1).getPayload()).contains("\"fullName\":\"Outbox\"");
+        assertThat(page.getNextCursor()).isEqualTo(start + 4);
+    }
+
+    @Test
+    void failedEventIsRetriedAndHoldsBackOnlyItsOwnAggregate() {
+        relay.relay();
+        long start = deliveredSeq();
+
+        UUID failing = register();
+        profileService.createProfile(failing, UserProfileRequest.builder().fullName("Failing").build());
+        UUID other = register();
+
+        AtomicBoolean fail = new AtomicBoolean(true);
+        Runnable unsubscribe = sink.subscribe(message -> {
+            if (fail.get() && message.aggregateId().equals(failing.toString())) {
+                throw new IllegalStateException("sink indisponible");
+            }
+        });
+        try {
+            relay.relay();
+            assertThat(outboxService.poll(start, null).getEvents())
+                    .extracting(OutboxEventResponse::getAggregateId)
+                    .containsExactly(other.toString());
+
+            // Délai de nouvelle tentative non écoulé : l'agrégat reste en attente, même sans échec
+            fail.set(false);
+            relay.relay();
+            assertThat(outboxService.poll(start, null).getEvents()).hasSize(1);
+
+            ReflectionTestUtils.setField(relay, "backoffInitialMillis", 0L);
+            try {
+                makeRetriesDue(failing);
+                relay.relay();
+            } finally {
+                ReflectionTestUtils.setField(relay, "backoffInitialMillis", 1000L);
+            }
+        } finally {
+            unsubscribe.run();
+        }
+
+        assertThat(outboxService.poll(start, null).getEvents())
+                .extracting(OutboxEventResponse::getEventType)
+                .containsExactly("user.registered", "user.registered", "profile.created");
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttemptsAndNoLongerRead() {
+        relay.relay();
+        long start = deliveredSeq();
+
+        UUID failing = register();
+        AtomicInteger attempts = new AtomicInteger();
+        Runnable unsubscribe = sink.subscribe(message -> {
+            if (message.aggregateId().equals(failing.toString())) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("message empoisonné");
+            }
+        });
+        ReflectionTestUtils.setField(relay, "maxAttempts", 2);
+        try {
+            relay.relay();
+            makeRetriesDue(failing);
+            relay.relay();
+            makeRetriesDue(failing);
+            relay.relay();
+        } finally {
+            ReflectionTestUtils.setField(relay, "maxAttempts", 10);
+            unsubscribe.run();
+        }
+
+        assertThat(attempts).hasValue(2);
+        OutboxEvent dead = transactionTemplate.execute(tx -> eventsOf(failing).get(0));
+        assertThat(dead.getDeadAt()).isNotNull();
+        assertThat(dead.getPublishedAt()).isNull();
+        assertThat(eventRepository.findUnpublished(LocalDateTime.now(), PageRequest.of(0, 1000)))
+                .extracting(OutboxEvent::getId)
+                .doesNotContain(dead.getId());
+
+        // L'agrégat n'est plus bloqué : ses événements suivants sont livrés
+        profileService.createProfile(failing, UserProfileRequest.builder().fullName("Après").build());
+        relay.relay();
+        assertThat(outboxService.poll(start, null).getEvents())
+                .extracting(OutboxEventResponse::getEventType)
+                .containsExactly("profile.created");
+    }
+
+    @Test
+    void largePayloadIsStored() {
+        UUID aggregateId = UUID.randomUUID();
+        String large = "x".repeat(50_000);
+        transactionTemplate.executeWithoutResult(tx ->
+                outboxService.record("TEST", aggregateId, "test.large", Map.of("data", large)));
+
+        String payload = transactionTemplate.execute(tx -> eventsOf(aggregateId).get(0).getPayload());
+        assertThat(payload).contains(large);
+    }
+
+    // Fait comme si le délai de nouvelle tentative des événements de l'agrégat était écoulé
+    private void makeRetriesDue(UUID aggregateId) {
+        transactionTemplate.executeWithoutResult(tx -> eventsOf(aggregateId).forEach(event -> {
+            if (event.getNextAttemptAt() != null) {
+                event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            }
+        }));
+    }
+
+    private List<OutboxEvent> eventsOf(UUID aggregateId) {
+        return eventRepository.findAll().stream()
+                .filter(event -> event.getAggregateId().equals(aggregateId.toString()))
+                .toList();
+    }
+
+    @Test
+    void consumerCursorIsStoredAndBoundedByDeliveredStream() {
+        register();
+        relay.relay();
+        long delivered = deliveredSeq();
+
+        outboxService.acknowledge("analytics", delivered);
+        assertThat(outboxService.pollForConsumer("analytics", null).getEvents()).isEmpty();
+
+        outboxService.acknowledge("analytics", 0);
+        assertThat(outboxService.pollForConsumer("analytics", 1).getNextCursor()).isEqualTo(1);
+
+        assertThatThrownBy(() -> outboxService.acknowledge("analytics", delivered + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> outboxService.acknowledge("relay", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long deliveredSeq() {
+        return cursorRepository.findById(OutboxCursor.RELAY).orElseThrow().getLastSeq();
+    }
+
+    private UUID register() {
+        String email = "outbox-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}
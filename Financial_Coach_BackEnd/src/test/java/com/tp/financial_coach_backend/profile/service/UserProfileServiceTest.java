@@ -0,0 +1,73 @@
+package com.tp.financial_coach_backend.profile.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.common.error.ErrorCode;
+import com.tp.financial_coach_backend.common.error.Result;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.dto.UserProfileResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Création de profil : des créations simultanées pour un même utilisateur donnent un seul profil, les
+ * autres appels recevant PROFILE_ALREADY_EXISTS plutôt qu'une erreur de contrainte (500)
+ */
+@SpringBootTest
+class UserProfileServiceTest {
+
+    private static final int CONCURRENT_CALLS = 4;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void concurrentCreationsYieldOneProfileAndConflicts() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                UUID userId = register();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Result<UserProfileResponse>>> calls = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                    calls.add(pool.submit(() -> {
+                        start.await();
+                        return profileService.createProfile(userId, UserProfileRequest.builder()
+                                .fullName("Concurrent")
+                                .build());
+                    }));
+                }
+                start.countDown();
+
+                List<Result<UserProfileResponse>> results = new ArrayList<>();
+                for (Future<Result<UserProfileResponse>> call : calls) {
+                    results.add(call.get());
+                }
+                assertThat(results).filteredOn(Result::isOk).hasSize(1);
+                assertThat(results).filteredOn(r -> !r.isOk())
+                        .allMatch(r -> r.equals(Result.error(ErrorCode.PROFILE_ALREADY_EXISTS)));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private UUID register() {
+        String email = "profil-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}
@@ -0,0 +1,211 @@
+package com.tp.financial_coach_backend.sync.service;
+
+import com.tp.financial_coach_backend.auth.dto.RegisterRequest;
+import com.tp.financial_coach_backend.auth.service.AuthService;
+import com.tp.financial_coach_backend.chat.dto.ChatMessageRequest;
+import com.tp.financial_coach_backend.chat.entity.ChatMessage;
+import com.tp.financial_coach_backend.chat.service.ConversationService;
+import com.tp.financial_coach_backend.chat.service.ConversationWriteBuffer;
+import com.tp.financial_coach_backend.profile.dto.UserProfileRequest;
+import com.tp.financial_coach_backend.profile.service.UserProfileService;
+import com.tp.financial_coach_backend.sync.dto.SyncMessageResponse;
+import com.tp.financial_coach_backend.sync.dto.SyncResponse;
+import com.tp.financial_coach_backend.sync.dto.SyncTombstoneResponse;
+import com.tp.financial_coach_backend.sync.entity.SyncState;
+import com.tp.financial_coach_backend.sync.entity.SyncTombstone;
+import com.tp.financial_coach_backend.sync.repository.SyncMessageRepository;
+import com.tp.financial_coach_backend.sync.repository.SyncStateRepository;
+import com.tp.financial_coach_backend.sync.repository.SyncTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Synchronisation différentielle : seuls les changements postérieurs au repère sont renvoyés,
+ * suppressions comprises, par pages bornées
+ */
+@SpringBootTest
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserProfileService profileService;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private ConversationWriteBuffer writeBuffer;
+
+    @Autowired
+    private SyncStateRepository stateRepository;
+
+    @Autowired
+    private SyncMessageRepository messageRepository;
+
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void returnsOnlyChangesAfterWatermark() {
+        UUID userId = register();
+        profileService.createProfile(userId, profile("Avant")).orElseThrow();
+
+        SyncResponse initial = syncService.changesSince(userId, 0, null);
+        assertThat(initial.isFullResync()).isTrue();
+        assertThat(initial.getProfile().getFullName()).isEqualTo("Avant");
+
+        append(userId, "budget", "Bonjour");
+        append(userId, "budget", "Comment épargner ?");
+        writeBuffer.flush();
+
+        SyncResponse messagesOnly = syncService.changesSince(userId, initial.getWatermark(), null);
+        assertThat(messagesOnly.isFullResync()).isFalse();
+        assertThat(messagesOnly.getProfile()).isNull();
+        assertThat(messagesOnly.getMessages()).extracting(SyncMessageResponse::getContent)
+                .containsExactly("Bonjour", "Comment épargner ?");
+        assertThat(messagesOnly.getWatermark()).isGreaterThan(initial.getWatermark());
+
+        profileService.updateProfile(userId, profile("Après")).orElseThrow();
+
+        SyncResponse profileOnly = syncService.changesSince(userId, messagesOnly.getWatermark(), null);
+        assertThat(profileOnly.getMessages()).isEmpty();
+        assertThat(profileOnly.getProfile().getFullName()).isEqualTo("Après");
+        assertThat(profileOnly.getProfileChangeSeq()).isEqualTo(profileOnly.getWatermark());
+
+        SyncResponse nothing = syncService.changesSince(userId, profileOnly.getWatermark(), null);
+        assertThat(nothing.getMessages()).isEmpty();
+        assertThat(nothing.getProfile()).isNull();
+        assertThat(nothing.getTombstones()).isEmpty();
+        assertThat(nothing.getWatermark()).isEqualTo(profileOnly.getWatermark());
+    }
+
+    @Test
+    void deletionsAreReportedAsTombstones() {
+        UUID userId = register();
+        profileService.createProfile(userId, profile("Client")).orElseThrow();
+        append(userId, "a-effacer", "Message");
+        writeBuffer.flush();
+        long watermark = syncService.changesSince(userId, 0, null).getWatermark();
+
+        conversationService.deleteConversation(userId, "a-effacer");
+        profileService.deleteProfile(userId).orElseThrow();
+
+        SyncResponse response = syncService.changesSince(userId, watermark, null);
+        assertThat(response.getMessages()).isEmpty();
+        assertThat(response.getProfile()).isNull();
+        assertThat(response.getTombstones()).extracting(SyncTombstoneResponse::getType, SyncTombstoneResponse::getKey)
+                .containsExactly(
+                        tuple(SyncTombstone.CONVERSATION, "a-effacer"),
+                        tuple(SyncTombstone.PROFILE, userId.toString()));
+    }
+
+    @Test
+    void pagesLargeBacklogsAndRejectsUnknownWatermark() {
+        UUID userId = register();
+        for (int i = 1; i <= 5; i++) {
+            append(userId, "long", "Message " + i);
+        }
+        writeBuffer.flush();
+
+        StringBuilder seen = new StringBuilder();
+        long watermark = 0;
+        SyncResponse page;
+        int pages = 0;
+        do {
+            page = syncService.changesSince(userId, watermark, 2);
+            page.getMessages().forEach(m -> seen.append(m.getSeq()));
+            watermark = page.getWatermark();
+            pages++;
+        } while (page.isHasMore() && pages < 10);
+
+        assertThat(seen.toString()).isEqualTo("12345");
+        assertThat(pages).isEqualTo(3);
+
+        SyncResponse unknown = syncService.changesSince(userId, watermark + 100, null);
+        assertThat(unknown.isFullResync()).isTrue();
+        assertThat(unknown.getMessages()).hasSize(5);
+    }
+
+    @Test
+    void watermarkAheadOfALaggingReplicaIsReadFromThePrimary() {
+        UUID userId = register();
+        profileService.createProfile(userId, profile("Primaire")).orElseThrow();
+        append(userId, "retard", "Message");
+        writeBuffer.flush();
+        long watermark = syncService.changesSince(userId, 0, null).getWatermark();
+
+        // Réplica en retard : les transactions readOnly y voient un compteur antérieur
+        SyncService lagging = new SyncService(laggingReplica(2), messageRepository, tombstoneRepository,
+                profileService, transactionManager);
+
+        SyncResponse upToDate = lagging.changesSince(userId, watermark, null);
+        assertThat(upToDate.isFullResync()).isFalse();
+        assertThat(upToDate.getMessages()).isEmpty();
+        assertThat(upToDate.getProfile()).isNull();
+        assertThat(upToDate.getWatermark()).isEqualTo(watermark);
+
+        // Repère inconnu aussi de la primaire : resynchronisation complète
+        SyncResponse unknown = lagging.changesSince(userId, watermark + 100, null);
+        assertThat(unknown.isFullResync()).isTrue();
+        assertThat(unknown.getMessages()).hasSize(1);
+    }
+
+    // Dépôt dont findById renvoie, en transaction readOnly, un compteur en retard de {@code lag} numéros
+    private SyncStateRepository laggingReplica(long lag) {
+        return (SyncStateRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SyncStateRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(stateRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if ("findById".equals(method.getName())
+                            && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                        return ((Optional<?>) result).map(state -> SyncState.builder()
+                                .userId(((SyncState) state).getUserId())
+                                .lastSeq(((SyncState) state).getLastSeq() - lag)
+                                .purgedSeq(((SyncState) state).getPurgedSeq())
+                                .build());
+                    }
+                    return result;
+                });
+    }
+
+    private void append(UUID userId, String conversationId, String content) {
+        conversationService.appendMessage(userId, conversationId,
+                new ChatMessageRequest(ChatMessage.Role.USER, content));
+    }
+
+    private static UserProfileRequest profile(String fullName) {
+        return UserProfileRequest.builder()
+                .fullName(fullName)
+                .country("FR")
+                .riskTolerance("medium")
+                .build();
+    }
+
+    private UUID register() {
+        String email = "sync-" + UUID.randomUUID() + "@example.com";
+        return authService.register(new RegisterRequest(email, "Password123!", "Password123!")).getUserId();
+    }
+}